@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.support.annotation.NonNull;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that biz params of a parsed {@link BaseCell}, copied from its json on first use, keep the precedence they
+ * had when they were copied at parse time, also when they are first read from several threads.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BaseCellTest extends AndroidTestCase {
+
+    private final MVHelper mMVHelper = new MVHelper(new MVResolver());
+
+    @Test
+    @SmallTest
+    public void testUnparsedCellHasOnlyAddedParams() {
+        BaseCell cell = new BaseCell();
+        assertTrue(cell.getAllBizParams().isEmpty());
+        cell.addBizParam("a", 1);
+        assertEquals(1, cell.getAllBizParams().size());
+        assertEquals(1, cell.getAllBizParams().get("a"));
+    }
+
+    @Test
+    @SmallTest
+    public void testParsedCellCopiesJsonAndStyle() throws JSONException {
+        BaseCell cell = new BaseCell();
+        mMVHelper.parseCell(cell, newCellJson());
+
+        Map<String, Object> params = cell.getAllBizParams();
+        assertEquals("test", params.get("type"));
+        assertEquals("json", params.get("json"));
+        assertEquals("style", params.get("shared"));
+        assertEquals("style", params.get("styleOnly"));
+        assertTrue(params.containsKey("style"));
+    }
+
+    @Test
+    @SmallTest
+    public void testAddedParamsWin() throws JSONException {
+        BaseCell cell = new BaseCell();
+        mMVHelper.parseCell(cell, newCellJson());
+        cell.addBizParam("json", "added");
+        cell.addBizParam("shared", "added");
+
+        Map<String, Object> params = cell.getAllBizParams();
+        assertEquals("added", params.get("json"));
+        assertEquals("added", params.get("shared"));
+        assertEquals("style", params.get("styleOnly"));
+    }
+
+    @Test
+    @SmallTest
+    public void testParamsAddedWhileParsing() throws JSONException {
+        BaseCell cell = new BaseCell() {
+            @Override
+            public void parseWith(@NonNull JSONObject data) {
+                addBizParam("json", "parsed");
+                addBizParam("shared", "parsed");
+            }
+        };
+        mMVHelper.parseCell(cell, newCellJson());
+
+        Map<String, Object> params = cell.getAllBizParams();
+        // overrides the cell's json but not its style
+        assertEquals("parsed", params.get("json"));
+        assertEquals("style", params.get("shared"));
+    }
+
+    @Test
+    @SmallTest
+    public void testConcurrentFirstReads() throws Exception {
+        final JSONObject json = newCellJson();
+        for (int i = 0; i < 64; i++) {
+            json.put("key" + i, i);
+        }
+        final int expected = json.length() + 1;
+        for (int round = 0; round < 50; round++) {
+            final BaseCell cell = new BaseCell();
+            mMVHelper.parseCell(cell, json);
+            final CountDownLatch start = new CountDownLatch(1);
+            final AtomicInteger failures = new AtomicInteger();
+            Thread[] readers = new Thread[4];
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            start.await();
+                            if (cell.getAllBizParams().size() != expected) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+                readers[i].start();
+            }
+            start.countDown();
+            for (Thread reader : readers) {
+                reader.join();
+            }
+            assertEquals(0, failures.get());
+        }
+    }
+
+    private static JSONObject newCellJson() throws JSONException {
+        JSONObject style = new JSONObject();
+        style.put("shared", "style");
+        style.put("styleOnly", "style");
+        JSONObject json = new JSONObject();
+        json.put("type", "test");
+        json.put("json", "json");
+        json.put("shared", "json");
+        json.put("style", style);
+        return json;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.LargeTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Applies the same burst of cell removals one by one and inside one batch, and compares the time spent and the
+ * adapter notifications dispatched.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BatchUpdateBenchmark extends AndroidTestCase {
+
+    private static final int CARD_COUNT = 100;
+
+    private static final int CELLS_PER_CARD = 20;
+
+    private static final int OP_COUNT = 200;
+
+    private static final int RUNS = 5;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    private JSONArray mData;
+
+    private final CountingObserver mObserver = new CountingObserver();
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        mEngine = builder.build();
+        mEngine.bindView(new RecyclerView(context));
+        mData = newCards(CARD_COUNT, CELLS_PER_CARD);
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) mEngine.getGroupBasicAdapter();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testSeparateOpsAgainstOneBatch() {
+        long separateNanos = 0;
+        long batchNanos = 0;
+        int separateEvents = 0;
+        int batchEvents = 0;
+        // one warm-up round, then RUNS timed rounds
+        for (int run = 0; run <= RUNS; run++) {
+            List<BaseCell> targets = resetData();
+            long start = System.nanoTime();
+            removeAll(targets);
+            long separate = System.nanoTime() - start;
+            int events = mObserver.mEvents;
+
+            targets = resetData();
+            start = System.nanoTime();
+            mAdapter.beginBatch();
+            removeAll(targets);
+            mAdapter.commitBatch();
+            long batch = System.nanoTime() - start;
+            assertEquals(CARD_COUNT * CELLS_PER_CARD - OP_COUNT, mAdapter.getItemCount());
+
+            if (run > 0) {
+                separateNanos += separate;
+                batchNanos += batch;
+                separateEvents = events;
+                batchEvents = mObserver.mEvents;
+            }
+        }
+        Benchmark.report("batch", "%d removals: separate %.2f ms with %d notifications, batch %.2f ms with %d "
+                + "notifications", OP_COUNT, separateNanos / 1e6 / RUNS, separateEvents, batchNanos / 1e6 / RUNS,
+            batchEvents);
+        assertTrue(batchEvents < separateEvents);
+    }
+
+    /**
+     * @return cells to remove, spread over the feed
+     */
+    private List<BaseCell> resetData() {
+        mEngine.setData(mData);
+        List<BaseCell> cells = mAdapter.getComponents();
+        List<BaseCell> targets = new ArrayList<>(OP_COUNT);
+        int step = cells.size() / OP_COUNT;
+        for (int i = 0; i < OP_COUNT; i++) {
+            targets.add(cells.get(i * step));
+        }
+        mObserver.mEvents = 0;
+        return targets;
+    }
+
+    private void removeAll(@NonNull List<BaseCell> targets) {
+        for (int i = 0, size = targets.size(); i < size; i++) {
+            mEngine.removeBy(targets.get(i));
+        }
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+
+    private static class CountingObserver extends RecyclerView.AdapterDataObserver {
+
+        private int mEvents;
+
+        @Override
+        public void onChanged() {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mEvents++;
+        }
+    }
+}
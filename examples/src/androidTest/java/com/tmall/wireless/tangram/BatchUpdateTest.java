@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.alibaba.android.vlayout.LayoutHelper;
+import com.alibaba.android.vlayout.Range;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that mutations recorded by {@link TangramEngine#beginBatch()} and merged by
+ * {@link GroupBasicAdapter#beginBatch()} leave the adapter consistent and notify only once they are committed.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BatchUpdateTest extends AndroidTestCase {
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    private final CountingObserver mObserver = new CountingObserver();
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        mEngine = builder.build();
+        mEngine.bindView(new RecyclerView(context));
+        mEngine.setData(newCards(3, 4));
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) mEngine.getGroupBasicAdapter();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testRecordedOpsAreDeferred() {
+        BaseCell first = mAdapter.getItemByPosition(0);
+        mEngine.beginBatch();
+        mEngine.beginBatch();
+        mEngine.removeBy(first);
+        mEngine.commit();
+        // still inside the outer batch
+        assertEquals(12, mAdapter.getItemCount());
+        mEngine.commit();
+        // applied on the next frame
+        assertEquals(12, mAdapter.getItemCount());
+        assertSame(first, mAdapter.getItemByPosition(0));
+        assertEquals(0, mObserver.mEvents);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testMergedMutationsNotifyOnCommit() {
+        List<BaseCell> cells = mAdapter.getComponents();
+        BaseCell removedFirst = cells.get(0);
+        BaseCell removedLast = cells.get(11);
+        Card middle = mAdapter.getGroups().get(1);
+
+        mAdapter.beginBatch();
+        mEngine.removeBy(removedFirst);
+        mEngine.removeBy(removedLast);
+        mEngine.removeBatchBy(middle);
+        assertEquals(0, mObserver.mEvents);
+        mAdapter.commitBatch();
+
+        assertTrue(mObserver.mEvents > 0);
+        List<BaseCell> expected = new ArrayList<>(cells);
+        expected.remove(removedFirst);
+        expected.remove(removedLast);
+        expected.removeAll(middle.getCells());
+        assertEquals(expected, mAdapter.getComponents());
+        assertEquals(6, mAdapter.getItemCount());
+        assertHelpersCover(mAdapter.getItemCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i, mAdapter.getPositionByItem(expected.get(i)));
+        }
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testRefreshCardIsDeferredAndScoped() {
+        Card middle = mAdapter.getGroups().get(1);
+        List<BaseCell> before = new ArrayList<>(mAdapter.getComponents());
+        middle.removeCellSilently(middle.getCells().get(0));
+        mEngine.refreshCard(middle);
+        mEngine.refreshCard(middle);
+        // applied together on the next frame
+        assertEquals(0, mObserver.mEvents);
+        assertEquals(12, mAdapter.getItemCount());
+
+        mAdapter.notifyCardsChanged(Collections.singletonList(middle));
+        assertEquals(11, mAdapter.getItemCount());
+        assertHelpersCover(11);
+        assertTrue(mObserver.mEvents > 0);
+        before.remove(4);
+        assertEquals(before, mAdapter.getComponents());
+        assertEquals(Range.create(4, 7), mAdapter.getCardRange(1).first);
+        assertEquals(Range.create(7, 11), mAdapter.getCardRange(2).first);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testForLabelCardFollowsChangedCard() throws JSONException {
+        JSONArray cards = newCards(2, 2);
+        cards.getJSONObject(1).put("style", new JSONObject().put("forLabel", "card0"));
+        mEngine.setData(cards);
+        assertEquals(4, mAdapter.getItemCount());
+
+        Card target = mAdapter.getGroups().get(0);
+        target.removeAllCells();
+        mAdapter.notifyCardsChanged(Collections.singletonList(target));
+        // the labelled card is emptied with the card it points at
+        assertEquals(0, mAdapter.getItemCount());
+        assertHelpersCover(0);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testUnbatchedMutationsSyncHelpers() {
+        List<BaseCell> cells = mAdapter.getComponents();
+        mEngine.removeBy(cells.get(0));
+        assertHelpersCover(11);
+
+        Card middle = mAdapter.getGroups().get(1);
+        mEngine.replace(middle, new ArrayList<>(middle.getCells().subList(0, 2)));
+        assertHelpersCover(9);
+
+        mEngine.removeBatchBy(middle);
+        assertEquals(2, mEngine.getLayoutManager().getLayoutHelpers().size());
+        assertHelpersCover(7);
+    }
+
+    private void assertHelpersCover(int itemCount) {
+        int count = 0;
+        for (LayoutHelper helper : mEngine.getLayoutManager().getLayoutHelpers()) {
+            count += helper.getItemCount();
+        }
+        assertEquals(itemCount, count);
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+
+    private static class CountingObserver extends RecyclerView.AdapterDataObserver {
+
+        private int mEvents;
+
+        @Override
+        public void onChanged() {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mEvents++;
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mEvents++;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.Locale;
+
+import android.os.Debug;
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+/**
+ * Timing and allocation counting shared by the benchmarks in this package, results are logged under {@link #TAG}.
+ */
+final class Benchmark {
+
+    static final String TAG = "TangramBenchmark";
+
+    private Benchmark() {
+    }
+
+    /**
+     * @param warmup runs before timing starts
+     * @param runs   timed runs
+     * @param op     operation to time
+     * @return average nanoseconds per timed run
+     */
+    static double nanosPerRun(int warmup, int runs, @NonNull Runnable op) {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            op.run();
+        }
+        return (double) (System.nanoTime() - start) / runs;
+    }
+
+    /**
+     * @return objects allocated by the current thread while op runs once
+     */
+    @SuppressWarnings("deprecation")
+    static int allocationCount(@NonNull Runnable op) {
+        Debug.startAllocCounting();
+        try {
+            Debug.resetThreadAllocCount();
+            op.run();
+            return Debug.getThreadAllocCount();
+        } finally {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    /**
+     * @return bytes allocated by the current thread while op runs once
+     */
+    @SuppressWarnings("deprecation")
+    static long allocationSize(@NonNull Runnable op) {
+        Debug.startAllocCounting();
+        try {
+            Debug.resetThreadAllocSize();
+            op.run();
+            return Debug.getThreadAllocSize();
+        } finally {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    /**
+     * @return bytes used on the heap after a few collections
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            runtime.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    static void report(@NonNull String name, @NonNull String format, Object... args) {
+        Log.i(TAG, name + ": " + String.format(Locale.US, format, args));
+    }
+}
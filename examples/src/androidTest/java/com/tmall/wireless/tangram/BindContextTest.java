@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.service.ServiceManager;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.support.CellSupport;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link BindContext} is resolved once per engine and picks up services registered later.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BindContextTest extends AndroidTestCase {
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    @Before
+    public void setUp() {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        mEngine = TangramBuilder.newInnerBuilder(context).build();
+    }
+
+    @Test
+    @SmallTest
+    public void testEngineSnapshotIsCachedUntilRegister() {
+        BindContext first = BindContext.of(mEngine);
+        assertSame(first, BindContext.of(mEngine));
+        assertNull(first.getCellSupport());
+
+        CellSupport cellSupport = new TestCellSupport();
+        mEngine.register(CellSupport.class, cellSupport);
+
+        BindContext second = BindContext.of(mEngine);
+        assertNotSame(first, second);
+        assertSame(cellSupport, second.getCellSupport());
+        assertSame(second, BindContext.of(mEngine));
+    }
+
+    @Test
+    @SmallTest
+    public void testOtherServiceManagersAreResolvedEachTime() {
+        MapServiceManager serviceManager = new MapServiceManager();
+        CellSupport cellSupport = new TestCellSupport();
+        serviceManager.register(CellSupport.class, cellSupport);
+
+        BindContext bindContext = BindContext.of(serviceManager);
+        assertSame(cellSupport, bindContext.getCellSupport());
+        assertNull(bindContext.getExposureSupport());
+        assertNotSame(bindContext, BindContext.of(serviceManager));
+    }
+
+    private static class TestCellSupport extends CellSupport {
+
+        @Override
+        public boolean isValid(BaseCell cell) {
+            return true;
+        }
+    }
+
+    private static class MapServiceManager implements ServiceManager {
+
+        private final Map<Class<?>, Object> mServices = new HashMap<>();
+
+        @Override
+        public <T> void register(Class<T> type, T service) {
+            mServices.put(type, service);
+        }
+
+        @Override
+        public <T> T getService(Class<T> type) {
+            return type.cast(mServices.get(type));
+        }
+
+        @Override
+        public boolean supportRx() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.util.Pair;
+import com.alibaba.android.vlayout.Range;
+import com.tmall.wireless.tangram.core.adapter.CardRangeIndex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks {@link CardRangeIndex} against a plain list of item counts.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CardRangeIndexTest extends AndroidTestCase {
+
+    @Test
+    @SmallTest
+    public void testReset() {
+        CardRangeIndex<String> index = new CardRangeIndex<>();
+        List<Pair<Range<Integer>, String>> cards = new ArrayList<>();
+        cards.add(Pair.create(Range.create(0, 3), "a"));
+        cards.add(Pair.create(Range.create(3, 3), "b"));
+        cards.add(Pair.create(Range.create(3, 8), "c"));
+        index.reset(cards);
+        assertEquals(3, index.size());
+        assertEquals(8, index.getTotalCount());
+        assertEquals(0, index.getStart(0));
+        assertEquals(3, index.getStart(1));
+        assertEquals(3, index.getStart(2));
+        assertEquals(0, index.getItemCount(1));
+        assertEquals(0, index.findCardIdx(2));
+        // an empty card never contains a position
+        assertEquals(2, index.findCardIdx(3));
+        assertEquals(2, index.findCardIdx(7));
+        assertEquals(-1, index.findCardIdx(8));
+        assertEquals(-1, index.findCardIdx(-1));
+        assertEquals(1, index.indexOf("b"));
+        assertEquals(-1, index.indexOf("d"));
+    }
+
+    @Test
+    @SmallTest
+    public void testAdjustShiftsFollowingCards() {
+        CardRangeIndex<String> index = new CardRangeIndex<>();
+        index.insert(0, list("a", "b", "c"), new int[] {2, 2, 2});
+        index.adjust(0, 3);
+        assertEquals(5, index.getStart(1));
+        assertEquals(7, index.getStart(2));
+        assertEquals(9, index.getTotalCount());
+        index.adjust(1, -2);
+        assertEquals(5, index.getStart(2));
+        assertEquals(2, index.findCardIdx(5));
+        assertEquals(0, index.findCardIdx(4));
+    }
+
+    @Test
+    @SmallTest
+    public void testReplaceUpdatesLookup() {
+        CardRangeIndex<String> index = new CardRangeIndex<>();
+        index.insert(0, list("a", "b", "c"), new int[] {1, 1, 1});
+        index.replace(1, "d", 4);
+        assertEquals(-1, index.indexOf("b"));
+        assertEquals(1, index.indexOf("d"));
+        assertEquals(5, index.getStart(2));
+        assertEquals(1, index.findCardIdx(4));
+    }
+
+    @Test
+    @SmallTest
+    public void testRandomOperationsMatchPlainList() {
+        Random random = new Random(42);
+        CardRangeIndex<String> index = new CardRangeIndex<>();
+        List<String> cards = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 || cards.isEmpty()) {
+                int at = random.nextInt(cards.size() + 1);
+                int count = random.nextInt(3) + 1;
+                List<String> inserted = new ArrayList<>();
+                int[] itemCounts = new int[count];
+                for (int i = 0; i < count; i++) {
+                    inserted.add("card" + step + "_" + i);
+                    itemCounts[i] = random.nextInt(5);
+                    counts.add(at + i, itemCounts[i]);
+                }
+                cards.addAll(at, inserted);
+                index.insert(at, inserted, itemCounts);
+            } else if (op == 1) {
+                int at = random.nextInt(cards.size());
+                cards.remove(at);
+                counts.remove(at);
+                index.remove(at);
+            } else if (op == 2) {
+                int at = random.nextInt(cards.size());
+                int delta = random.nextInt(6) - counts.get(at);
+                counts.set(at, counts.get(at) + delta);
+                index.adjust(at, delta);
+            } else {
+                int at = random.nextInt(cards.size());
+                String card = "replaced" + step;
+                int count = random.nextInt(5);
+                cards.set(at, card);
+                counts.set(at, count);
+                index.replace(at, card, count);
+            }
+            assertSameAs(cards, counts, index);
+        }
+    }
+
+    private static void assertSameAs(List<String> cards, List<Integer> counts, CardRangeIndex<String> index) {
+        assertEquals(cards.size(), index.size());
+        int start = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            assertSame(cards.get(i), index.getCard(i));
+            assertEquals(i, index.indexOf(cards.get(i)));
+            assertEquals(start, index.getStart(i));
+            assertEquals(counts.get(i).intValue(), index.getItemCount(i));
+            for (int position = start; position < start + counts.get(i); position++) {
+                assertEquals(i, index.findCardIdx(position));
+            }
+            start += counts.get(i);
+        }
+        assertEquals(start, index.getTotalCount());
+        assertEquals(-1, index.findCardIdx(start));
+    }
+
+    private static List<String> list(String... cards) {
+        List<String> list = new ArrayList<>();
+        Collections.addAll(list, cards);
+        return list;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.LargeTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.BinderViewHolder;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.core.adapter.IndexedCellList;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Binds every position of feeds with 1k to 50k cells, per-bind cost should not grow with the feed as positional reads
+ * and identity lookups of {@link IndexedCellList} are O(1).
+ */
+@RunWith(AndroidJUnit4.class)
+public class CellBindBenchmark extends AndroidTestCase {
+
+    private static final int[] FEED_SIZES = {1000, 5000, 10000, 50000};
+
+    private static final int CELLS_PER_CARD = 20;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testBindEveryPosition() throws JSONException {
+        double firstLookupNanos = 0;
+        double lastLookupNanos = 0;
+        for (int size : FEED_SIZES) {
+            final GroupBasicAdapter<Card, BaseCell> adapter = newAdapter(size);
+            final int itemCount = adapter.getItemCount();
+            assertEquals(size, itemCount);
+            final BinderViewHolder<BaseCell, ? extends View> holder =
+                adapter.onCreateViewHolder(new RecyclerView(context), adapter.getItemViewType(0));
+
+            double bindNanos = Benchmark.nanosPerRun(1, 3, new Runnable() {
+                @Override
+                public void run() {
+                    for (int position = 0; position < itemCount; position++) {
+                        adapter.getItemViewType(position);
+                        adapter.onBindViewHolder(holder, position);
+                        adapter.onViewRecycled(holder);
+                    }
+                }
+            }) / itemCount;
+            double lookupNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+                @Override
+                public void run() {
+                    for (int position = 0; position < itemCount; position++) {
+                        BaseCell cell = adapter.getItemByPosition(position);
+                        adapter.getPositionByItem(cell);
+                        adapter.findCardIdxFor(cell);
+                    }
+                }
+            }) / itemCount;
+            Benchmark.report("bind", "%d cells, %.0f ns per bind, %.0f ns per position lookup", size, bindNanos,
+                lookupNanos);
+            if (firstLookupNanos == 0) {
+                firstLookupNanos = lookupNanos;
+            }
+            lastLookupNanos = lookupNanos;
+        }
+        // a linear list would be about 50 times slower per lookup at 50k than at 1k
+        assertTrue(lastLookupNanos < firstLookupNanos * 10);
+    }
+
+    @Test
+    @LargeTest
+    public void testIndexedListAgainstLinkedList() {
+        final int size = 10000;
+        final List<Object> cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cells.add(new Object());
+        }
+        final IndexedCellList<Object> indexed = new IndexedCellList<>();
+        indexed.addAll(cells);
+        final LinkedList<Object> linked = new LinkedList<>(cells);
+
+        double indexedNanos = Benchmark.nanosPerRun(1, 3, new Runnable() {
+            @Override
+            public void run() {
+                readAll(indexed);
+            }
+        }) / size;
+        double linkedNanos = Benchmark.nanosPerRun(0, 1, new Runnable() {
+            @Override
+            public void run() {
+                readAll(linked);
+            }
+        }) / size;
+        Benchmark.report("bind", "%d cells, get + indexOf: %.0f ns indexed, %.0f ns linked", size, indexedNanos,
+            linkedNanos);
+        assertTrue(indexedNanos < linkedNanos);
+    }
+
+    private static void readAll(@NonNull List<Object> list) {
+        for (int i = 0, size = list.size(); i < size; i++) {
+            Object cell = list.get(i);
+            if (i % 100 == 0) {
+                list.indexOf(cell);
+            }
+        }
+    }
+
+    private GroupBasicAdapter<Card, BaseCell> newAdapter(int cellCount) throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        TangramEngine engine = builder.build();
+        engine.bindView(new RecyclerView(context));
+        engine.setData(newCards(cellCount / CELLS_PER_CARD, CELLS_PER_CARD));
+        return (GroupBasicAdapter<Card, BaseCell>) engine.getGroupBasicAdapter();
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+}
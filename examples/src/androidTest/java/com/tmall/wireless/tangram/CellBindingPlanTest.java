@@ -0,0 +1,191 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.view.View;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.structure.CellBindingPlan;
+import com.tmall.wireless.tangram.structure.CellRender;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that a {@link CellBindingPlan} passes each {@link CellRender} setter the cell's param read as the setter's
+ * type, or the default value of that type if the cell has no such param.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CellBindingPlanTest extends AndroidTestCase {
+
+    private final CellBindingPlan mPlan = CellBindingPlan.compile(RecordingView.class);
+
+    private RecordingView mView;
+
+    @Before
+    public void setUp() {
+        mView = new RecordingView(InstrumentationRegistry.getTargetContext());
+    }
+
+    @Test
+    @SmallTest
+    public void testBindsTypedParams() throws JSONException {
+        BaseCell cell = new BaseCell();
+        cell.extras.put("count", 3);
+        cell.extras.put("id", 1234567890123L);
+        cell.extras.put("ratio", 0.5);
+        cell.extras.put("checked", true);
+        cell.extras.put("title", "text");
+        cell.extras.put("custom", new JSONObject().put("a", 1));
+
+        mPlan.bindView(cell, mView);
+
+        assertEquals(3, mView.count);
+        assertEquals(1234567890123L, mView.id);
+        assertEquals(0.5, mView.ratio);
+        assertTrue(mView.checked);
+        assertEquals("text", mView.title);
+        assertEquals(1, mView.custom.optInt("a"));
+    }
+
+    @Test
+    @SmallTest
+    public void testMissingParamsBindDefaults() {
+        BaseCell cell = new BaseCell();
+        mView.count = -1;
+        mView.id = -1;
+        mView.ratio = -1;
+        mView.checked = true;
+        mView.title = null;
+        mView.custom = new JSONObject();
+
+        mPlan.bindView(cell, mView);
+
+        assertEquals(0, mView.count);
+        assertEquals(0L, mView.id);
+        assertEquals(0d, mView.ratio);
+        assertFalse(mView.checked);
+        assertEquals("", mView.title);
+        assertNull(mView.custom);
+    }
+
+    @Test
+    @SmallTest
+    public void testKeyTakesPrecedenceOverMethodName() throws JSONException {
+        BaseCell cell = new BaseCell();
+        cell.extras.put("title", "byName");
+        cell.extras.put("text", "byKey");
+
+        mPlan.bindView(cell, mView);
+
+        assertEquals("byKey", mView.title);
+    }
+
+    @Test
+    @SmallTest
+    public void testLifeCycleMethods() {
+        BaseCell cell = new BaseCell();
+        mPlan.cellInited(cell, mView);
+        mPlan.postBindView(cell, mView);
+        assertSame(cell, mView.inited);
+        assertSame(cell, mView.bound);
+        mPlan.postUnBindView(cell, mView);
+        assertNull(mView.bound);
+    }
+
+    public static class RecordingView extends View {
+
+        int count;
+
+        long id;
+
+        double ratio;
+
+        boolean checked;
+
+        String title;
+
+        JSONObject custom;
+
+        BaseCell inited;
+
+        BaseCell bound;
+
+        public RecordingView(Context context) {
+            super(context);
+        }
+
+        @CellRender
+        public void count(int count) {
+            this.count = count;
+        }
+
+        @CellRender
+        public void id(long id) {
+            this.id = id;
+        }
+
+        @CellRender
+        public void ratio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        @CellRender
+        public void checked(boolean checked) {
+            this.checked = checked;
+        }
+
+        @CellRender(key = "text")
+        public void title(String title) {
+            this.title = title;
+        }
+
+        @CellRender
+        public void custom(JSONObject custom) {
+            this.custom = custom;
+        }
+
+        @CellRender
+        public void cellInited(BaseCell cell) {
+            inited = cell;
+        }
+
+        @CellRender
+        public void postBindView(BaseCell cell) {
+            bound = cell;
+        }
+
+        @CellRender
+        public void postUnBindView(BaseCell cell) {
+            bound = null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.LargeTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures heap per cell. {@link BaseCell} allocates its maps and Rx state on first use, the legacy cell is emulated
+ * by a cell that also holds the six maps it used to allocate up front.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CellHeapBenchmark extends AndroidTestCase {
+
+    private static final int CELL_COUNT = 5000;
+
+    private static final int CELLS_PER_CARD = 20;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    @Test
+    @LargeTest
+    public void testRetainedPerCell() {
+        long lazyBytes = retainedPerCell(new CellFactory() {
+            @Override
+            public Object create() {
+                return new BaseCell();
+            }
+        });
+        long eagerBytes = retainedPerCell(new CellFactory() {
+            @Override
+            public Object create() {
+                return new LegacyCell();
+            }
+        });
+        Benchmark.report("heap", "%d cells, retained per cell: %d bytes lazy, %d bytes eager", CELL_COUNT,
+            lazyBytes, eagerBytes);
+        assertTrue(lazyBytes < eagerBytes);
+    }
+
+    @Test
+    @LargeTest
+    public void testAllocatedPerCell() {
+        long lazyBytes = Benchmark.allocationSize(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CELL_COUNT; i++) {
+                    new BaseCell();
+                }
+            }
+        }) / CELL_COUNT;
+        long eagerBytes = Benchmark.allocationSize(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < CELL_COUNT; i++) {
+                    new LegacyCell();
+                }
+            }
+        }) / CELL_COUNT;
+        Benchmark.report("heap", "allocated per cell: %d bytes lazy, %d bytes eager", lazyBytes, eagerBytes);
+        assertTrue(lazyBytes < eagerBytes);
+    }
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testRetainedPerParsedCell() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        TangramEngine engine = builder.build();
+        engine.bindView(new RecyclerView(context));
+        JSONArray data = newCards(CELL_COUNT / CELLS_PER_CARD, CELLS_PER_CARD);
+
+        long before = Benchmark.usedHeap();
+        engine.setData(data);
+        long after = Benchmark.usedHeap();
+        assertEquals(CELL_COUNT, engine.getGroupBasicAdapter().getItemCount());
+        Benchmark.report("heap", "%d parsed cells, retained per cell with cards and adapter: %d bytes", CELL_COUNT,
+            (after - before) / CELL_COUNT);
+        engine.destroy();
+    }
+
+    private static long retainedPerCell(@NonNull CellFactory factory) {
+        Object[] cells = new Object[CELL_COUNT];
+        long before = Benchmark.usedHeap();
+        for (int i = 0; i < CELL_COUNT; i++) {
+            cells[i] = factory.create();
+        }
+        long after = Benchmark.usedHeap();
+        assertNotNull(cells[CELL_COUNT - 1]);
+        return (after - before) / CELL_COUNT;
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+
+    private interface CellFactory {
+
+        Object create();
+    }
+
+    /**
+     * A cell with the maps {@link BaseCell} used to allocate in its field initializers.
+     */
+    private static final class LegacyCell extends BaseCell {
+
+        private final ConcurrentHashMap<String, Object> mBizParaMap = new ConcurrentHashMap<>(32);
+
+        private final ConcurrentHashMap<Integer, Integer> mInnerClickMap = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<View, Object> mRxExposureEvents = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<View, Object> mViewExposureObservables = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<View, Object> mRxClickEvents = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<View, Object> mViewClickObservables = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks the item type cached on {@link BaseCell} is only reused for the same adapter, type key and version.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CellItemTypeCacheTest extends AndroidTestCase {
+
+    private final Object mAdapter = new Object();
+
+    @Test
+    @SmallTest
+    public void testMissBeforeResolved() {
+        BaseCell cell = new BaseCell();
+        assertEquals(-1, cell.getCachedItemType(mAdapter, "type", 0));
+    }
+
+    @Test
+    @SmallTest
+    public void testHitForSameKey() {
+        BaseCell cell = new BaseCell();
+        String typeKey = "type";
+        cell.cacheItemType(mAdapter, typeKey, 2, 7);
+        assertEquals(7, cell.getCachedItemType(mAdapter, typeKey, 2));
+    }
+
+    @Test
+    @SmallTest
+    public void testMissWhenVersionOrOwnerChanges() {
+        BaseCell cell = new BaseCell();
+        String typeKey = "type";
+        cell.cacheItemType(mAdapter, typeKey, 2, 7);
+        assertEquals(-1, cell.getCachedItemType(mAdapter, typeKey, 3));
+        assertEquals(-1, cell.getCachedItemType(new Object(), typeKey, 2));
+    }
+
+    @Test
+    @SmallTest
+    public void testMissWhenTypeKeyReplaced() {
+        BaseCell cell = new BaseCell();
+        cell.cacheItemType(mAdapter, new String("type"), 2, 7);
+        assertEquals(-1, cell.getCachedItemType(mAdapter, new String("type"), 2));
+    }
+}
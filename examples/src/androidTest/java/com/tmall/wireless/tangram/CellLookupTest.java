@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that cell and card lookups patched by the adapter's mutators agree with a scan of the current data.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CellLookupTest extends AndroidTestCase {
+
+    private static final String[] TYPES = {"a", "b", "c"};
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        for (String type : TYPES) {
+            builder.registerCell(type, View.class);
+        }
+        mEngine = builder.build();
+        mEngine.bindView(new RecyclerView(context));
+        mEngine.setData(newCards(0, 4, 5));
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) mEngine.getGroupBasicAdapter();
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testLookupsFollowMutations() throws JSONException {
+        assertLookups();
+
+        mEngine.removeBy(mAdapter.getItemByPosition(0));
+        assertLookups();
+        mEngine.removeBy(mAdapter.getItemByPosition(mAdapter.getItemCount() - 1));
+        assertLookups();
+
+        Card second = mAdapter.getGroups().get(1);
+        mEngine.removeBatchBy(second);
+        assertLookups();
+
+        List<Card> inserted = mEngine.parseData(newCards(10, 2, 3));
+        mEngine.insertBatchWith(1, inserted);
+        assertLookups();
+
+        mEngine.insertWith(4, mEngine.parseData(newCards(30, 1, 2)).get(0).getCells());
+        assertLookups();
+
+        Card replacement = mEngine.parseData(newCards(20, 1, 2)).get(0);
+        mEngine.replace(mAdapter.getGroups().get(0), replacement);
+        assertLookups();
+        assertSame(replacement, mAdapter.getCardById("card20"));
+        assertNull(mAdapter.getCardById("card0"));
+    }
+
+    private void assertLookups() {
+        List<BaseCell> cells = mAdapter.getComponents();
+        for (String type : TYPES) {
+            int first = -1;
+            int last = -1;
+            for (int i = 0; i < cells.size(); i++) {
+                if (type.equals(cells.get(i).stringType)) {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    last = i;
+                }
+            }
+            assertEquals(first, mAdapter.findFirstPositionOfCell(type));
+            assertEquals(last, mAdapter.findLastPositionOfCell(type));
+        }
+        for (BaseCell cell : cells) {
+            BaseCell found = mAdapter.findCellById(cell.id);
+            assertNotNull(found);
+            assertEquals(cell.id, found.id);
+        }
+        for (Card card : mAdapter.getGroups()) {
+            assertSame(card, mAdapter.getCardById(card.id));
+        }
+    }
+
+    private static JSONArray newCards(int firstCard, int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = firstCard; i < firstCard + cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", TYPES[(i + j) % TYPES.length]);
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link GroupBasicAdapter#setData(List)} notifies granular events, matching re-parsed cells by id and
+ * type and reporting reorders as moves.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DataDiffTest extends AndroidTestCase {
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    private final RecordingObserver mObserver = new RecordingObserver();
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        mEngine = builder.build();
+        mEngine.bindView(new RecyclerView(context));
+        mEngine.setData(newCards(0, 3, 2));
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) mEngine.getGroupBasicAdapter();
+        mAdapter.registerAdapterDataObserver(mObserver);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testReorderNotifiesMove() {
+        List<Card> cards = new ArrayList<>(mAdapter.getGroups());
+        Collections.reverse(cards);
+        mAdapter.setData(cards);
+
+        assertEquals(0, mObserver.mDataSetChanged);
+        assertTrue(mObserver.mMoved > 0);
+        assertEquals(0, mObserver.mInserted);
+        assertEquals(0, mObserver.mRemoved);
+        assertEquals(0, mObserver.mChanged);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testReparsedPageIsDiffed() throws JSONException {
+        mEngine.setData(newCards(0, 4, 2));
+
+        assertEquals(0, mObserver.mDataSetChanged);
+        // the kept cells are new instances with the same ids, so they are changed rather than removed and inserted
+        assertEquals(6, mObserver.mChanged);
+        assertEquals(2, mObserver.mInserted);
+        assertEquals(0, mObserver.mRemoved);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testReparsedReorderNotifiesMove() throws JSONException {
+        JSONArray reordered = new JSONArray();
+        JSONArray cards = newCards(0, 3, 2);
+        for (int i = cards.length() - 1; i >= 0; i--) {
+            reordered.put(cards.getJSONObject(i));
+        }
+        mEngine.setData(reordered);
+
+        assertEquals(0, mObserver.mDataSetChanged);
+        assertTrue(mObserver.mMoved > 0);
+        assertEquals(0, mObserver.mInserted);
+        assertEquals(0, mObserver.mRemoved);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testLayoutUpdateRebindsKeptCells() {
+        Card card = mAdapter.getGroups().get(0);
+        card.removeCellSilently(card.getCells().get(0));
+        mAdapter.notifyUpdate(true);
+
+        assertEquals(0, mObserver.mDataSetChanged);
+        assertEquals(1, mObserver.mRemoved);
+        assertEquals(mAdapter.getItemCount(), mObserver.mChanged);
+    }
+
+    private static JSONArray newCards(int firstCard, int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = firstCard; i < firstCard + cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+
+    private static class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+        private int mDataSetChanged;
+
+        private int mChanged;
+
+        private int mInserted;
+
+        private int mRemoved;
+
+        private int mMoved;
+
+        @Override
+        public void onChanged() {
+            mDataSetChanged++;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            mChanged += itemCount;
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            mChanged += itemCount;
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            mInserted += itemCount;
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            mRemoved += itemCount;
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            mMoved += itemCount;
+        }
+    }
+}
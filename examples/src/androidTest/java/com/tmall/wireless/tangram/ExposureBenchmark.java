@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.lang.reflect.Method;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.support.ExposureHandler;
+import com.tmall.wireless.tangram.support.ExposureSupport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the cost of one {@link ExposureSupport#onExposure(View, BaseCell, int)} dispatched to a typed handler, to
+ * a cached reflected method, and to a reflected method looked up again on each exposure as before the dispatch table.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExposureBenchmark extends AndroidTestCase {
+
+    private static final int EXPOSURES = 100000;
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private final BaseCell mCell = new BaseCell();
+
+    @Test
+    @LargeTest
+    public void testPerExposureCost() throws Exception {
+        // a subclass of the handled view class, so the class hierarchy is walked once per view class
+        final View view = new Button(context);
+
+        final CountingExposureSupport typed = new CountingExposureSupport();
+        typed.register(TextView.class, new ExposureHandler<TextView>() {
+            @Override
+            public void onExposure(@NonNull TextView targetView, @NonNull BaseCell cell, int type) {
+                typed.mCount++;
+            }
+        });
+        double typedNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < EXPOSURES; i++) {
+                    typed.onExposure(view, mCell, i);
+                }
+            }
+        }) / EXPOSURES;
+
+        final ReflectiveExposureSupport reflective = new ReflectiveExposureSupport();
+        double reflectiveNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < EXPOSURES; i++) {
+                    reflective.onExposure(view, mCell, i);
+                }
+            }
+        }) / EXPOSURES;
+
+        final ReflectiveExposureSupport rescanning = new ReflectiveExposureSupport();
+        double rescanningNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < EXPOSURES / 100; i++) {
+                    rescanExposure(rescanning, view, mCell, i);
+                }
+            }
+        }) / (EXPOSURES / 100);
+
+        Benchmark.report("exposure", "typed handler %.0f ns, cached reflection %.0f ns, rescanning reflection %.0f ns"
+            + " per exposure", typedNanos, reflectiveNanos, rescanningNanos);
+        assertEquals(6 * EXPOSURES, typed.mCount);
+        assertEquals(6 * EXPOSURES, reflective.mCount);
+        assertTrue(typedNanos < rescanningNanos);
+    }
+
+    /**
+     * Dispatch as done before the per-class table, when the trace methods map was empty the public methods were
+     * scanned again on every exposure and called through {@link Method#invoke(Object, Object...)}.
+     */
+    private static void rescanExposure(@NonNull ExposureSupport support, @NonNull View view, @NonNull BaseCell cell,
+        int type) {
+        for (Method method : support.getClass().getMethods()) {
+            String name = method.getName();
+            if (!name.startsWith("on") || !name.endsWith("Exposure") || method.getParameterTypes().length != 3) {
+                continue;
+            }
+            if (method.getParameterTypes()[0].isAssignableFrom(view.getClass())
+                && method.getParameterTypes()[0] != View.class) {
+                try {
+                    method.invoke(support, view, cell, type);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return;
+            }
+        }
+    }
+
+    private static class CountingExposureSupport extends ExposureSupport {
+
+        int mCount;
+
+        @Override
+        public void onExposure(@NonNull Card card, int offset, int position) {
+        }
+    }
+
+    public static class ReflectiveExposureSupport extends CountingExposureSupport {
+
+        public void onTextViewExposure(TextView view, BaseCell cell, int type) {
+            mCount++;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.TextView;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.support.ExposureHandler;
+import com.tmall.wireless.tangram.support.ExposureSupport;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks how {@link ExposureSupport} picks a handler for a view class: registered handlers, reflected onXXExposure
+ * and onXXTrace methods, the view class hierarchy and optimized mode.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExposureSupportTest extends AndroidTestCase {
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private final BaseCell cell = new BaseCell();
+
+    @Test
+    @SmallTest
+    public void testReflectedMethodsFollowViewHierarchy() {
+        RecordingExposureSupport support = new RecordingExposureSupport();
+        support.onExposure(new TextView(context), cell, 1);
+        support.onExposure(new Button(context), cell, 2);
+        support.onExposure(new ImageView(context), cell, 3);
+        support.onTrace(new Button(context), cell, 4);
+        support.onTrace(new ImageView(context), cell, 5);
+        assertEquals(list("text:1", "text:2", "default:3", "traceText:4", "defaultTrace:5"), support.mCalls);
+    }
+
+    @Test
+    @SmallTest
+    public void testRegisteredHandlerWins() {
+        final RecordingExposureSupport support = new RecordingExposureSupport();
+        support.onExposure(new Button(context), cell, 1);
+        support.register(Button.class, new ExposureHandler<Button>() {
+            @Override
+            public void onExposure(@NonNull Button targetView, @NonNull BaseCell cell, int type) {
+                support.mCalls.add("button:" + type);
+            }
+        });
+        support.onExposure(new Button(context), cell, 2);
+        support.onExposure(new TextView(context), cell, 3);
+        assertEquals(list("text:1", "button:2", "text:3"), support.mCalls);
+    }
+
+    @Test
+    @SmallTest
+    public void testOptimizedModeSkipsReflection() {
+        final RecordingExposureSupport support = new RecordingExposureSupport();
+        support.onExposure(new TextView(context), cell, 1);
+        support.setOptimizedMode(true);
+        support.onExposure(new TextView(context), cell, 2);
+        support.onTrace(new TextView(context), cell, 3);
+        support.registerTrace(TextView.class, new ExposureHandler<TextView>() {
+            @Override
+            public void onExposure(@NonNull TextView targetView, @NonNull BaseCell cell, int type) {
+                support.mCalls.add("traceTextHandler:" + type);
+            }
+        });
+        support.onTrace(new Button(context), cell, 4);
+        assertEquals(list("text:1", "default:2", "defaultTrace:3", "traceTextHandler:4"), support.mCalls);
+    }
+
+    private static List<String> list(String... calls) {
+        List<String> list = new ArrayList<>();
+        for (String call : calls) {
+            list.add(call);
+        }
+        return list;
+    }
+
+    public static class RecordingExposureSupport extends ExposureSupport {
+
+        private final List<String> mCalls = new ArrayList<>();
+
+        public void onTextViewExposure(TextView view, BaseCell cell, int type) {
+            mCalls.add("text:" + type);
+        }
+
+        public void onTextViewTrace(TextView view, BaseCell cell, int type) {
+            mCalls.add("traceText:" + type);
+        }
+
+        @Override
+        public void defaultExposureCell(@NonNull View targetView, @NonNull BaseCell cell, int type) {
+            mCalls.add("default:" + type);
+        }
+
+        @Override
+        public void defaultTrace(@NonNull View targetView, @NonNull BaseCell cell, int type) {
+            mCalls.add("defaultTrace:" + type);
+        }
+
+        @Override
+        public void onExposure(@NonNull Card card, int offset, int position) {
+        }
+    }
+}
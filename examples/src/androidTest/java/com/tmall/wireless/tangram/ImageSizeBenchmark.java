@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.util.Pair;
+import com.tmall.wireless.tangram.util.Utils;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Times the URL size scanner of {@link Utils#getImageSize(String)} on cache misses and hits, against the regular
+ * expressions it replaced, and reads the bounded cache from several threads.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImageSizeBenchmark extends AndroidTestCase {
+
+    private static final Pattern REGEX_1 = Pattern.compile("(\\d+)x(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
+
+    private static final Pattern REGEX_2 = Pattern.compile("(\\d+)-(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
+
+    private static final String[] URL_PATTERNS = {
+        "http://img.alicdn.com/tps/i1/TB1x623LVXXXXXZXFXXzo_ZPXXX-372-441.png",
+        "http://img07.taobaocdn.com/tfscom/T10DjXXn4oXXbSV1s__105829.jpg_100x100q90.jpg_.webp",
+        "http://img03.taobaocdn.com/tps/i3/T1JYROXuRhXXajR_DD-1680-446.jpg_q50.jpg",
+        "http://img.alicdn.com/tps/i4/TB1noSizeXXXXXXXXXXXXXXXXXXXX.png"
+    };
+
+    private static final int URL_COUNT = 10000;
+
+    private final String[] mUrls = new String[URL_COUNT];
+
+    public ImageSizeBenchmark() {
+        for (int i = 0; i < URL_COUNT; i++) {
+            // a distinct path per url so each one is a cache miss
+            String pattern = URL_PATTERNS[i % URL_PATTERNS.length];
+            int path = pattern.indexOf('/', "http://".length());
+            mUrls[i] = pattern.substring(0, path) + "/b" + i + pattern.substring(path);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Utils.setImageSizeCacheSize(512);
+    }
+
+    @Test
+    @LargeTest
+    public void testScannerAgainstRegex() {
+        // a single entry cache, every read parses its url
+        Utils.setImageSizeCacheSize(1);
+        double scanNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (String url : mUrls) {
+                    Utils.getImageSize(url);
+                }
+            }
+        }) / URL_COUNT;
+        double regexNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (String url : mUrls) {
+                    regexImageSize(url);
+                }
+            }
+        }) / URL_COUNT;
+
+        Utils.setImageSizeCacheSize(URL_COUNT);
+        for (String url : mUrls) {
+            assertEquals(url, regexImageSize(url), Utils.getImageSize(url));
+        }
+        double hitNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (String url : mUrls) {
+                    Utils.getImageSize(url);
+                }
+            }
+        }) / URL_COUNT;
+
+        Benchmark.report("imageSize", "scanner %.0f ns, regex %.0f ns, cache hit %.0f ns per url", scanNanos,
+            regexNanos, hitNanos);
+        assertTrue(scanNanos < regexNanos);
+    }
+
+    @Test
+    @LargeTest
+    public void testConcurrentReads() throws InterruptedException {
+        Utils.setImageSizeCacheSize(URL_COUNT / 4);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            final int offset = i;
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < URL_COUNT; j++) {
+                        String url = mUrls[(j + offset * URL_COUNT / 4) % URL_COUNT];
+                        Pair<Integer, Integer> size = Utils.getImageSize(url);
+                        Pair<Integer, Integer> expected = regexImageSize(url);
+                        if (expected == null ? size != null : !expected.equals(size)) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers[i].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        Benchmark.report("imageSize", "%d threads read %d urls each in %.1f ms", readers.length, URL_COUNT,
+            (System.nanoTime() - begin) / 1e6);
+        assertEquals(0, mismatches.get());
+    }
+
+    /**
+     * The implementation of {@link Utils#getImageSize(String)} before it stopped using regex.
+     */
+    private static Pair<Integer, Integer> regexImageSize(String imageUrl) {
+        Matcher matcher = REGEX_1.matcher(imageUrl);
+        if (!matcher.find()) {
+            matcher = REGEX_2.matcher(imageUrl);
+            if (!matcher.find()) {
+                return null;
+            }
+        }
+        String widthStr = matcher.group(1);
+        String heightStr = matcher.group(2);
+        if (widthStr.length() < 5 && heightStr.length() < 5) {
+            return new Pair<>(Integer.parseInt(widthStr), Integer.parseInt(heightStr));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.util.Pair;
+import com.tmall.wireless.tangram.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks {@link Utils#getImageSize(String)} parses the same sizes as the regular expressions it replaced.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImageSizeTest extends AndroidTestCase {
+
+    private static final Pattern REGEX_1 = Pattern.compile("(\\d+)x(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
+
+    private static final Pattern REGEX_2 = Pattern.compile("(\\d+)-(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
+
+    private static final String[] URLS = {
+        "http://img.alicdn.com/tps/i1/TB1x623LVXXXXXZXFXXzo_ZPXXX-372-441.png",
+        "http://img.alicdn.com/tps/i1/TB1P9AdLVXXXXa_XXXXzo_ZPXXX-372-441.png",
+        "http://img07.taobaocdn.com/tfscom/T10DjXXn4oXXbSV1s__105829.jpg_100x100.jpg",
+        "http://img07.taobaocdn.com/tfscom/T10DjXXn4oXXbSV1s__105829.jpg_100x100q90.jpg",
+        "http://img07.taobaocdn.com/tfscom/T10DjXXn4oXXbSV1s__105829.jpg_100x100q90.jpg_.webp",
+        "http://img03.taobaocdn.com/tps/i3/T1JYROXuRhXXajR_DD-1680-446.jpg_q50.jpg",
+        "http://img.alicdn.com/a-12x34x56.gif",
+        "http://img.alicdn.com/a_300x200_q90.jpg",
+        "http://img.alicdn.com/a_300x200_q.jpg",
+        "http://img.alicdn.com/a_300x200_.jpg",
+        "http://img.alicdn.com/a_12345x200.jpg",
+        "http://img.alicdn.com/a_12345x200.jpg_300-200.jpg",
+        "http://img.alicdn.com/a_x200.jpg",
+        "http://img.alicdn.com/a_300x.jpg",
+        "http://img.alicdn.com/a_300x200.webp",
+        "http://img.alicdn.com/a_300x200.",
+        "http://img.alicdn.com/300-200-100.png",
+        "http://img.alicdn.com/0x0.png",
+        "http://img.alicdn.com/no-size.png",
+        "300x200.i"
+    };
+
+    @Test
+    @SmallTest
+    public void testSameResultAsRegex() {
+        for (String url : URLS) {
+            Pair<Integer, Integer> expected = regexImageSize(url);
+            Pair<Integer, Integer> actual = Utils.getImageSize(url);
+            assertEquals(url, expected, actual);
+            // a second read is answered from the cache
+            assertEquals(url, expected, Utils.getImageSize(url));
+        }
+    }
+
+    @Test
+    @SmallTest
+    public void testEmptyUrl() {
+        assertNull(Utils.getImageSize(null));
+        assertNull(Utils.getImageSize(""));
+        assertTrue(Float.isNaN(Utils.getImageRatio("http://img.alicdn.com/no-size.png")));
+    }
+
+    @Test
+    @SmallTest
+    public void testRatio() {
+        assertEquals(1680f / 446, Utils.getImageRatio(URLS[5]), 0.0001f);
+        assertEquals(1f, Utils.getImageRatio("http://img.alicdn.com/0x0.png"), 0.0001f);
+    }
+
+    /**
+     * The implementation of {@link Utils#getImageSize(String)} before it stopped using regex.
+     */
+    private static Pair<Integer, Integer> regexImageSize(String imageUrl) {
+        Matcher matcher = REGEX_1.matcher(imageUrl);
+        if (!matcher.find()) {
+            matcher = REGEX_2.matcher(imageUrl);
+            if (!matcher.find()) {
+                return null;
+            }
+        }
+        String widthStr = matcher.group(1);
+        String heightStr = matcher.group(2);
+        if (widthStr.length() < 5 && heightStr.length() < 5) {
+            return new Pair<>(Integer.parseInt(widthStr), Integer.parseInt(heightStr));
+        }
+        return null;
+    }
+}
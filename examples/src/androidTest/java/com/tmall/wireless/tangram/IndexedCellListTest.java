@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import com.tmall.wireless.tangram.core.adapter.IndexedCellList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link IndexedCellList} keeps positional reads and identity lookups consistent across mutations.
+ */
+@RunWith(AndroidJUnit4.class)
+public class IndexedCellListTest extends AndroidTestCase {
+
+    private final Object mCell0 = new Object();
+    private final Object mCell1 = new Object();
+    private final Object mCell2 = new Object();
+    private final Object mCell3 = new Object();
+
+    private IndexedCellList<Object> mList;
+
+    @Before
+    public void setUp() {
+        mList = new IndexedCellList<>();
+        mList.addAll(Arrays.asList(mCell0, mCell1, mCell2));
+    }
+
+    @Test
+    @SmallTest
+    public void testIndexOfUsesIdentity() {
+        String a = new String("cell");
+        String b = new String("cell");
+        IndexedCellList<String> list = new IndexedCellList<>();
+        list.add(a);
+        list.add(b);
+        assertEquals(0, list.indexOf(a));
+        assertEquals(1, list.indexOf(b));
+        assertEquals(-1, list.indexOf(new String("cell")));
+    }
+
+    @Test
+    @SmallTest
+    public void testIndexOfAfterInsert() {
+        assertEquals(2, mList.indexOf(mCell2));
+        mList.add(1, mCell3);
+        assertEquals(0, mList.indexOf(mCell0));
+        assertEquals(1, mList.indexOf(mCell3));
+        assertEquals(2, mList.indexOf(mCell1));
+        assertEquals(3, mList.indexOf(mCell2));
+    }
+
+    @Test
+    @SmallTest
+    public void testIndexOfAfterRemove() {
+        assertEquals(2, mList.indexOf(mCell2));
+        assertSame(mCell0, mList.remove(0));
+        assertEquals(-1, mList.indexOf(mCell0));
+        assertEquals(0, mList.indexOf(mCell1));
+        assertEquals(1, mList.indexOf(mCell2));
+        assertTrue(mList.remove(mCell2));
+        assertFalse(mList.contains(mCell2));
+        assertEquals(1, mList.size());
+    }
+
+    @Test
+    @SmallTest
+    public void testIndexOfAfterSet() {
+        assertEquals(1, mList.indexOf(mCell1));
+        assertSame(mCell1, mList.set(1, mCell3));
+        assertEquals(-1, mList.indexOf(mCell1));
+        assertEquals(1, mList.indexOf(mCell3));
+        assertEquals(2, mList.indexOf(mCell2));
+    }
+
+    @Test
+    @SmallTest
+    public void testRemoveRange() {
+        mList.add(mCell3);
+        mList.removeRange(1, 3);
+        assertEquals(Arrays.asList(mCell0, mCell3), mList);
+        assertEquals(-1, mList.indexOf(mCell1));
+        assertEquals(-1, mList.indexOf(mCell2));
+        assertEquals(1, mList.indexOf(mCell3));
+    }
+
+    @Test
+    @SmallTest
+    public void testRemoveAllKeepsOrder() {
+        mList.add(mCell3);
+        assertTrue(mList.removeAll(Arrays.asList(mCell0, mCell2)));
+        assertEquals(Arrays.asList(mCell1, mCell3), mList);
+        assertEquals(0, mList.indexOf(mCell1));
+        assertEquals(1, mList.indexOf(mCell3));
+        assertFalse(mList.removeAll(Collections.singletonList(mCell0)));
+    }
+
+    @Test
+    @SmallTest
+    public void testDuplicateInstanceReportsFirstPosition() {
+        mList.add(mCell0);
+        assertEquals(0, mList.indexOf(mCell0));
+        mList.remove(0);
+        assertEquals(2, mList.indexOf(mCell0));
+    }
+
+    @Test
+    @SmallTest
+    public void testVersionChangesOnEveryMutation() {
+        int version = mList.getVersion();
+        mList.set(0, mCell0);
+        assertEquals(version, mList.getVersion());
+        mList.set(0, mCell3);
+        assertTrue(mList.getVersion() != version);
+        version = mList.getVersion();
+        mList.add(mCell0);
+        assertTrue(mList.getVersion() != version);
+        version = mList.getVersion();
+        mList.clear();
+        assertTrue(mList.getVersion() != version);
+        assertEquals(-1, mList.indexOf(mCell3));
+    }
+}
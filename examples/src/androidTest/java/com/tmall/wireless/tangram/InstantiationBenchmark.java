@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.widget.TextView;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.structure.card.SingleColumnCard;
+import com.tmall.wireless.tangram.util.Instantiator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Creates cards, cells and views through registered factories, through constructors cached by {@link Instantiator},
+ * and through the reflective lookups done on every creation before.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InstantiationBenchmark extends AndroidTestCase {
+
+    private static final int OBJECT_COUNT = 20000;
+
+    private static final int VIEW_COUNT = 2000;
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private final Instantiator mInstantiator = new Instantiator();
+
+    @Test
+    @LargeTest
+    public void testCardCreation() {
+        mInstantiator.registerFactory(SingleColumnCard.class, new Instantiator.Factory<SingleColumnCard>() {
+            @NonNull
+            @Override
+            public SingleColumnCard newInstance() {
+                return new SingleColumnCard();
+            }
+        });
+        compare("card", OBJECT_COUNT, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return mInstantiator.create(SingleColumnCard.class);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return Instantiator.newInstance(SingleColumnCard.class);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return SingleColumnCard.class.newInstance();
+            }
+        });
+    }
+
+    @Test
+    @LargeTest
+    public void testCellCreation() {
+        mInstantiator.registerFactory(BaseCell.class, new Instantiator.Factory<BaseCell>() {
+            @NonNull
+            @Override
+            public BaseCell newInstance() {
+                return new BaseCell();
+            }
+        });
+        compare("cell", OBJECT_COUNT, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return mInstantiator.create(BaseCell.class);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return Instantiator.newInstance(BaseCell.class);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return BaseCell.class.newInstance();
+            }
+        });
+    }
+
+    @Test
+    @LargeTest
+    public void testViewCreation() {
+        mInstantiator.registerContextFactory(TextView.class, new Instantiator.ContextFactory<TextView>() {
+            @NonNull
+            @Override
+            public TextView newInstance(@NonNull Context context) {
+                return new TextView(context);
+            }
+        });
+        compare("view", VIEW_COUNT, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return mInstantiator.create(TextView.class, context);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return Instantiator.newInstance(TextView.class, context);
+            }
+        }, new Creation() {
+            @Override
+            public Object create() throws Exception {
+                return TextView.class.getConstructor(Context.class).newInstance(context);
+            }
+        });
+    }
+
+    private void compare(@NonNull String name, int count, @NonNull Creation factory, @NonNull Creation cached,
+        @NonNull Creation reflective) {
+        double factoryNanos = nanosPerCreation(count, factory);
+        double cachedNanos = nanosPerCreation(count, cached);
+        double reflectiveNanos = nanosPerCreation(count, reflective);
+        Benchmark.report("instantiation", "%s: factory %.0f ns, cached constructor %.0f ns, reflective lookup %.0f ns",
+            name, factoryNanos, cachedNanos, reflectiveNanos);
+    }
+
+    private static double nanosPerCreation(final int count, @NonNull final Creation creation) {
+        return Benchmark.nanosPerRun(1, 3, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        assertNotNull(creation.create());
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }) / count;
+    }
+
+    private interface Creation {
+        Object create() throws Exception;
+    }
+}
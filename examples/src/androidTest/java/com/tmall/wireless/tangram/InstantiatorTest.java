@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.support.annotation.NonNull;
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import com.tmall.wireless.tangram.util.Instantiator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link Instantiator} factories stay on the instance they are registered to and that the constructor
+ * path fails like {@link Class#newInstance()}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InstantiatorTest extends AndroidTestCase {
+
+    @Test
+    @SmallTest
+    public void testFactoriesArePerInstance() throws Exception {
+        final Item fromFactory = new Item();
+        Instantiator withFactory = new Instantiator();
+        withFactory.registerFactory(Item.class, new Instantiator.Factory<Item>() {
+            @NonNull
+            @Override
+            public Item newInstance() {
+                return fromFactory;
+            }
+        });
+        Instantiator plain = new Instantiator();
+
+        assertSame(fromFactory, withFactory.create(Item.class));
+        Item created = plain.create(Item.class);
+        assertNotNull(created);
+        assertNotSame(fromFactory, created);
+        assertNotSame(fromFactory, Instantiator.newInstance(Item.class));
+    }
+
+    @Test
+    @SmallTest
+    public void testMissingConstructor() throws Exception {
+        try {
+            new Instantiator().create(NoDefaultConstructor.class);
+            fail("expected InstantiationException");
+        } catch (InstantiationException expected) {
+        }
+    }
+
+    @Test
+    @SmallTest
+    public void testConstructorExceptionIsRethrown() throws Exception {
+        try {
+            Instantiator.newInstance(Failing.class);
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            assertEquals("failing", expected.getMessage());
+        }
+    }
+
+    public static class Item {
+    }
+
+    public static class NoDefaultConstructor {
+        public NoDefaultConstructor(int value) {
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("failing");
+        }
+    }
+}
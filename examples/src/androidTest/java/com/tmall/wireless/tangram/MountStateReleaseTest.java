@@ -0,0 +1,161 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.SmallTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link MVHelper#getLiveEntryCount()} stays bounded by the mounted cells still in the adapter, whichever
+ * way the others left it.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MountStateReleaseTest extends AndroidTestCase {
+
+    /**
+     * flare id plus the cell->view, view->cell and id->view entries of a mounted cell
+     */
+    private static final int ENTRIES_PER_CELL = 4;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private TangramEngine mEngine;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    private MVHelper mMVHelper;
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("a", View.class);
+        mEngine = builder.build();
+        mEngine.bindView(new RecyclerView(context));
+        mEngine.setData(newCards(0, 3, 4));
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) mEngine.getGroupBasicAdapter();
+        mMVHelper = mEngine.getService(MVHelper.class);
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testSetDataReleasesReplacedCells() throws JSONException {
+        mountAll();
+        assertEquals(12 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+
+        mEngine.setData(newCards(10, 2, 4));
+        assertEquals(0, mMVHelper.getLiveEntryCount());
+
+        mountAll();
+        assertEquals(8 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testKeptCellsAreNotReleased() {
+        mountAll();
+        List<Card> cards = mAdapter.getGroups();
+        mAdapter.setData(new ArrayList<>(cards.subList(1, cards.size())));
+        assertEquals(8 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+    }
+
+    @Test
+    @SmallTest
+    @UiThreadTest
+    public void testReplaceAndRemoveReleaseCells() throws JSONException {
+        mountAll();
+        Card first = mAdapter.getGroups().get(0);
+        List<BaseCell> cells = mEngine.parseData(newCards(20, 1, 2)).get(0).getCells();
+        mEngine.replace(first, new ArrayList<>(cells));
+        assertEquals(8 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+
+        mountAll();
+        assertEquals(10 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+
+        mEngine.removeBy(mAdapter.getItemByPosition(0));
+        assertEquals(9 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+
+        mEngine.removeBatchBy(mAdapter.getGroups().get(1));
+        assertEquals(5 * ENTRIES_PER_CELL, mMVHelper.getLiveEntryCount());
+    }
+
+    private void mountAll() {
+        for (BaseCell cell : mAdapter.getComponents()) {
+            mMVHelper.mountView(cell, new View(context));
+        }
+    }
+
+    private static JSONArray newCards(int firstCard, int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = firstCard; i < firstCard + cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "a");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+}
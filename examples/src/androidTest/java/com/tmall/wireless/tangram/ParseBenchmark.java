@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.filters.LargeTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.op.ParseGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsStreamOp;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import io.reactivex.Observable;
+import io.reactivex.functions.Consumer;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Parses a page of about 2 MB through the JSONArray path and the streaming path, logging time to first card, total
+ * time, allocated bytes and bytes retained by the parsed cards.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ParseBenchmark extends AndroidTestCase {
+
+    private static final int CARD_COUNT = 200;
+
+    private static final int CELLS_PER_CARD = 40;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    @Test
+    @LargeTest
+    public void testTimeToFirstCard() throws JSONException {
+        TangramEngine engine = newEngine();
+        byte[] page = newPage();
+        parse(engine, page, false);
+        parse(engine, page, true);
+
+        ParseResult dom = parse(engine, page, false);
+        ParseResult stream = parse(engine, page, true);
+        assertEquals(dom.mCards.size(), stream.mCards.size());
+        Benchmark.report("parse", "%d KB page, first card: %.1f ms JSONArray, %.1f ms stream", page.length / 1024,
+            dom.mFirstChunkNanos / 1e6, stream.mFirstChunkNanos / 1e6);
+        Benchmark.report("parse", "%d KB page, all cards: %.1f ms JSONArray, %.1f ms stream", page.length / 1024,
+            dom.mTotalNanos / 1e6, stream.mTotalNanos / 1e6);
+        assertTrue(stream.mFirstChunkNanos < dom.mFirstChunkNanos);
+    }
+
+    @Test
+    @LargeTest
+    public void testMemory() throws JSONException {
+        final TangramEngine engine = newEngine();
+        final byte[] page = newPage();
+
+        long domAllocated = Benchmark.allocationSize(new Runnable() {
+            @Override
+            public void run() {
+                parse(engine, page, false);
+            }
+        });
+        long streamAllocated = Benchmark.allocationSize(new Runnable() {
+            @Override
+            public void run() {
+                parse(engine, page, true);
+            }
+        });
+        long domRetained = retained(engine, page, false);
+        long streamRetained = retained(engine, page, true);
+        Benchmark.report("parse", "%d KB page, allocated: %d KB JSONArray, %d KB stream", page.length / 1024,
+            domAllocated / 1024, streamAllocated / 1024);
+        Benchmark.report("parse", "%d KB page, retained by cards: %d KB JSONArray, %d KB stream", page.length / 1024,
+            domRetained / 1024, streamRetained / 1024);
+    }
+
+    private static long retained(@NonNull TangramEngine engine, @NonNull byte[] page, boolean stream) {
+        long before = Benchmark.usedHeap();
+        ParseResult result = parse(engine, page, stream);
+        long after = Benchmark.usedHeap();
+        assertFalse(result.mCards.isEmpty());
+        return after - before;
+    }
+
+    @NonNull
+    private static ParseResult parse(@NonNull TangramEngine engine, @NonNull byte[] page, boolean stream) {
+        final ParseResult result = new ParseResult();
+        final long start = System.nanoTime();
+        Observable<List<Card>> chunks;
+        if (stream) {
+            InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(page), UTF_8);
+            chunks = Observable.just(new ParseGroupsStreamOp(reader, engine))
+                .compose(engine.getGroupStreamTransformer());
+        } else {
+            try {
+                chunks = Observable.just(new ParseGroupsOp(new JSONArray(new String(page, UTF_8)), engine))
+                    .compose(engine.getGroupChunkTransformer());
+            } catch (JSONException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        chunks.blockingForEach(new Consumer<List<Card>>() {
+            @Override
+            public void accept(List<Card> cards) {
+                if (result.mCards.isEmpty()) {
+                    result.mFirstChunkNanos = System.nanoTime() - start;
+                }
+                result.mCards.addAll(cards);
+            }
+        });
+        result.mTotalNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private TangramEngine newEngine() {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        return builder.build();
+    }
+
+    private static byte[] newPage() throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < CELLS_PER_CARD; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                cell.put("imgUrl", "https://img.example.com/item/" + i + "_" + j + "_750x750.jpg");
+                cell.put("title", "Item " + j + " of card " + i);
+                cell.put("price", "199.00");
+                cell.put("action", "tmall://page/item?id=" + (i * CELLS_PER_CARD + j));
+                JSONObject style = new JSONObject();
+                style.put("margin", new JSONArray().put(4).put(4).put(4).put(4));
+                cell.put("style", style);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards.toString().getBytes(UTF_8);
+    }
+
+    private static final class ParseResult {
+
+        final List<Card> mCards = new ArrayList<>();
+
+        long mFirstChunkNanos;
+
+        long mTotalNanos;
+    }
+}
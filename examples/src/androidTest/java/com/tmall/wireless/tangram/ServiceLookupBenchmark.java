@@ -0,0 +1,217 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.Map;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.LargeTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.BinderViewHolder;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.DataParser;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.dataparser.concrete.PojoAdapterBuilder;
+import com.tmall.wireless.tangram.dataparser.concrete.PojoDataParser;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.support.CardRefreshSupport;
+import com.tmall.wireless.tangram.support.CellSupport;
+import com.tmall.wireless.tangram.support.ExposureSupport;
+import com.tmall.wireless.tangram.support.PageDetectorSupport;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import com.tmall.wireless.vaf.framework.VafContext;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Counts {@link TangramEngine#getService(Class)} calls per bind. The bind path used to make eight lookups per bind,
+ * with {@link BindContext} it reads the engine's snapshot instead.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ServiceLookupBenchmark extends AndroidTestCase {
+
+    private static final int LEGACY_LOOKUPS_PER_BIND = 8;
+
+    private static final int CARD_COUNT = 50;
+
+    private static final int CELLS_PER_CARD = 20;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testLookupsPerBind() throws JSONException {
+        final CountingEngine engine = newEngine();
+        final GroupBasicAdapter<Card, BaseCell> adapter =
+            (GroupBasicAdapter<Card, BaseCell>) engine.getGroupBasicAdapter();
+        final int itemCount = adapter.getItemCount();
+        final BinderViewHolder<BaseCell, ? extends View> holder =
+            adapter.onCreateViewHolder(new RecyclerView(context), adapter.getItemViewType(0));
+        Runnable bindAll = new Runnable() {
+            @Override
+            public void run() {
+                for (int position = 0; position < itemCount; position++) {
+                    adapter.onBindViewHolder(holder, position);
+                    adapter.onViewRecycled(holder);
+                }
+            }
+        };
+
+        bindAll.run();
+        engine.mLookups = 0;
+        double bindNanos = Benchmark.nanosPerRun(0, 3, bindAll) / itemCount;
+        double lookupsPerBind = engine.mLookups / (3.0 * itemCount);
+
+        Benchmark.report("services", "%d cells, %.2f lookups per bind (%d before), %.0f ns per bind", itemCount,
+            lookupsPerBind, LEGACY_LOOKUPS_PER_BIND, bindNanos);
+        assertTrue(lookupsPerBind < LEGACY_LOOKUPS_PER_BIND);
+    }
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testSnapshotAgainstLookups() throws JSONException {
+        final CountingEngine engine = newEngine();
+        final int count = 100000;
+
+        double snapshotNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    BindContext bindContext = BindContext.of(engine);
+                    bindContext.getCellSupport();
+                    bindContext.getVafContext();
+                    bindContext.getPageDetectorSupport();
+                    bindContext.getExposureSupport();
+                    bindContext.getImageSetter();
+                }
+            }
+        }) / count;
+        double lookupNanos = Benchmark.nanosPerRun(1, 5, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    engine.getService(CellSupport.class);
+                    engine.getService(CellSupport.class);
+                    engine.getService(CellSupport.class);
+                    engine.getService(VafContext.class);
+                    engine.getService(PageDetectorSupport.class);
+                    engine.getService(ExposureSupport.class);
+                    engine.getService(IInnerImageSetter.class);
+                    engine.getService(IInnerImageSetter.class);
+                }
+            }
+        }) / count;
+        Benchmark.report("services", "services of one bind: %.0f ns from the snapshot, %.0f ns by lookups",
+            snapshotNanos, lookupNanos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CountingEngine newEngine() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("test", View.class);
+        TangramEngine defaults = builder.build();
+
+        CountingEngine engine = new CountingEngine(context);
+        for (Map.Entry<Class<?>, Object> entry : defaults.getmServices().entrySet()) {
+            Class<?> type = entry.getKey();
+            if (type != DataParser.class && type != CardRefreshSupport.class) {
+                engine.register((Class<Object>) type, entry.getValue());
+            }
+        }
+        engine.register(CellSupport.class, new CellSupport() {
+            @Override
+            public boolean isValid(BaseCell cell) {
+                return true;
+            }
+        });
+        engine.register(ExposureSupport.class, new ExposureSupport() {
+            @Override
+            public void onExposure(@NonNull Card card, int offset, int position) {
+            }
+        });
+        engine.getService(MVHelper.class).resolver().setServiceManager(engine);
+        engine.bindView(new RecyclerView(context));
+        engine.setData(newCards(CARD_COUNT, CELLS_PER_CARD));
+        engine.mLookups = 0;
+        return engine;
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", "test");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+
+    private static final class CountingEngine extends TangramEngine {
+
+        int mLookups;
+
+        CountingEngine(@NonNull Context context) {
+            super(context, new PojoDataParser(), new PojoAdapterBuilder());
+        }
+
+        @Override
+        public <S> S getService(@NonNull Class<S> type) {
+            mLookups++;
+            return super.getService(type);
+        }
+    }
+}
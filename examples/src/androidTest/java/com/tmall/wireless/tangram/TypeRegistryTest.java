@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import com.tmall.wireless.tangram.core.resolver.TypeRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks {@link TypeRegistry#numericTypeOf(Object, int)} against the {@link Integer#parseInt(String)} it replaces,
+ * and that {@link TypeRegistry#find(String)} never interns a type.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TypeRegistryTest extends AndroidTestCase {
+
+    private static final String[] TYPES = {
+        "0", "1", "10", "-1", "+7", "007", "2147483647", "-2147483648", "2147483648", "-2147483649",
+        "99999999999", "", "-", "+", "1a", "a1", " 1", "1 ", "1.0", "container-oneColumn", "--1", "+-1"
+    };
+
+    @Test
+    @SmallTest
+    public void testNumericTypeMatchesParseInt() {
+        for (String type : TYPES) {
+            assertEquals(type, parseInt(type, -100), TypeRegistry.numericTypeOf(type, -100));
+        }
+    }
+
+    @Test
+    @SmallTest
+    public void testNumericTypeOfOtherValues() {
+        assertEquals(12, TypeRegistry.numericTypeOf(12, -1));
+        assertEquals(3, TypeRegistry.numericTypeOf(3.7, -1));
+        assertEquals(-1, TypeRegistry.numericTypeOf(null, -1));
+        assertEquals(-1, TypeRegistry.numericTypeOf(Boolean.TRUE, -1));
+    }
+
+    @Test
+    @SmallTest
+    public void testFindDoesNotIntern() {
+        String type = "type-registry-test-" + System.nanoTime();
+        assertEquals(TypeRegistry.NO_ID, TypeRegistry.find(type));
+        assertEquals(TypeRegistry.NO_ID, TypeRegistry.find(type));
+        assertEquals(TypeRegistry.NO_ID, TypeRegistry.find(null));
+
+        int id = TypeRegistry.idOf(type);
+        assertTrue(id >= 0);
+        assertEquals(id, TypeRegistry.idOf(type));
+        assertEquals(id, TypeRegistry.find(type));
+        assertTrue(TypeRegistry.idOf(type + "-other") != id);
+    }
+
+    private static int parseInt(String type, int defaultValue) {
+        try {
+            return Integer.parseInt(type);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.annotation.UiThreadTest;
+import android.support.test.filters.LargeTest;
+import android.support.test.rule.UiThreadTestRule;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.view.View;
+import android.widget.ImageView;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Counts allocations of {@link GroupBasicAdapter#getItemViewType(int)} while scrolling over a feed, against the
+ * former lookup that concatenated the type and template version into a map key on every call.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ViewTypeBenchmark extends AndroidTestCase {
+
+    private static final int CELL_COUNT = 2000;
+
+    @Rule
+    public final UiThreadTestRule uiThread = new UiThreadTestRule();
+
+    private final Context context = InstrumentationRegistry.getTargetContext();
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    @Before
+    public void setUp() throws JSONException {
+        TangramBuilder.init(context, new IInnerImageSetter() {
+            @Override
+            public <IMAGE extends ImageView> void doLoadImageUrl(@NonNull IMAGE view, @Nullable String url) {
+            }
+        }, ImageView.class);
+        TangramBuilder.InnerBuilder builder = TangramBuilder.newInnerBuilder(context);
+        builder.registerCell("a", View.class);
+        builder.registerCell("b", ImageView.class);
+        TangramEngine engine = builder.build();
+        engine.bindView(new RecyclerView(context));
+        engine.setData(newCards(CELL_COUNT / 20, 20));
+        mAdapter = (GroupBasicAdapter<Card, BaseCell>) engine.getGroupBasicAdapter();
+    }
+
+    @Test
+    @LargeTest
+    @UiThreadTest
+    public void testGetItemViewTypeDoesNotAllocate() {
+        final int itemCount = mAdapter.getItemCount();
+        final Runnable scroll = new Runnable() {
+            @Override
+            public void run() {
+                for (int position = 0; position < itemCount; position++) {
+                    mAdapter.getItemViewType(position);
+                }
+            }
+        };
+        // resolve and cache every type first
+        scroll.run();
+        int allocations = Benchmark.allocationCount(scroll);
+        double nanos = Benchmark.nanosPerRun(2, 10, scroll) / itemCount;
+
+        final LegacyTypeResolver legacy = new LegacyTypeResolver();
+        final Runnable legacyScroll = new Runnable() {
+            @Override
+            public void run() {
+                for (int position = 0; position < itemCount; position++) {
+                    legacy.getItemType(mAdapter.getItemByPosition(position), 0);
+                }
+            }
+        };
+        legacyScroll.run();
+        int legacyAllocations = Benchmark.allocationCount(legacyScroll);
+        double legacyNanos = Benchmark.nanosPerRun(2, 10, legacyScroll) / itemCount;
+
+        Benchmark.report("viewType", "%d calls: %d allocations, %.0f ns per call; string keys: %d allocations, "
+            + "%.0f ns per call", itemCount, allocations, nanos, legacyAllocations, legacyNanos);
+        assertEquals(0, allocations);
+    }
+
+    /**
+     * The lookup getItemType did before view types were cached on cells.
+     */
+    private static final class LegacyTypeResolver {
+
+        private final ConcurrentHashMap<String, Integer> mStrKeys = new ConcurrentHashMap<>();
+
+        private final AtomicInteger mTypeId = new AtomicInteger(0);
+
+        int getItemType(@NonNull BaseCell item, int version) {
+            String stringType = item.stringType + version;
+            if (!mStrKeys.containsKey(stringType)) {
+                mStrKeys.put(stringType, mTypeId.getAndIncrement());
+            }
+            return mStrKeys.get(stringType);
+        }
+    }
+
+    private static JSONArray newCards(int cardCount, int cellCount) throws JSONException {
+        JSONArray cards = new JSONArray();
+        for (int i = 0; i < cardCount; i++) {
+            JSONArray items = new JSONArray();
+            for (int j = 0; j < cellCount; j++) {
+                JSONObject cell = new JSONObject();
+                cell.put("type", j % 2 == 0 ? "a" : "b");
+                cell.put("id", "cell" + i + "_" + j);
+                items.put(cell);
+            }
+            JSONObject card = new JSONObject();
+            card.put("type", TangramBuilder.TYPE_CONTAINER_1C_FLOW);
+            card.put("id", "card" + i);
+            card.put("items", items);
+            cards.put(card);
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.dataparser.concrete;
+
+import java.io.StringReader;
+
+import android.support.test.filters.SmallTest;
+import android.support.test.runner.AndroidJUnit4;
+import android.test.AndroidTestCase;
+import android.util.JsonReader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that {@link StreamJsonReader} produces the same values and value types as {@link JSONTokener}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StreamJsonReaderTest extends AndroidTestCase {
+
+    private static final String[] DOCUMENTS = {
+        "[]",
+        "{}",
+        "[{\"type\":\"container-oneColumn\",\"items\":[{\"type\":1,\"id\":\"a\"},{\"type\":\"2\"}]}]",
+        "{\"s\":\"text \\u00e9 \\\"quoted\\\"\",\"t\":true,\"f\":false,\"n\":null,\"nested\":{\"a\":[1,[2,[3]]]}}",
+        "[0,-1,2147483647,-2147483648,2147483648,-2147483649,123456789012345678,1234567890123456789,"
+            + "99999999999999999999,1.5,-0.25,1e3,2E-2,0.0]"
+    };
+
+    @Test
+    @SmallTest
+    public void testMatchesJSONTokener() throws Exception {
+        for (String document : DOCUMENTS) {
+            Object expected = new JSONTokener(document).nextValue();
+            Object actual = StreamJsonReader.readValue(new JsonReader(new StringReader(document)));
+            assertSameValue(document, expected, actual);
+        }
+    }
+
+    @Test
+    @SmallTest
+    public void testReadsArrayElementsOneByOne() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("[{\"id\":\"a\"},{\"id\":\"b\"},3]"));
+        reader.beginArray();
+        assertEquals("a", ((JSONObject) StreamJsonReader.readValue(reader)).getString("id"));
+        assertEquals("b", ((JSONObject) StreamJsonReader.readValue(reader)).getString("id"));
+        assertEquals(3, StreamJsonReader.readValue(reader));
+        assertFalse(reader.hasNext());
+        reader.endArray();
+    }
+
+    private static void assertSameValue(String document, Object expected, Object actual) throws Exception {
+        if (expected instanceof JSONObject) {
+            assertTrue(document, actual instanceof JSONObject);
+            JSONObject expectedObject = (JSONObject) expected;
+            JSONObject actualObject = (JSONObject) actual;
+            assertEquals(document, expectedObject.length(), actualObject.length());
+            JSONArray names = expectedObject.names();
+            for (int i = 0; names != null && i < names.length(); i++) {
+                String name = names.getString(i);
+                assertTrue(document, actualObject.has(name));
+                assertSameValue(document, expectedObject.get(name), actualObject.get(name));
+            }
+        } else if (expected instanceof JSONArray) {
+            assertTrue(document, actual instanceof JSONArray);
+            JSONArray expectedArray = (JSONArray) expected;
+            JSONArray actualArray = (JSONArray) actual;
+            assertEquals(document, expectedArray.length(), actualArray.length());
+            for (int i = 0; i < expectedArray.length(); i++) {
+                assertSameValue(document, expectedArray.get(i), actualArray.get(i));
+            }
+        } else {
+            assertEquals(document, expected, actual);
+            assertEquals(document + " " + expected, expected.getClass(), actual.getClass());
+        }
+    }
+}
@@ -51,6 +51,7 @@ import com.tmall.wireless.tangram.dataparser.concrete.CardResolver;
 import com.tmall.wireless.tangram.eventbus.BusSupport;
 import com.tmall.wireless.tangram.op.ParseComponentsOp;
 import com.tmall.wireless.tangram.op.ParseGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsStreamOp;
 import com.tmall.wireless.tangram.op.ParseSingleComponentOp;
 import com.tmall.wireless.tangram.op.ParseSingleGroupOp;
 import com.tmall.wireless.tangram.structure.BaseCell;
@@ -61,6 +62,7 @@ import com.tmall.wireless.tangram.support.InternalErrorSupport;
 import com.tmall.wireless.tangram.support.SimpleClickSupport;
 import com.tmall.wireless.tangram.support.TimerSupport;
 import com.tmall.wireless.tangram.util.ImageUtils;
+import com.tmall.wireless.tangram.util.LogUtils;
 import com.tmall.wireless.tangram.util.Preconditions;
 import com.tmall.wireless.tangram.util.Predicate;
 import com.tmall.wireless.vaf.framework.VafContext;
@@ -69,12 +71,14 @@ import com.tmall.wireless.vaf.framework.ViewManager;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableSource;
 import io.reactivex.ObservableTransformer;
 import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.schedulers.Schedulers;
@@ -88,9 +92,15 @@ import io.reactivex.schedulers.Schedulers;
  */
 public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
 
+    private static final String TAG = "BaseTangramEngine";
 
     private ConcurrentHashMap<Class<?>, Object> mServices = new ConcurrentHashMap<>();
 
+    /**
+     * snapshot of services used on bind, dropped by {@link #register(Class, Object)}
+     */
+    private volatile BindContext mBindContext;
+
     @NonNull
     private final Context mContext;
 
@@ -108,6 +118,8 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
 
     private boolean isSupportRx;
 
+    private Disposable mAsyncDataDisposable;
+
     public BaseTangramEngine(@NonNull final Context context,
         @NonNull final DataParser<O, T, C, L> dataParser,
         @NonNull final IAdapterBuilder<C, L> adapterBuilder) {
@@ -293,6 +305,7 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
      * Call this when your activity is ready to destory to clear inner resource.
      */
     public void destroy() {
+        cancelAsyncData();
         if (mContentView != null) {
             if (mGroupBasicAdapter != null) {
                 mGroupBasicAdapter.destroy();
@@ -378,12 +391,86 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
      */
     public void setData(@Nullable List<C> data) {
         Preconditions.checkState(mGroupBasicAdapter != null, "Must call bindView() first");
+        cancelAsyncData();
         MVHelper mvHelper = (MVHelper) mServices.get(MVHelper.class);
         if (mvHelper != null)
             mvHelper.reset();
         this.mGroupBasicAdapter.setData(data);
     }
 
+    /**
+     * Parse original data, flatten cards and diff them with current cells on a background thread, then apply the
+     * change set on the main thread in one step. A later setData call drops the pending result.
+     * @param data Original data with type {@link T}.
+     */
+    public void setDataAsync(@Nullable final T data) {
+        Preconditions.checkState(mGroupBasicAdapter != null, "Must call bindView() first");
+        cancelAsyncData();
+        final List<L> oldData = mGroupBasicAdapter.getComponents();
+        prepareDataAsync(new Callable<GroupBasicAdapter.PreparedData<C, L>>() {
+            @Override
+            public GroupBasicAdapter.PreparedData<C, L> call() throws Exception {
+                return mGroupBasicAdapter.prepareData(mDataParser.parseGroup(data, BaseTangramEngine.this), oldData);
+            }
+        });
+    }
+
+    /**
+     * Same as {@link #setDataAsync(Object)} for parsed data, cards must not be modified until they are applied.
+     * @param data Parsed data list.
+     */
+    public void setDataAsync(@Nullable final List<C> data) {
+        Preconditions.checkState(mGroupBasicAdapter != null, "Must call bindView() first");
+        cancelAsyncData();
+        final List<L> oldData = mGroupBasicAdapter.getComponents();
+        prepareDataAsync(new Callable<GroupBasicAdapter.PreparedData<C, L>>() {
+            @Override
+            public GroupBasicAdapter.PreparedData<C, L> call() throws Exception {
+                return mGroupBasicAdapter.prepareData(data, oldData);
+            }
+        });
+    }
+
+    private void prepareDataAsync(Callable<GroupBasicAdapter.PreparedData<C, L>> task) {
+        mAsyncDataDisposable = Observable.fromCallable(task)
+            .subscribeOn(Schedulers.computation())
+            .observeOn(AndroidSchedulers.mainThread())
+            .subscribe(new Consumer<GroupBasicAdapter.PreparedData<C, L>>() {
+                @Override
+                public void accept(GroupBasicAdapter.PreparedData<C, L> prepared) throws Exception {
+                    mAsyncDataDisposable = null;
+                    applyPreparedData(prepared);
+                }
+            }, new Consumer<Throwable>() {
+                @Override
+                public void accept(Throwable throwable) throws Exception {
+                    mAsyncDataDisposable = null;
+                    LogUtils.e(TAG, "Failed to prepare data", throwable);
+                }
+            });
+    }
+
+    /**
+     * Apply the change set computed by setDataAsync, called on the main thread.
+     * @param prepared Pre-computed cards, cells and diff result.
+     */
+    protected void applyPreparedData(@NonNull GroupBasicAdapter.PreparedData<C, L> prepared) {
+        MVHelper mvHelper = (MVHelper) mServices.get(MVHelper.class);
+        if (mvHelper != null)
+            mvHelper.reset();
+        this.mGroupBasicAdapter.applyPreparedData(prepared);
+    }
+
+    /**
+     * Drop the pending result of setDataAsync if any.
+     */
+    protected void cancelAsyncData() {
+        if (mAsyncDataDisposable != null) {
+            mAsyncDataDisposable.dispose();
+            mAsyncDataDisposable = null;
+        }
+    }
+
     /**
      * @return An ObservableTransformer help to transformer original data to parsed data.
      * @since 3.0.0
@@ -612,6 +699,23 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
         return mDataParser.getGroupTransformer();
     }
 
+    /**
+     * @return A transformer emits parsed groups in ordered chunks, see {@link DataParser#getGroupChunkTransformer()}.
+     */
+    @NonNull
+    public ObservableTransformer<ParseGroupsOp, List<C>> getGroupChunkTransformer() {
+        return mDataParser.getGroupChunkTransformer();
+    }
+
+    /**
+     * @return A transformer reads groups from a stream in ordered chunks, see
+     * {@link DataParser#getGroupStreamTransformer()}.
+     */
+    @NonNull
+    public ObservableTransformer<ParseGroupsStreamOp, List<C>> getGroupStreamTransformer() {
+        return mDataParser.getGroupStreamTransformer();
+    }
+
     /**
      *
      * @return
@@ -649,6 +753,20 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
     public <S> void register(@NonNull Class<S> type, @NonNull S service) {
         Preconditions.checkArgument(type != null, "type is null");
         mServices.put(type, type.cast(service));
+        mBindContext = null;
+    }
+
+    /**
+     * @return services used on bind, resolved once until the next {@link #register(Class, Object)}
+     */
+    @NonNull
+    public BindContext getBindContext() {
+        BindContext bindContext = mBindContext;
+        if (bindContext == null) {
+            bindContext = new BindContext(this);
+            mBindContext = bindContext;
+        }
+        return bindContext;
     }
 
     /**
@@ -701,93 +819,91 @@ public class BaseTangramEngine<O, T, C, L> implements ServiceManager {
         return rs;
     }
 
+    /**
+     * Draw children in order of {@link LayoutParams#zIndex} before API 21. The order is rebuilt only when children
+     * or their zIndex changed, which is checked once per pass at the first child.
+     */
     private class DrawingOrderCallback implements ChildDrawingOrderCallback {
 
-        int[] viewIndex = new int[32];
+        View[] children = new View[32];
 
         int[] zIndex = new int[32];
 
-        private int[] doubleIndex(int[] index) {
-            if (index == null) {
-                return null;
+        int[] drawingOrder = new int[32];
+
+        /**
+         * zIndex in high 32 bits and child index in low 32 bits, so sorting them is stable
+         */
+        long[] sortKeys = new long[32];
+
+        int count = -1;
+
+        /**
+         * false if all zIndex are equal and children are drawn in natural order
+         */
+        boolean reordered;
+
+        private void ensureCapacity(int childCount) {
+            if (children.length < childCount) {
+                int capacity = Math.max(childCount, children.length * 2);
+                children = Arrays.copyOf(children, capacity);
+                zIndex = Arrays.copyOf(zIndex, capacity);
+                drawingOrder = new int[capacity];
+                sortKeys = new long[capacity];
             }
-            int[] newIndex = new int[index.length * 2];
-            System.arraycopy(index, 0, newIndex, 0, index.length);
-            return newIndex;
         }
 
-        private void clearIndex(int[] index) {
-            if (index == null) {
+        private void updateOrder(int childCount) {
+            ensureCapacity(childCount);
+            boolean changed = childCount != count;
+            for (int j = 0; j < childCount; j++) {
+                View child = mContentView.getChildAt(j);
+                int z = 0;
+                if (child != null) {
+                    VirtualLayoutManager.LayoutParams layoutParams = (LayoutParams) child.getLayoutParams();
+                    z = layoutParams.zIndex;
+                }
+                if (children[j] != child || zIndex[j] != z) {
+                    children[j] = child;
+                    zIndex[j] = z;
+                    changed = true;
+                }
+            }
+            if (!changed) {
                 return;
             }
-            Arrays.fill(index, 0);
-        }
-
-        int partition(int[] unsortedZIndex, int[] unsortedViewIndex, int low, int high) {
-            int pivot = unsortedZIndex[low];
-            int viewPivot = unsortedViewIndex[low];
-            while (low < high) {
-                while (low < high && unsortedZIndex[high] > pivot) high--;
-                unsortedZIndex[low] = unsortedZIndex[high];
-                unsortedViewIndex[low] = unsortedViewIndex[high];
-                while (low < high && unsortedZIndex[low] <= pivot) low++;
-                unsortedZIndex[high] = unsortedZIndex[low];
-                unsortedViewIndex[high] = unsortedViewIndex[high];
+            for (int j = childCount; j < count; j++) {
+                children[j] = null;
             }
-            unsortedZIndex[low] = pivot;
-            unsortedViewIndex[low] = viewPivot;
-            return low;
-        }
+            count = childCount;
 
-        void quickSort(int[] unsortedZIndex, int[] unsortedViewIndex, int low, int high){
-            int loc = 0;
-            if (low < high) {
-                loc = partition(unsortedZIndex, unsortedViewIndex, low, high);
-                quickSort(unsortedZIndex, unsortedViewIndex, low, loc - 1);
-                quickSort(unsortedZIndex, unsortedViewIndex, loc + 1, high);
+            reordered = false;
+            for (int j = 1; j < childCount; j++) {
+                if (zIndex[j] != zIndex[0]) {
+                    reordered = true;
+                    break;
+                }
             }
-        }
-
-        void bubbleSort(int[] unsortedZIndex, int[] unsortedViewIndex, int length) {
-            for (int i = 0; i < length - 1; i++) {
-                for (int j = length - 1; j > i; j--) {
-                    if (unsortedZIndex[j] < unsortedZIndex[j - 1]) {
-                        int temp = unsortedZIndex[j];
-                        unsortedZIndex[j] = unsortedZIndex[j - 1];
-                        unsortedZIndex[j - 1] = temp;
-
-                        temp = unsortedViewIndex[j];
-                        unsortedViewIndex[j] = unsortedViewIndex[j - 1];
-                        unsortedViewIndex[j - 1] = temp;
-                    }
+            if (reordered) {
+                for (int j = 0; j < childCount; j++) {
+                    sortKeys[j] = ((long) zIndex[j] << 32) | j;
+                }
+                Arrays.sort(sortKeys, 0, childCount);
+                for (int j = 0; j < childCount; j++) {
+                    drawingOrder[j] = (int) sortKeys[j];
                 }
             }
         }
 
         @Override
         public int onGetChildDrawingOrder(int childCount, int i) {
-            if (zIndex.length < childCount) {
-                zIndex = doubleIndex(zIndex);
-                viewIndex = doubleIndex(viewIndex);
+            if (mContentView == null) {
+                return i;
             }
-            // check all current zIndex
-            for (int j = 0; j < childCount; j++) {
-                View child = mContentView.getChildAt(j);
-                if (child != null) {
-                    VirtualLayoutManager.LayoutParams layoutParams = (LayoutParams)child.getLayoutParams();
-                    zIndex[j] = layoutParams.zIndex;
-                } else {
-                    zIndex[j] = 0;
-                }
-                viewIndex[j] = j;
+            if (i == 0 || childCount != count) {
+                updateOrder(childCount);
             }
-            // reorder drawing by zIndex
-            bubbleSort(zIndex, viewIndex, childCount);
-
-            int result = viewIndex[i];
-            clearIndex(zIndex);
-            clearIndex(viewIndex);
-            return  result;
+            return reordered ? drawingOrder[i] : i;
         }
     }
 
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.tmall.wireless.tangram.core.service.ServiceManager;
+import com.tmall.wireless.tangram.support.CellSupport;
+import com.tmall.wireless.tangram.support.ExposureSupport;
+import com.tmall.wireless.tangram.support.ExposureTracker;
+import com.tmall.wireless.tangram.support.PageDetectorSupport;
+import com.tmall.wireless.tangram.util.IInnerImageSetter;
+import com.tmall.wireless.vaf.framework.VafContext;
+
+/**
+ * Services used on every bind, resolved once so binding holds direct references instead of looking them up. An
+ * engine keeps one snapshot and drops it when a service is registered, see {@link #of(ServiceManager)}.
+ */
+public final class BindContext {
+
+    @Nullable
+    private final CellSupport mCellSupport;
+
+    @Nullable
+    private final VafContext mVafContext;
+
+    @Nullable
+    private final ExposureSupport mExposureSupport;
+
+    @Nullable
+    private final ExposureTracker mExposureTracker;
+
+    @Nullable
+    private final PageDetectorSupport mPageDetectorSupport;
+
+    @Nullable
+    private final IInnerImageSetter mImageSetter;
+
+    BindContext(@NonNull ServiceManager serviceManager) {
+        mCellSupport = serviceManager.getService(CellSupport.class);
+        mVafContext = serviceManager.getService(VafContext.class);
+        mExposureSupport = serviceManager.getService(ExposureSupport.class);
+        mExposureTracker = serviceManager.getService(ExposureTracker.class);
+        mPageDetectorSupport = serviceManager.getService(PageDetectorSupport.class);
+        mImageSetter = serviceManager.getService(IInnerImageSetter.class);
+    }
+
+    /**
+     * @param serviceManager service manager of a cell or card
+     * @return the engine's cached snapshot, or a new one for other service managers
+     */
+    @NonNull
+    public static BindContext of(@NonNull ServiceManager serviceManager) {
+        if (serviceManager instanceof BaseTangramEngine) {
+            return ((BaseTangramEngine) serviceManager).getBindContext();
+        }
+        return new BindContext(serviceManager);
+    }
+
+    @Nullable
+    public CellSupport getCellSupport() {
+        return mCellSupport;
+    }
+
+    @Nullable
+    public VafContext getVafContext() {
+        return mVafContext;
+    }
+
+    @Nullable
+    public ExposureSupport getExposureSupport() {
+        return mExposureSupport;
+    }
+
+    @Nullable
+    public ExposureTracker getExposureTracker() {
+        return mExposureTracker;
+    }
+
+    @Nullable
+    public PageDetectorSupport getPageDetectorSupport() {
+        return mPageDetectorSupport;
+    }
+
+    @Nullable
+    public IInnerImageSetter getImageSetter() {
+        return mImageSetter;
+    }
+}
@@ -35,6 +35,7 @@ import com.tmall.wireless.tangram.dataparser.concrete.CardResolver;
 import com.tmall.wireless.tangram.structure.BaseCell;
 import com.tmall.wireless.tangram.structure.card.VVCard;
 import com.tmall.wireless.tangram.structure.viewcreator.ViewHolderCreator;
+import com.tmall.wireless.tangram.util.Instantiator;
 
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -51,8 +52,18 @@ public class DefaultResolverRegistry {
 
     MVHelper mMVHelper;
 
+    /**
+     * factories registered with this registry, they apply to the engine built from it only
+     */
+    final Instantiator mInstantiator = new Instantiator();
+
+    public DefaultResolverRegistry() {
+        mDefaultCardResolver.setInstantiator(mInstantiator);
+    }
+
     public void setMVHelper(MVHelper mMvHelper) {
         this.mMVHelper = mMvHelper;
+        mMvHelper.resolver().setInstantiator(mInstantiator);
     }
 
     public MVHelper getMVHelper() {
@@ -108,6 +119,46 @@ public class DefaultResolverRegistry {
         mDefaultCardResolver.register(type, cardClz);
     }
 
+    /**
+     * register cell with factories used instead of reflective construction of its model and view
+     * @param type
+     * @param cellClz
+     * @param cellFactory
+     * @param viewClz
+     * @param viewFactory
+     */
+    public <C extends BaseCell, V extends View> void registerCell(String type, @NonNull Class<C> cellClz,
+        @NonNull Instantiator.Factory<C> cellFactory, @NonNull Class<V> viewClz,
+        @NonNull Instantiator.ContextFactory<V> viewFactory) {
+        mInstantiator.registerFactory(cellClz, cellFactory);
+        mInstantiator.registerContextFactory(viewClz, viewFactory);
+        registerCell(type, cellClz, viewClz);
+    }
+
+    /**
+     * register cell with custom view class and a factory used instead of its reflective construction
+     * @param type
+     * @param viewClz
+     * @param viewFactory
+     */
+    public <V extends View> void registerCell(String type, @NonNull Class<V> viewClz,
+        @NonNull Instantiator.ContextFactory<V> viewFactory) {
+        mInstantiator.registerContextFactory(viewClz, viewFactory);
+        registerCell(type, viewClz);
+    }
+
+    /**
+     * register card with a factory used instead of reflective construction
+     * @param type
+     * @param cardClz
+     * @param cardFactory
+     */
+    public <C extends Card> void registerCard(String type, @NonNull Class<C> cardClz,
+        @NonNull Instantiator.Factory<C> cardFactory) {
+        mInstantiator.registerFactory(cardClz, cardFactory);
+        registerCard(type, cardClz);
+    }
+
     /**
      * register item render by virtual view* @param type
      * */
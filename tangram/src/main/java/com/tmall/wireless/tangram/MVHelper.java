@@ -24,28 +24,30 @@
 
 package com.tmall.wireless.tangram;
 
-import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.alibaba.android.vlayout.VirtualLayoutManager;
 
 import android.os.Build.VERSION;
-import android.text.TextUtils;
 import android.view.View;
 import android.view.ViewGroup;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.structure.CellBindingPlan;
 import com.tmall.wireless.tangram.structure.CellRender;
+import com.tmall.wireless.tangram.structure.CellViewBinder;
 import com.tmall.wireless.tangram.structure.view.ITangramViewLifeCycle;
+import com.tmall.wireless.tangram.structure.view.SimpleEmptyView;
 import com.tmall.wireless.tangram.support.CellSupport;
 import com.tmall.wireless.tangram.support.ExposureSupport;
+import com.tmall.wireless.tangram.support.ExposureTracker;
 import com.tmall.wireless.tangram.util.BDE;
+import com.tmall.wireless.tangram.util.LogUtils;
 import com.tmall.wireless.vaf.framework.VafContext;
 import com.tmall.wireless.vaf.virtualview.core.IContainer;
 import com.tmall.wireless.vaf.virtualview.core.ViewBase;
 import com.tmall.wireless.vaf.virtualview.event.EventData;
 import com.tmall.wireless.vaf.virtualview.event.EventManager;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
 import static com.tmall.wireless.tangram.dataparser.concrete.Style.MARGIN_BOTTOM_INDEX;
@@ -59,19 +61,18 @@ import static com.tmall.wireless.tangram.dataparser.concrete.Style.MARGIN_TOP_IN
 public class MVHelper {
     private static final String TAG = "Tangram-MVHelper";
 
+    private static final String GENERATED_BINDER_SUFFIX = "_CellViewBinder";
+
     private MVResolver mvResolver;
 
     private VafContext mVafContext;
 
-    private ConcurrentHashMap<BaseCell, ConcurrentHashMap<Method, Object>> methodMap = new ConcurrentHashMap<>(128);
-    private ConcurrentHashMap<Class, Method[]> methodCacheMap = new ConcurrentHashMap<>(128);
-    private ConcurrentHashMap<BaseCell, Method> postBindMap = new ConcurrentHashMap<>(128);
-    private ConcurrentHashMap<BaseCell, Method> postUnBindMap = new ConcurrentHashMap<>(128);
-    private ConcurrentHashMap<BaseCell, Method> cellInitedMap = new ConcurrentHashMap<>(128);
+    private ConcurrentHashMap<Class, CellViewBinder> viewBinderMap = new ConcurrentHashMap<>(64);
     private ConcurrentHashMap<BaseCell, String> cellFlareIdMap = new ConcurrentHashMap<>(128);
 
     public MVHelper(MVResolver mvResolver) {
         this.mvResolver = mvResolver;
+        registerViewBinder(SimpleEmptyView.class, new SimpleEmptyView.ViewBinder());
     }
 
     public MVResolver resolver() {
@@ -86,6 +87,17 @@ public class MVHelper {
         mVafContext = vafContext;
     }
 
+    /**
+     * Register a direct-call binder for a view class, which replaces the {@link CellRender} methods lookup by
+     * reflection.
+     *
+     * @param viewClz view class
+     * @param binder  binder of the view class
+     */
+    public <V extends View> void registerViewBinder(Class<V> viewClz, CellViewBinder<V> binder) {
+        viewBinderMap.put(viewClz, binder);
+    }
+
     public void parseCell(BaseCell cell, JSONObject json) {
         mvResolver.parseCell(this, cell, json);
     }
@@ -94,14 +106,28 @@ public class MVHelper {
      * FIXME sholud be called after original component's postUnBind method excuted
      */
     public void reset() {
-        methodMap.clear();
-        postBindMap.clear();
-        postUnBindMap.clear();
-        cellInitedMap.clear();
         cellFlareIdMap.clear();
         mvResolver.reset();
     }
 
+    /**
+     * Release the per-cell entries held by this helper and its resolver, called when a cell is removed.
+     *
+     * @param cell the removed cell
+     */
+    public void release(BaseCell cell) {
+        mvResolver.unregister(cellFlareIdMap.remove(cell), cell);
+    }
+
+    /**
+     * Debug use, count of per-cell entries held by this helper and its resolver, see {@link MVResolver#getLiveEntryCount()}.
+     *
+     * @return count of live entries
+     */
+    public int getLiveEntryCount() {
+        return cellFlareIdMap.size() + mvResolver.getLiveEntryCount();
+    }
+
     public boolean isValid(BaseCell cell, ServiceManager serviceManager) {
         if (serviceManager != null) {
             CellSupport cellSupport = serviceManager.getService(CellSupport.class);
@@ -119,7 +145,7 @@ public class MVHelper {
                 if (cell.serviceManager.supportRx()) {
                     cell.emitNext(BDE.BIND);
                 }
-                CellSupport cellSupport = cell.serviceManager.getService(CellSupport.class);
+                CellSupport cellSupport = BindContext.of(cell.serviceManager).getCellSupport();
                 if (cellSupport != null) {
                     cellSupport.bindView(cell, view);
                 }
@@ -128,23 +154,22 @@ public class MVHelper {
                 ViewBase vb = ((IContainer)view).getVirtualView();
                 vb.setVData(cell.extras);
                 if (vb.supportExposure()) {
-                    VafContext context = cell.serviceManager.getService(VafContext.class);
+                    VafContext context = BindContext.of(cell.serviceManager).getVafContext();
                     context.getEventManager().emitEvent(
                         EventManager.TYPE_Exposure, EventData.obtainData(context, vb));
                 }
                 renderStyle(cell, view);
             } else {
-                loadMethod(cell, view);
                 initView(cell, view);
                 renderView(cell, view);
                 renderStyle(cell, view);
             }
-            if (mvResolver.isCompatibleType(cell.stringType)) {
-                mvResolver.getCellClass(cell.stringType).cast(cell).bindView(view);
+            if (mvResolver.isCompatibleType(cell.getTypeId())) {
+                mvResolver.getCellClass(cell.getTypeId()).cast(cell).bindView(view);
             }
             postMountView(cell, view);
             if (cell.serviceManager != null) {
-                CellSupport cellSupport = cell.serviceManager.getService(CellSupport.class);
+                CellSupport cellSupport = BindContext.of(cell.serviceManager).getCellSupport();
                 if (cellSupport != null) {
                     cellSupport.postBindView(cell, view);
                 }
@@ -152,7 +177,7 @@ public class MVHelper {
         } catch (Exception e) {
             e.printStackTrace();
             if (cell.serviceManager != null) {
-                CellSupport cellSupport = cell.serviceManager.getService(CellSupport.class);
+                CellSupport cellSupport = BindContext.of(cell.serviceManager).getCellSupport();
                 if (cellSupport != null) {
                     cellSupport.onBindViewException(cell, view, e);
                 }
@@ -181,136 +206,58 @@ public class MVHelper {
         }
         postUnMountView(cell, view);
         if (cell.serviceManager != null) {
-            CellSupport cellSupport = cell.serviceManager.getService(CellSupport.class);
+            CellSupport cellSupport = BindContext.of(cell.serviceManager).getCellSupport();
             if (cellSupport != null) {
                 cellSupport.unBindView(cell, view);
             }
         }
-        if (mvResolver.isCompatibleType(cell.stringType)) {
-            mvResolver.getCellClass(cell.stringType).cast(cell).unbindView(view);
+        if (mvResolver.isCompatibleType(cell.getTypeId())) {
+            mvResolver.getCellClass(cell.getTypeId()).cast(cell).unbindView(view);
         }
     }
 
-    private void loadMethod(BaseCell cell, View view) {
-        if (view instanceof ITangramViewLifeCycle) {
-            return;
-        }
-        if (methodMap.get(cell) != null) {
-            return;
-        }
-
-        ConcurrentHashMap<Method, Object> paramMap = new ConcurrentHashMap<>();
-
-        Method[] methods;
-        if (methodCacheMap.get(view.getClass()) == null) {
-            methods = view.getClass().getDeclaredMethods();
-            methodCacheMap.put(view.getClass(), methods);
-        } else {
-            methods = methodCacheMap.get(view.getClass());
-        }
-        CellRender cellRender;
-        Class[] paramClazz;
-        for (Method method : methods) {
-            cellRender = method.getAnnotation(CellRender.class);
-            paramClazz = method.getParameterTypes();
-
-            if (!method.isAnnotationPresent(CellRender.class) ||
-                paramClazz == null || paramClazz.length != 1) {
-                continue;
-            }
-
-            if (method.getName().equals("postBindView")) {
-                postBindMap.put(cell, method);
-                continue;
-            }
-
-            if (method.getName().equals("postUnBindView")) {
-                postUnBindMap.put(cell, method);
-                continue;
-            }
-
-            if (method.getName().equals("cellInited")) {
-                cellInitedMap.put(cell, method);
-                continue;
-            }
-
-            if (!TextUtils.isEmpty(cellRender.key()) && cell.hasParam(cellRender.key())) {
-                if ("null".equals(cell.optParam(cellRender.key()))) {
-                    paramMap.put(method, null);
-                } else if (paramClazz[0].equals(Integer.class) || paramClazz[0].equals(int.class)) {
-                    paramMap.put(method, cell.optIntParam(cellRender.key()));
-                } else if (paramClazz[0].equals(String.class)) {
-                    paramMap.put(method, cell.optStringParam(cellRender.key()));
-                } else if (paramClazz[0].equals(Boolean.class) || paramClazz[0].equals(boolean.class)) {
-                    paramMap.put(method, cell.optBoolParam(cellRender.key()));
-                } else if (paramClazz[0].equals(Double.class) || paramClazz[0].equals(double.class)) {
-                    paramMap.put(method, cell.optDoubleParam(cellRender.key()));
-                } else if (paramClazz[0].equals(JSONArray.class)) {
-                    paramMap.put(method, cell.optJsonArrayParam(cellRender.key()));
-                } else if (paramClazz[0].equals(Long.class) || paramClazz[0].equals(long.class)) {
-                    paramMap.put(method, cell.optLongParam(cellRender.key()));
-                } else if (paramClazz[0].equals(JSONObject.class)) {
-                    paramMap.put(method, cell.optJsonObjectParam(cellRender.key()));
-                } else {
-                    paramMap.put(method, cell.optParam(cellRender.key()));
-                }
-            } else if (cell.hasParam(method.getName())) {
-                if ("null".equals(cell.optParam(method.getName()))) {
-                    paramMap.put(method, null);
-                } else if (paramClazz[0].equals(Integer.class) || paramClazz[0].equals(int.class)) {
-                    paramMap.put(method, cell.optIntParam(method.getName()));
-                } else if (paramClazz[0].equals(String.class)) {
-                    paramMap.put(method, cell.optStringParam(method.getName()));
-                } else if (paramClazz[0].equals(Boolean.class) || paramClazz[0].equals(boolean.class)) {
-                    paramMap.put(method, cell.optBoolParam(method.getName()));
-                } else if (paramClazz[0].equals(Double.class) || paramClazz[0].equals(double.class)) {
-                    paramMap.put(method, cell.optDoubleParam(method.getName()));
-                } else if (paramClazz[0].equals(JSONArray.class)) {
-                    paramMap.put(method, cell.optJsonArrayParam(method.getName()));
-                } else if (paramClazz[0].equals(Long.class) || paramClazz[0].equals(long.class)) {
-                    paramMap.put(method, cell.optLongParam(method.getName()));
-                } else if (paramClazz[0].equals(JSONObject.class)) {
-                    paramMap.put(method, cell.optJsonObjectParam(method.getName()));
-                } else {
-                    paramMap.put(method, cell.optParam(method.getName()));
-                }
-            } else {
-                if (paramClazz[0].equals(Integer.class) || paramClazz[0].equals(int.class)) {
-                    paramMap.put(method, 0);
-                } else if (paramClazz[0].equals(String.class)) {
-                    paramMap.put(method, "");
-                } else if (paramClazz[0].equals(Boolean.class) || paramClazz[0].equals(boolean.class)) {
-                    paramMap.put(method, false);
-                } else if (paramClazz[0].equals(Double.class) || paramClazz[0].equals(double.class)) {
-                    paramMap.put(method, 0);
-                } else if (paramClazz[0].equals(JSONArray.class)) {
-                    paramMap.put(method, null);
-                } else if (paramClazz[0].equals(Long.class) || paramClazz[0].equals(long.class)) {
-                    paramMap.put(method, 0);
-                } else if (paramClazz[0].equals(JSONObject.class)) {
-                    paramMap.put(method, null);
-                } else {
-                    paramMap.put(method, "");
-                }
+    /**
+     * @param view the view to bind
+     * @return registered or generated binder of the view's class, or a {@link CellBindingPlan} compiled on first use
+     */
+    private CellViewBinder getViewBinder(View view) {
+        Class<? extends View> viewClz = view.getClass();
+        CellViewBinder binder = viewBinderMap.get(viewClz);
+        if (binder == null) {
+            binder = findGeneratedBinder(viewClz);
+            if (binder == null) {
+                binder = CellBindingPlan.compile(viewClz);
             }
+            viewBinderMap.put(viewClz, binder);
         }
+        return binder;
+    }
 
-        if (!paramMap.isEmpty()) {
-            methodMap.put(cell, paramMap);
+    /**
+     * @param viewClz the view class
+     * @return an instance of <code>ViewClass_CellViewBinder</code>, such as a binder generated from the view's
+     * {@link CellRender} methods at build time, or null if there is none
+     */
+    private static CellViewBinder findGeneratedBinder(Class<?> viewClz) {
+        try {
+            Class<?> binderClz = Class.forName(viewClz.getName() + GENERATED_BINDER_SUFFIX, true,
+                viewClz.getClassLoader());
+            if (CellViewBinder.class.isAssignableFrom(binderClz)) {
+                return (CellViewBinder) binderClz.newInstance();
+            }
+        } catch (ClassNotFoundException e) {
+            // no generated binder, bind by reflection
+        } catch (Exception e) {
+            LogUtils.w(TAG, "Failed to create generated binder of " + viewClz.getName(), e);
         }
+        return null;
     }
 
     private void initView(BaseCell cell, View view) {
         if (view instanceof ITangramViewLifeCycle) {
             ((ITangramViewLifeCycle) view).cellInited(cell);
         } else {
-            if (cellInitedMap.get(cell) != null) {
-                try {
-                    cellInitedMap.get(cell).invoke(view, cell);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
+            getViewBinder(view).cellInited(cell, view);
         }
     }
 
@@ -318,16 +265,7 @@ public class MVHelper {
         if (view instanceof ITangramViewLifeCycle) {
             return;
         }
-        if (methodMap.get(cell) == null) {
-            return;
-        }
-        for (Method method : methodMap.get(cell).keySet()) {
-            try {
-                method.invoke(view, methodMap.get(cell).get(method));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        getViewBinder(view).bindView(cell, view);
     }
 
     private void renderStyle(BaseCell cell, View view) {
@@ -410,8 +348,10 @@ public class MVHelper {
 
     private void postMountView(BaseCell cell, View view) {
         if (!cell.mIsExposed && cell.serviceManager != null) {
-            ExposureSupport exposureSupport = cell.serviceManager.getService(ExposureSupport.class);
-            if (exposureSupport != null) {
+            BindContext bindContext = BindContext.of(cell.serviceManager);
+            ExposureSupport exposureSupport = bindContext.getExposureSupport();
+            ExposureTracker exposureTracker = bindContext.getExposureTracker();
+            if (exposureSupport != null && (exposureTracker == null || !exposureTracker.isTracking(cell))) {
                 cell.mIsExposed = true;
                 exposureSupport.onExposure(view, cell, cell.pos);
             }
@@ -419,16 +359,10 @@ public class MVHelper {
         if (view instanceof ITangramViewLifeCycle) {
             ((ITangramViewLifeCycle) view).postBindView(cell);
         } else {
-            if (postBindMap.get(cell) != null) {
-                try {
-                    postBindMap.get(cell).invoke(view, cell);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
+            getViewBinder(view).postBindView(cell, view);
         }
-        if (mvResolver.isCompatibleType(cell.stringType)) {
-            mvResolver.getCellClass(cell.stringType).cast(cell).postBindView(view);
+        if (mvResolver.isCompatibleType(cell.getTypeId())) {
+            mvResolver.getCellClass(cell.getTypeId()).cast(cell).postBindView(view);
         }
     }
 
@@ -436,13 +370,7 @@ public class MVHelper {
         if (view instanceof ITangramViewLifeCycle) {
             ((ITangramViewLifeCycle) view).postUnBindView(cell);
         } else {
-            if (postUnBindMap.get(cell) != null) {
-                try {
-                    postUnBindMap.get(cell).invoke(view, cell);
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
+            getViewBinder(view).postUnBindView(cell, view);
         }
     }
 }
@@ -28,15 +28,17 @@ import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.view.View;
 
+import com.tmall.wireless.tangram.core.resolver.TypeRegistry;
+import com.tmall.wireless.tangram.core.resolver.TypeTable;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.dataparser.concrete.Card;
 import com.tmall.wireless.tangram.dataparser.concrete.Style;
 import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.Instantiator;
 import com.tmall.wireless.tangram.util.Utils;
 
 import org.json.JSONObject;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -65,6 +67,10 @@ public class MVResolver {
 
     private ConcurrentHashMap<String, Class<? extends BaseCell>> typeCellMap = new ConcurrentHashMap(64);
 
+    private final TypeTable<Class<? extends View>> typeViewTable = new TypeTable<>();
+
+    private final TypeTable<Class<? extends BaseCell>> typeCellTable = new TypeTable<>();
+
     private ConcurrentHashMap<String, Card> idCardMap = new ConcurrentHashMap<>();
 
     private ConcurrentHashMap<BaseCell, View> mvMap = new ConcurrentHashMap<>(128);
@@ -76,33 +82,95 @@ public class MVResolver {
 
     private ServiceManager mServiceManager;
 
+    private Instantiator mInstantiator;
+
     public void setServiceManager(ServiceManager serviceManager) {
         mServiceManager = serviceManager;
     }
 
+    /**
+     * @param instantiator used to create cells and views of this resolver, so factories registered on it are applied
+     */
+    public void setInstantiator(Instantiator instantiator) {
+        mInstantiator = instantiator;
+    }
+
+    public Instantiator getInstantiator() {
+        return mInstantiator;
+    }
+
     public void register(String type, Class<? extends View> viewClazz) {
         typeViewMap.put(type, viewClazz);
+        typeViewTable.put(type, viewClazz);
     }
 
     public void registerCompatible(String type, Class<? extends BaseCell> cellClazz) {
         typeCellMap.put(type, cellClazz);
+        typeCellTable.put(type, cellClazz);
     }
 
     public boolean isCompatibleType(String type) {
         return typeCellMap.get(type) != null;
     }
 
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public boolean isCompatibleType(int typeId) {
+        return typeCellTable.get(typeId) != null;
+    }
+
     public Class<? extends BaseCell> getCellClass(String type) {
         return typeCellMap.get(type);
     }
 
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public Class<? extends BaseCell> getCellClass(int typeId) {
+        return typeCellTable.get(typeId);
+    }
+
     public void register(String cellId, BaseCell cell, View view) {
-        mvMap.put(cell, view);
-        vmMap.put(view, cell);
+        View oldView = mvMap.put(cell, view);
+        if (oldView != null && oldView != view) {
+            vmMap.remove(oldView, cell);
+        }
+        BaseCell oldCell = vmMap.put(view, cell);
+        if (oldCell != null && oldCell != cell) {
+            // the view is recycled and rebound, it no longer belongs to the old cell
+            mvMap.remove(oldCell, view);
+        }
 
         idViewMap.put(cellId, view);
     }
 
+    /**
+     * Drop entries of a cell that has been removed from its card or the adapter.
+     *
+     * @param cellId unique id the cell was registered with, may be null if it has never been mounted
+     * @param cell   the removed cell
+     */
+    public void unregister(@Nullable String cellId, BaseCell cell) {
+        View view = mvMap.remove(cell);
+        if (view != null) {
+            vmMap.remove(view, cell);
+            if (cellId != null) {
+                idViewMap.remove(cellId, view);
+            }
+        }
+    }
+
+    /**
+     * Debug use, count of entries in the cell/view registries. It should stay bounded by the number of cells alive
+     * in the page, or an entry is leaked.
+     *
+     * @return count of live entries
+     */
+    public int getLiveEntryCount() {
+        return mvMap.size() + vmMap.size() + idViewMap.size();
+    }
+
     public void setCards(List<Card> list) {
         for (Card card : list) {
             if (!TextUtils.isEmpty(card.id)) {
@@ -138,6 +206,13 @@ public class MVResolver {
         return typeViewMap.get(type);
     }
 
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public Class<? extends View> getViewClass(int typeId) {
+        return typeViewTable.get(typeId);
+    }
+
     protected void parseCell(MVHelper resolver, BaseCell cell, JSONObject json) {
         if (json != null) {
             cell.extras = json;
@@ -145,7 +220,7 @@ public class MVResolver {
             if (TextUtils.isEmpty(cell.id) && json.has(KEY_ID)) {
                 cell.id = json.optString(KEY_ID);
             }
-            cell.type = json.optInt(KEY_TYPE);
+            cell.type = TypeRegistry.numericTypeOf(json.opt(KEY_TYPE), 0);
             cell.stringType = json.optString(KEY_TYPE);
             cell.typeKey = json.optString(KEY_TYPE_KEY);
             String reuseId = json.optString(KEY_TYPE_REUSEID);
@@ -153,30 +228,18 @@ public class MVResolver {
                 cell.typeKey = reuseId;
             }
 			cell.position = json.optInt(KEY_POSITION, -1);
-            parseBizParams(cell, json);
             cell.parseWith(json);
             cell.parseWith(json, resolver);
             JSONObject styleJson = json.optJSONObject(KEY_STYLE);
             parseStyle(cell, styleJson);
-            parseBizParams(cell, styleJson);
+            // keys of json and its style are copied into biz params when they are first used
+            cell.setBizParamsFromExtras();
         } else {
             cell.extras = new JSONObject();
         }
 
     }
 
-    private void parseBizParams(BaseCell cell, JSONObject json) {
-        if (json == null) {
-            return;
-        }
-
-        Iterator<String> iterator = json.keys();
-        while (iterator.hasNext()) {
-            String key = iterator.next();
-            cell.addBizParam(key, json.opt(key));
-        }
-    }
-
     protected void parseStyle(BaseCell cell, @Nullable JSONObject json) {
         if (!Utils.isCard(cell.extras)) {
             cell.style = new Style();
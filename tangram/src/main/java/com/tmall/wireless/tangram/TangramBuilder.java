@@ -35,6 +35,7 @@ import com.tmall.wireless.tangram.dataparser.concrete.PojoAdapterBuilder;
 import com.tmall.wireless.tangram.dataparser.concrete.PojoDataParser;
 import com.tmall.wireless.tangram.eventbus.BusSupport;
 import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.structure.CellViewBinder;
 import com.tmall.wireless.tangram.structure.card.BannerCard;
 import com.tmall.wireless.tangram.structure.card.ColumnCard;
 import com.tmall.wireless.tangram.structure.card.DoubleColumnCard;
@@ -62,6 +63,7 @@ import com.tmall.wireless.tangram.structure.viewcreator.ViewHolderCreator;
 import com.tmall.wireless.tangram.support.TimerSupport;
 import com.tmall.wireless.tangram.util.IInnerImageSetter;
 import com.tmall.wireless.tangram.util.ImageUtils;
+import com.tmall.wireless.tangram.util.Instantiator;
 import com.tmall.wireless.tangram.util.Preconditions;
 import com.tmall.wireless.tangram.util.TangramViewMetrics;
 import com.tmall.wireless.tangram.view.BannerView;
@@ -457,6 +459,52 @@ public class TangramBuilder {
             mDefaultResolverRegistry.registerCard(type, cardClz);
         }
 
+        /**
+         * register cell with factories, cell models and views are then created without reflection
+         * @param type
+         * @param cellClz
+         * @param cellFactory
+         * @param viewClz
+         * @param viewFactory
+         */
+        public <C extends BaseCell, V extends View> void registerCell(String type, @NonNull Class<C> cellClz,
+            @NonNull Instantiator.Factory<C> cellFactory, @NonNull Class<V> viewClz,
+            @NonNull Instantiator.ContextFactory<V> viewFactory) {
+            mDefaultResolverRegistry.registerCell(type, cellClz, cellFactory, viewClz, viewFactory);
+        }
+
+        /**
+         * register cell with custom view class and a factory that creates the view without reflection
+         * @param type
+         * @param viewClz
+         * @param viewFactory
+         */
+        public <V extends View> void registerCell(String type, @NonNull Class<V> viewClz,
+            @NonNull Instantiator.ContextFactory<V> viewFactory) {
+            mDefaultResolverRegistry.registerCell(type, viewClz, viewFactory);
+        }
+
+        /**
+         * register card with a factory that creates it without reflection
+         * @param type
+         * @param cardClz
+         * @param cardFactory
+         */
+        public <C extends Card> void registerCard(String type, @NonNull Class<C> cardClz,
+            @NonNull Instantiator.Factory<C> cardFactory) {
+            mDefaultResolverRegistry.registerCard(type, cardClz, cardFactory);
+        }
+
+        /**
+         * register a direct-call binder for a view class, it replaces binding the view's {@link com.tmall.wireless.tangram.structure.CellRender} methods by reflection
+         * @param viewClz
+         * @param binder
+         * @param <V>
+         */
+        public <V extends View> void registerViewBinder(@NonNull Class<V> viewClz, @NonNull CellViewBinder<V> binder) {
+            mMVHelper.registerViewBinder(viewClz, binder);
+        }
+
         /**
          * register item render by virtual view
          * @param type
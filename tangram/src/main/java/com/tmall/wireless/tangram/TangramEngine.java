@@ -24,11 +24,15 @@
 
 package com.tmall.wireless.tangram;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.alibaba.android.vlayout.LayoutHelper;
 import com.alibaba.android.vlayout.Range;
@@ -37,10 +41,14 @@ import com.alibaba.android.vlayout.VirtualLayoutManager;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
 import android.support.v7.widget.RecyclerView;
 import android.text.TextUtils;
+import android.util.Log;
 import android.util.Pair;
 import android.view.View;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.core.adapter.ViewPoolPrewarmer;
 import com.tmall.wireless.tangram.dataparser.DataParser;
 import com.tmall.wireless.tangram.dataparser.IAdapterBuilder;
 import com.tmall.wireless.tangram.dataparser.concrete.Card;
@@ -52,6 +60,8 @@ import com.tmall.wireless.tangram.op.InsertCellOp;
 import com.tmall.wireless.tangram.op.InsertCellsOp;
 import com.tmall.wireless.tangram.op.InsertGroupOp;
 import com.tmall.wireless.tangram.op.InsertGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsStreamOp;
 import com.tmall.wireless.tangram.op.RemoveCellOp;
 import com.tmall.wireless.tangram.op.RemoveCellPositionOp;
 import com.tmall.wireless.tangram.op.RemoveGroupIdxOp;
@@ -59,14 +69,24 @@ import com.tmall.wireless.tangram.op.RemoveGroupOp;
 import com.tmall.wireless.tangram.op.ReplaceCellOp;
 import com.tmall.wireless.tangram.op.ReplaceGroupContentOp;
 import com.tmall.wireless.tangram.op.ReplaceGroupOp;
+import com.tmall.wireless.tangram.op.TangramOp1;
 import com.tmall.wireless.tangram.op.UpdateCellOp;
 import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.support.CardRefreshSupport;
 import com.tmall.wireless.tangram.support.ExposureSupport;
+import com.tmall.wireless.tangram.support.ExposureTracker;
+import com.tmall.wireless.tangram.support.InternalErrorSupport;
 import com.tmall.wireless.tangram.support.SimpleClickSupport;
 import com.tmall.wireless.tangram.support.async.CardLoadSupport;
+import com.tmall.wireless.tangram.util.LogUtils;
+import com.tmall.wireless.tangram.util.Preconditions;
 import com.tmall.wireless.tangram.util.Predicate;
 import com.tmall.wireless.vaf.virtualview.core.ViewCache;
+import io.reactivex.Observable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -76,7 +96,10 @@ import org.json.JSONObject;
  *
  * The core of Tangram used to access data, bind view, register service.
  */
-public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card, BaseCell> implements Engine {
+public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card, BaseCell> implements Engine,
+    CardRefreshSupport {
+
+    private static final String TAG = "TangramEngine";
 
     private static final int NO_SWIPE = -1;
 
@@ -85,9 +108,48 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
         @NonNull IAdapterBuilder<Card, BaseCell> adapterBuilder) {
         super(context, dataParser, adapterBuilder);
         this.register(DataParser.class, dataParser);
+        this.register(CardRefreshSupport.class, this);
     }
 
-    private Runnable updateRunnable;
+    private final Runnable updateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyPendingRefresh();
+        }
+    };
+
+    /**
+     * cards refreshed by {@link #refreshCard(Card)} since the last applied refresh
+     */
+    private final Map<Card, Boolean> mDirtyCards = new IdentityHashMap<>();
+
+    private boolean mRefreshScheduled;
+
+    private boolean mFullRefreshPending;
+
+    private boolean mFullRefreshLayoutUpdated;
+
+    private Disposable mChunkedDataDisposable;
+
+    private ViewPoolPrewarmer mPrewarmer;
+
+    /**
+     * ops recorded between {@link #beginBatch()} and {@link #commit()}, null if not batching
+     */
+    private List<TangramOp1<?>> mBatchOps;
+
+    private int mBatchDepth;
+
+    private final List<TangramOp1<?>> mPendingBatchOps = new ArrayList<>();
+
+    private boolean mApplyingBatch;
+
+    private final Runnable mApplyBatchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyPendingBatch();
+        }
+    };
 
     private int mPreLoadNumber = 5;
 
@@ -118,6 +180,11 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
     public void bindView(@NonNull RecyclerView view) {
         super.bindView(view);
 
+        ExposureTracker exposureTracker = getService(ExposureTracker.class);
+        if (exposureTracker != null) {
+            exposureTracker.attach(view, mGroupBasicAdapter);
+        }
+
         mSwipeItemTouchListener = new SwipeItemTouchListener(view.getContext(), mGroupBasicAdapter, getContentView());
         if (mSwipeCardActionEdge != -1) {
             mSwipeItemTouchListener.setActionEdge(mSwipeCardActionEdge);
@@ -157,10 +224,22 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
 
         RecyclerView contentView = getContentView();
 
+        ExposureTracker exposureTracker = getService(ExposureTracker.class);
+        if (exposureTracker != null) {
+            exposureTracker.detach();
+        }
+
+        cancelPrewarm();
+
+        if (contentView != null) {
+            contentView.removeCallbacks(updateRunnable);
+        }
+        mRefreshScheduled = false;
+        clearPendingRefresh();
+
         if (contentView != null && mSwipeItemTouchListener != null) {
             contentView.removeOnItemTouchListener(mSwipeItemTouchListener);
             mSwipeItemTouchListener = null;
-            contentView.removeCallbacks(updateRunnable);
         }
         super.unbindView();
     }
@@ -247,6 +326,7 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      */
     @Override
     public void setData(@Nullable JSONArray data) {
+        cancelChunkedData();
         super.setData(data);
         loadFirstPageCard();
     }
@@ -256,10 +336,108 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      */
     @Override
     public void setData(@Nullable List<Card> data) {
+        cancelChunkedData();
         super.setData(data);
         loadFirstPageCard();
     }
 
+    /**
+     * Parse data in background and render the first chunk of cards as soon as it is parsed, the remaining cards are
+     * appended later. Pending chunks are dropped by the next setData call.
+     * @param data Original data.
+     */
+    public void setDataChunked(@Nullable JSONArray data) {
+        Preconditions.checkState(mGroupBasicAdapter != null, "Must call bindView() first");
+        if (data == null) {
+            setData((List<Card>) null);
+            return;
+        }
+        cancelChunkedData();
+        cancelAsyncData();
+        mChunkedDataDisposable = subscribeChunks(Observable.just(new ParseGroupsOp(data, this))
+            .observeOn(Schedulers.computation())
+            .compose(getGroupChunkTransformer()));
+    }
+
+    /**
+     * Same as {@link #setDataChunked(JSONArray)}, but cards are read one by one from a stream holding the JSON array,
+     * so the whole page is never loaded into memory as a single document. The reader is closed once parsing ends.
+     * @param reader Stream of original data.
+     */
+    public void setDataChunked(@NonNull Reader reader) {
+        Preconditions.checkState(mGroupBasicAdapter != null, "Must call bindView() first");
+        cancelChunkedData();
+        cancelAsyncData();
+        mChunkedDataDisposable = subscribeChunks(Observable.just(new ParseGroupsStreamOp(reader, this))
+            .observeOn(Schedulers.computation())
+            .compose(getGroupStreamTransformer()));
+    }
+
+    private Disposable subscribeChunks(Observable<List<Card>> chunks) {
+        return chunks
+            .observeOn(AndroidSchedulers.mainThread())
+            .subscribe(new Consumer<List<Card>>() {
+                private boolean mFirstChunk = true;
+
+                @Override
+                public void accept(List<Card> cards) throws Exception {
+                    if (mFirstChunk) {
+                        mFirstChunk = false;
+                        TangramEngine.super.setData(cards);
+                        loadFirstPageCard();
+                    } else {
+                        mGroupBasicAdapter.appendGroup(cards);
+                    }
+                }
+            }, new Consumer<Throwable>() {
+                @Override
+                public void accept(Throwable throwable) throws Exception {
+                    LogUtils.e(TAG, "Failed to parse data", throwable);
+                    InternalErrorSupport errorSupport = getService(InternalErrorSupport.class);
+                    if (errorSupport != null) {
+                        // chunks parsed before the error stay on screen
+                        Map<String, Object> params = new HashMap<>();
+                        params.put("exception", Log.getStackTraceString(throwable));
+                        errorSupport.onError(InternalErrorSupport.ERROR_PARSE_CARDS_ERROR, "Parse group error.", params);
+                    }
+                }
+            });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDataAsync(@Nullable JSONArray data) {
+        cancelChunkedData();
+        super.setDataAsync(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setDataAsync(@Nullable List<Card> data) {
+        cancelChunkedData();
+        super.setDataAsync(data);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void applyPreparedData(@NonNull GroupBasicAdapter.PreparedData<Card, BaseCell> prepared) {
+        super.applyPreparedData(prepared);
+        loadFirstPageCard();
+    }
+
+    private void cancelChunkedData() {
+        if (mChunkedDataDisposable != null) {
+            mChunkedDataDisposable.dispose();
+            mChunkedDataDisposable = null;
+        }
+    }
+
     /**
      *
      * @param enable True to auto trigger loading data for card whose's position in within 0 to {{@link #mPreLoadNumber}}.
@@ -317,6 +495,49 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
         register(ExposureSupport.class, support);
     }
 
+    /**
+     * Expose cells when they are actually seen on screen, replaces exposure on bind for cells of the content view.
+     * @param tracker viewport exposure tracker
+     * @since 3.3.0
+     */
+    public void addExposureTracker(@NonNull final ExposureTracker tracker) {
+        register(ExposureTracker.class, tracker);
+        RecyclerView contentView = getContentView();
+        if (contentView != null && mGroupBasicAdapter != null) {
+            tracker.attach(contentView, mGroupBasicAdapter);
+        }
+    }
+
+
+    /**
+     * Create views for expected cell types while the main thread is idle, so the first layout takes them from the
+     * recycled view pool. Must be called on the main thread after {@link #bindView(RecyclerView)}.
+     *
+     * @param typeCounts number of views wanted in the pool for each cell type
+     * @return the prewarmer, which also reports how many pre-warmed views were used
+     * @since 3.3.0
+     */
+    public ViewPoolPrewarmer prewarm(@NonNull Map<String, Integer> typeCounts) {
+        RecyclerView contentView = getContentView();
+        Preconditions.checkState(contentView != null && mGroupBasicAdapter != null,
+            "prewarm must be called after bindView");
+        if (mPrewarmer == null) {
+            mPrewarmer = new ViewPoolPrewarmer(mGroupBasicAdapter, contentView);
+            mGroupBasicAdapter.setViewPoolPrewarmer(mPrewarmer);
+        }
+        mPrewarmer.prewarm(typeCounts);
+        return mPrewarmer;
+    }
+
+    private void cancelPrewarm() {
+        if (mPrewarmer != null) {
+            mPrewarmer.cancel();
+            if (mGroupBasicAdapter != null) {
+                mGroupBasicAdapter.setViewPoolPrewarmer(null);
+            }
+            mPrewarmer = null;
+        }
+    }
 
     public void loadMoreCard() {
         CardLoadSupport loadSupport = getService(CardLoadSupport.class);
@@ -358,12 +579,7 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      */
     public BaseCell findCellById(String id) {
         if (mGroupBasicAdapter != null && id != null) {
-            List<BaseCell> cells = mGroupBasicAdapter.getComponents();
-            for (int i = 0, size = cells.size(); i < size; i++) {
-                if (id.equals(cells.get(i).id)) {
-                    return cells.get(i);
-                }
-            }
+            return mGroupBasicAdapter.findCellById(id);
         }
         return null;
     }
@@ -383,20 +599,72 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
             // contentView.stopScroll();
         }
 
-        updateRunnable = new Runnable() {
-            @Override
-            public void run() {
-                if (!contentView.isComputingLayout()) {
-                    //to prevent notify update when recyclerView is in computingLayout  process
-                    mGroupBasicAdapter.notifyUpdate(layoutUpdated);
+        mFullRefreshPending = true;
+        mFullRefreshLayoutUpdated |= layoutUpdated;
+        scheduleRefresh(contentView);
+    }
 
-                    if (mSwipeItemTouchListener != null) {
-                        mSwipeItemTouchListener.updateCurrCard();
-                    }
-                }
+    /**
+     * Notify Tangram that cells of a card changed, only this card's range and cards pointing at it through
+     * forLabel are updated. Requests within a frame are applied together.
+     * @param card Card whose cells changed.
+     */
+    @Override
+    public void refreshCard(@NonNull Card card) {
+        final RecyclerView contentView = getContentView();
+
+        if (contentView == null) {
+            return;
+        }
+
+        mDirtyCards.put(card, Boolean.TRUE);
+        scheduleRefresh(contentView);
+    }
+
+    /**
+     * All refresh requests before the next frame are applied together.
+     */
+    private void scheduleRefresh(@NonNull RecyclerView contentView) {
+        if (!mRefreshScheduled) {
+            mRefreshScheduled = true;
+            ViewCompat.postOnAnimation(contentView, updateRunnable);
+        }
+    }
+
+    private void applyPendingRefresh() {
+        mRefreshScheduled = false;
+        RecyclerView contentView = getContentView();
+        if (contentView == null || mGroupBasicAdapter == null) {
+            clearPendingRefresh();
+            return;
+        }
+        if (contentView.isComputingLayout()) {
+            //to prevent notify update when recyclerView is in computingLayout  process
+            scheduleRefresh(contentView);
+            return;
+        }
+
+        if (mFullRefreshPending && mFullRefreshLayoutUpdated) {
+            mGroupBasicAdapter.notifyUpdate(true);
+        } else {
+            if (!mDirtyCards.isEmpty()) {
+                mGroupBasicAdapter.notifyCardsChanged(new ArrayList<>(mDirtyCards.keySet()));
             }
-        };
-        contentView.post(updateRunnable);
+            if (mFullRefreshPending) {
+                mGroupBasicAdapter.notifyUpdate(false);
+            }
+        }
+        clearPendingRefresh();
+
+        if (mSwipeItemTouchListener != null) {
+            mSwipeItemTouchListener.updateCurrCard();
+        }
+    }
+
+    private void clearPendingRefresh() {
+        mDirtyCards.clear();
+        mFullRefreshPending = false;
+        mFullRefreshLayoutUpdated = false;
     }
 
     /**
@@ -526,7 +794,19 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
         RecyclerView contentView = getContentView();
         if (contentView != null) {
             contentView.removeCallbacks(updateRunnable);
+            contentView.removeCallbacks(mApplyBatchRunnable);
         }
+        mRefreshScheduled = false;
+        clearPendingRefresh();
+        mBatchOps = null;
+        mBatchDepth = 0;
+        mPendingBatchOps.clear();
+        ExposureTracker exposureTracker = getService(ExposureTracker.class);
+        if (exposureTracker != null) {
+            exposureTracker.destroy();
+        }
+        cancelPrewarm();
+        cancelChunkedData();
         super.destroy();
     }
 
@@ -549,6 +829,102 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
         }
     }
 
+    /**
+     * Start recording cell and card mutations, such as {@link #insertWith(int, List)}, {@link #removeBy(BaseCell)},
+     * {@link #replace(BaseCell, BaseCell)} and {@link #update(BaseCell)}, instead of applying them one by one.
+     * Calls can be nested, recorded ops take effect after the outermost {@link #commit()}.
+     * @since 3.3.0
+     */
+    public void beginBatch() {
+        if (mBatchDepth++ == 0) {
+            mBatchOps = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Apply ops recorded since {@link #beginBatch()} in order on the next frame, with one range recomputation
+     * and one merged set of adapter notifications. Data in adapter is unchanged until then.
+     * @since 3.3.0
+     */
+    public void commit() {
+        if (mBatchDepth == 0 || --mBatchDepth > 0) {
+            return;
+        }
+        List<TangramOp1<?>> ops = mBatchOps;
+        mBatchOps = null;
+        if (ops == null || ops.isEmpty()) {
+            return;
+        }
+        boolean scheduled = !mPendingBatchOps.isEmpty();
+        mPendingBatchOps.addAll(ops);
+        RecyclerView contentView = getContentView();
+        if (contentView == null) {
+            applyPendingBatch();
+        } else if (!scheduled) {
+            ViewCompat.postOnAnimation(contentView, mApplyBatchRunnable);
+        }
+    }
+
+    /**
+     * Record a mutation while batching, it is replayed by {@link #applyPendingBatch()}.
+     * @return true if op is recorded and must not be applied now
+     */
+    private boolean recordBatchOp(@NonNull TangramOp1<?> op) {
+        if (mBatchOps == null || mApplyingBatch) {
+            return false;
+        }
+        mBatchOps.add(op);
+        return true;
+    }
+
+    private void applyBatchOp(@NonNull TangramOp1<?> op) {
+        if (op instanceof InsertCellsOp) {
+            insertWith(((InsertCellsOp) op).getArg1(), ((InsertCellsOp) op).getArg2());
+        } else if (op instanceof InsertGroupsOp) {
+            insertBatchWith(((InsertGroupsOp) op).getArg1(), ((InsertGroupsOp) op).getArg2());
+        } else if (op instanceof AppendGroupsOp) {
+            appendBatchWith(((AppendGroupsOp) op).getArg1());
+        } else if (op instanceof RemoveCellPositionOp) {
+            removeBy(((RemoveCellPositionOp) op).getArg1());
+        } else if (op instanceof RemoveCellOp) {
+            removeBy(((RemoveCellOp) op).getArg1());
+        } else if (op instanceof RemoveGroupIdxOp) {
+            removeBatchBy(((RemoveGroupIdxOp) op).getArg1());
+        } else if (op instanceof RemoveGroupOp) {
+            removeBatchBy(((RemoveGroupOp) op).getArg1());
+        } else if (op instanceof ReplaceCellOp) {
+            replace(((ReplaceCellOp) op).getArg1(), ((ReplaceCellOp) op).getArg2());
+        } else if (op instanceof ReplaceGroupContentOp) {
+            replace(((ReplaceGroupContentOp) op).getArg1(), ((ReplaceGroupContentOp) op).getArg2());
+        } else if (op instanceof ReplaceGroupOp) {
+            replace(((ReplaceGroupOp) op).getArg1(), ((ReplaceGroupOp) op).getArg2());
+        } else if (op instanceof UpdateCellOp) {
+            update(((UpdateCellOp) op).getArg1());
+        }
+    }
+
+    private void applyPendingBatch() {
+        if (mPendingBatchOps.isEmpty() || mGroupBasicAdapter == null) {
+            mPendingBatchOps.clear();
+            return;
+        }
+        List<TangramOp1<?>> ops = new ArrayList<>(mPendingBatchOps);
+        mPendingBatchOps.clear();
+        mApplyingBatch = true;
+        mGroupBasicAdapter.beginBatch();
+        try {
+            for (int i = 0, size = ops.size(); i < size; i++) {
+                applyBatchOp(ops.get(i));
+            }
+        } finally {
+            mGroupBasicAdapter.commitBatch();
+            mApplyingBatch = false;
+        }
+        if (mSwipeItemTouchListener != null) {
+            mSwipeItemTouchListener.updateCurrCard();
+        }
+    }
+
     /**
      * A high performance method to insert cells. TODO handle nested card
      * @param insertPosition the position to be inserted.
@@ -567,6 +943,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void insertWith(int insertPosition, List<BaseCell> list) {
+        if (recordBatchOp(new InsertCellsOp(insertPosition, list))) {
+            return;
+        }
         int newItemSize = list != null ? list.size() : 0;
         if (newItemSize > 0 && mGroupBasicAdapter != null) {
             if (insertPosition >= mGroupBasicAdapter.getItemCount()) {
@@ -574,23 +953,10 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
             }
             BaseCell insertCell = mGroupBasicAdapter.getItemByPosition(insertPosition);
             int cardIdx = mGroupBasicAdapter.findCardIdxFor(insertPosition);
-            Card card = mGroupBasicAdapter.getCardRange(cardIdx).second;
+            Card card = mGroupBasicAdapter.getCardAt(cardIdx);
             card.addCells(card, card.getCells().indexOf(insertCell), list);
-            List<LayoutHelper> layoutHelpers = getLayoutManager().getLayoutHelpers();
-            if (layoutHelpers != null && cardIdx >= 0 && cardIdx < layoutHelpers.size()) {
-                for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
-                    LayoutHelper layoutHelper = layoutHelpers.get(i);
-                    int start = layoutHelper.getRange().getLower();
-                    int end = layoutHelper.getRange().getUpper();
-                    if (end < insertPosition) {
-                        //do nothing
-                    } else if (start <= insertPosition && insertPosition <= end) {
-                        layoutHelper.setItemCount(layoutHelper.getItemCount() + newItemSize);
-                        layoutHelper.setRange(start, end + newItemSize);
-                    } else if (insertPosition < start) {
-                        layoutHelper.setRange(start + newItemSize, end + newItemSize);
-                    }
-                }
+            if (cardIdx >= 0) {
+                // the card's layoutHelper is synced by the adapter
                 mGroupBasicAdapter.insertComponents(insertPosition, list);
             }
         }
@@ -611,20 +977,25 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void insertBatchWith(int insertIdx, List<Card> groups) {
+        if (recordBatchOp(new InsertGroupsOp(insertIdx, groups))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (groups != null && groups.size() > 0 && mGroupBasicAdapter != null && layoutManager != null) {
-            List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
-            final List<LayoutHelper> newLayoutHelpers = new ArrayList<>(layoutHelpers);
-            List<LayoutHelper> insertedLayoutHelpers = new ArrayList<>();
-            for (int i = 0, size = groups.size(); i < size; i++) {
-                insertedLayoutHelpers.add(groups.get(i).getLayoutHelper());
-            }
-            if (insertIdx >= layoutHelpers.size()) {
-                newLayoutHelpers.addAll(insertedLayoutHelpers);
-            } else {
-                newLayoutHelpers.addAll(insertIdx, insertedLayoutHelpers);
+            if (!mApplyingBatch) {
+                List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
+                final List<LayoutHelper> newLayoutHelpers = new ArrayList<>(layoutHelpers);
+                List<LayoutHelper> insertedLayoutHelpers = new ArrayList<>();
+                for (int i = 0, size = groups.size(); i < size; i++) {
+                    insertedLayoutHelpers.add(groups.get(i).getLayoutHelper());
+                }
+                if (insertIdx >= layoutHelpers.size()) {
+                    newLayoutHelpers.addAll(insertedLayoutHelpers);
+                } else {
+                    newLayoutHelpers.addAll(insertIdx, insertedLayoutHelpers);
+                }
+                layoutManager.setLayoutHelpers(newLayoutHelpers);
             }
-            layoutManager.setLayoutHelpers(newLayoutHelpers);
             mGroupBasicAdapter.insertBatchComponents(insertIdx, groups);
         }
     }
@@ -643,6 +1014,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void appendBatchWith(List<Card> groups) {
+        if (recordBatchOp(new AppendGroupsOp(groups))) {
+            return;
+        }
         if (mGroupBasicAdapter != null) {
             insertBatchWith(mGroupBasicAdapter.getGroups().size(), groups);
         }
@@ -654,6 +1028,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     protected void removeBy(int position) {
+        if (recordBatchOp(new RemoveCellPositionOp(position))) {
+            return;
+        }
         if (mGroupBasicAdapter != null) {
             if (position < mGroupBasicAdapter.getItemCount() && position >= 0) {
                 BaseCell removeCell = mGroupBasicAdapter.getItemByPosition(position);
@@ -668,39 +1045,18 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     protected void removeBy(BaseCell data) {
+        if (recordBatchOp(new RemoveCellOp(data))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (data != null && mGroupBasicAdapter != null && layoutManager != null) {
             int removePosition = mGroupBasicAdapter.getPositionByItem(data);
             if (removePosition >= 0) {
                 int cardIdx = mGroupBasicAdapter.findCardIdxFor(removePosition);
-                Card card = mGroupBasicAdapter.getCardRange(cardIdx).second;
+                Card card = mGroupBasicAdapter.getCardAt(cardIdx);
                 card.removeCellSilently(data);
-                List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
-                LayoutHelper emptyLayoutHelper = null;
-                if (layoutHelpers != null && cardIdx >= 0 && cardIdx < layoutHelpers.size()) {
-                    for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
-                        LayoutHelper layoutHelper = layoutHelpers.get(i);
-                        int start = layoutHelper.getRange().getLower();
-                        int end = layoutHelper.getRange().getUpper();
-                        if (end < removePosition) {
-                            //do nothing
-                        } else if (start <= removePosition && removePosition <= end) {
-                            int itemCount = layoutHelper.getItemCount() - 1;
-                            if (itemCount > 0) {
-                                layoutHelper.setItemCount(itemCount);
-                                layoutHelper.setRange(start, end - 1);
-                            } else {
-                                emptyLayoutHelper = layoutHelper;
-                            }
-                        } else if (removePosition < start) {
-                            layoutHelper.setRange(start - 1, end - 1);
-                        }
-                    }
-                    if (emptyLayoutHelper != null) {
-                        final List<LayoutHelper> newLayoutHelpers = new LinkedList<>(layoutHelpers);
-                        newLayoutHelpers.remove(emptyLayoutHelper);
-                        layoutManager.setLayoutHelpers(newLayoutHelpers);
-                    }
+                if (cardIdx >= 0) {
+                    // the card's layoutHelper is synced by the adapter
                     mGroupBasicAdapter.removeComponent(data);
                 }
             }
@@ -713,6 +1069,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     protected void removeBatchBy(int removeIdx) {
+        if (recordBatchOp(new RemoveGroupIdxOp(removeIdx))) {
+            return;
+        }
         if (mGroupBasicAdapter != null) {
             Pair<Range<Integer>, Card> cardPair = mGroupBasicAdapter.getCardRange(removeIdx);
             if (cardPair != null) {
@@ -727,31 +1086,14 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     protected void removeBatchBy(Card group) {
+        if (recordBatchOp(new RemoveGroupOp(group))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (group != null && mGroupBasicAdapter != null && layoutManager != null) {
             int cardIdx = mGroupBasicAdapter.findCardIdxForCard(group);
-            List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
-            LayoutHelper emptyLayoutHelper = null;
-            int removeItemCount = 0;
-            if (layoutHelpers != null && cardIdx >= 0 && cardIdx < layoutHelpers.size()) {
-                for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
-                    LayoutHelper layoutHelper = layoutHelpers.get(i);
-                    int start = layoutHelper.getRange().getLower();
-                    int end = layoutHelper.getRange().getUpper();
-                    if (i < cardIdx) {
-                        // do nothing
-                    } else if (i == cardIdx) {
-                        removeItemCount = layoutHelper.getItemCount();
-                        emptyLayoutHelper = layoutHelper;
-                    } else {
-                        layoutHelper.setRange(start - removeItemCount, end - removeItemCount);
-                    }
-                }
-                if (emptyLayoutHelper != null) {
-                    final List<LayoutHelper> newLayoutHelpers = new LinkedList<>(layoutHelpers);
-                    newLayoutHelpers.remove(emptyLayoutHelper);
-                    layoutManager.setLayoutHelpers(newLayoutHelpers);
-                }
+            if (cardIdx >= 0) {
+                // the card's layoutHelper is removed by the adapter
                 mGroupBasicAdapter.removeComponents(group);
             }
         }
@@ -764,12 +1106,15 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void replace(BaseCell oldOne, BaseCell newOne) {
+        if (recordBatchOp(new ReplaceCellOp(oldOne, newOne))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (oldOne != null && newOne != null && mGroupBasicAdapter != null && layoutManager != null) {
             int replacePosition = mGroupBasicAdapter.getPositionByItem(oldOne);
             if (replacePosition >= 0) {
                 int cardIdx = mGroupBasicAdapter.findCardIdxFor(replacePosition);
-                Card card = mGroupBasicAdapter.getCardRange(cardIdx).second;
+                Card card = mGroupBasicAdapter.getCardAt(cardIdx);
                 card.replaceCell(oldOne, newOne);
                 mGroupBasicAdapter.replaceComponent(Arrays.asList(oldOne), Arrays.asList(newOne));
             }
@@ -783,6 +1128,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void replace(Card parent, List<BaseCell> cells) {
+        if (recordBatchOp(new ReplaceGroupContentOp(parent, cells))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (parent != null && cells != null && cells.size() > 0 && mGroupBasicAdapter != null && layoutManager != null) {
             Card card = parent;
@@ -791,24 +1139,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
                 card.setCells(cells);
                 mGroupBasicAdapter.replaceComponent(oldChildren, cells);
             } else {
-                List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
                 int cardIdx = mGroupBasicAdapter.findCardIdxForCard(parent);
-                int diff = 0;
-                if (layoutHelpers != null && cardIdx >= 0 && cardIdx < layoutHelpers.size()) {
-                    for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
-                        LayoutHelper layoutHelper = layoutHelpers.get(i);
-                        int start = layoutHelper.getRange().getLower();
-                        int end = layoutHelper.getRange().getUpper();
-                        if (i < cardIdx) {
-                            // do nothing
-                        } else if (i == cardIdx) {
-                            diff = cells.size() - layoutHelper.getItemCount();
-                            layoutHelper.setItemCount(cells.size());
-                            layoutHelper.setRange(start, end + diff);
-                        } else {
-                            layoutHelper.setRange(start + diff, end + diff);
-                        }
-                    }
+                if (cardIdx >= 0) {
+                    // the card's layoutHelper is synced by the adapter
                     card.setCells(cells);
                     mGroupBasicAdapter.replaceComponent(oldChildren, cells);
                 }
@@ -823,20 +1156,25 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 2.1.0
      */
     public void replace(Card oldOne, Card newOne) {
+        if (recordBatchOp(new ReplaceGroupOp(oldOne, newOne))) {
+            return;
+        }
         VirtualLayoutManager layoutManager = getLayoutManager();
         if (oldOne != null && newOne != null && mGroupBasicAdapter != null && layoutManager != null) {
             List<LayoutHelper> layoutHelpers = layoutManager.getLayoutHelpers();
             int cardIdx = mGroupBasicAdapter.findCardIdxForCard(oldOne);
-            if (layoutHelpers != null && cardIdx >= 0 && cardIdx < layoutHelpers.size()) {
-                final List<LayoutHelper> newLayoutHelpers = new LinkedList<>();
-                for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
-                    LayoutHelper layoutHelper = layoutHelpers.get(i);
-                    if (i == cardIdx) {
-                        layoutHelper = newOne.getLayoutHelper();
+            if (cardIdx >= 0 && (mApplyingBatch || layoutHelpers != null && cardIdx < layoutHelpers.size())) {
+                if (!mApplyingBatch) {
+                    final List<LayoutHelper> newLayoutHelpers = new LinkedList<>();
+                    for (int i = 0, size = layoutHelpers.size(); i < size; i++) {
+                        LayoutHelper layoutHelper = layoutHelpers.get(i);
+                        if (i == cardIdx) {
+                            layoutHelper = newOne.getLayoutHelper();
+                        }
+                        newLayoutHelpers.add(layoutHelper);
                     }
-                    newLayoutHelpers.add(layoutHelper);
+                    layoutManager.setLayoutHelpers(newLayoutHelpers);
                 }
-                layoutManager.setLayoutHelpers(newLayoutHelpers);
                 mGroupBasicAdapter.replaceComponent(oldOne, newOne);
             }
         }
@@ -848,6 +1186,9 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
      * @since 3.0.0
      */
     public void update(BaseCell cell) {
+        if (recordBatchOp(new UpdateCellOp(cell))) {
+            return;
+        }
         if (cell != null && mGroupBasicAdapter != null) {
             int position = mGroupBasicAdapter.getPositionByItem(cell);
             if (position >= 0) {
@@ -856,7 +1197,7 @@ public class TangramEngine extends BaseTangramEngine<JSONObject, JSONArray, Card
                 } catch (JSONException e) {
                     e.printStackTrace();
                 }
-                mGroupBasicAdapter.notifyItemChanged(position);
+                mGroupBasicAdapter.notifyComponentChanged(cell);
             }
         }
 
@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.core.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Pair;
+
+import com.alibaba.android.vlayout.Range;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Position index over the item counts of cards, backed by a Fenwick tree of primitive ints. Looking up the card of
+ * an adapter position and growing or shrinking one card (which shifts every following card) are O(log n), card
+ * insert/remove rebuild the tree in O(n) without boxing.
+ */
+public class CardRangeIndex<L> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private Object[] mCards = new Object[0];
+
+    private int[] mCounts = EMPTY;
+
+    /**
+     * 1-based Fenwick tree over {@link #mCounts}
+     */
+    private int[] mTree = EMPTY;
+
+    private int mSize = 0;
+
+    private int mTotal = 0;
+
+    @NonNull
+    private final IdentityHashMap<Object, Integer> mIndex = new IdentityHashMap<>();
+
+    private boolean mIndexValid = true;
+
+    /**
+     * Rebuild the index from cards with materialised ranges.
+     *
+     * @param rangeCards cards with their ranges, ordered by position
+     */
+    public void reset(@NonNull List<Pair<Range<Integer>, L>> rangeCards) {
+        final int size = rangeCards.size();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            Pair<Range<Integer>, L> pair = rangeCards.get(i);
+            mCards[i] = pair.second;
+            mCounts[i] = pair.first.getUpper() - pair.first.getLower();
+        }
+        Arrays.fill(mCards, size, mSize > size ? mSize : size, null);
+        mSize = size;
+        rebuildTree();
+    }
+
+    public void clear() {
+        Arrays.fill(mCards, 0, mSize, null);
+        mSize = 0;
+        mTotal = 0;
+        mIndex.clear();
+        mIndexValid = true;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return sum of item counts of all cards
+     */
+    public int getTotalCount() {
+        return mTotal;
+    }
+
+    @SuppressWarnings("unchecked")
+    public L getCard(int cardIdx) {
+        return (L) mCards[cardIdx];
+    }
+
+    public int getItemCount(int cardIdx) {
+        return mCounts[cardIdx];
+    }
+
+    /**
+     * @return adapter position of the first item of card, O(log n)
+     */
+    public int getStart(int cardIdx) {
+        int sum = 0;
+        for (int i = cardIdx; i > 0; i -= i & -i) {
+            sum += mTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return range [start, end) of card, created on each call
+     */
+    @NonNull
+    public Range<Integer> getRange(int cardIdx) {
+        int start = getStart(cardIdx);
+        return Range.create(start, start + mCounts[cardIdx]);
+    }
+
+    /**
+     * @param position adapter position
+     * @return index of the card containing position, or -1 if out of range. Empty cards never contain a position.
+     */
+    public int findCardIdx(int position) {
+        if (position < 0 || position >= mTotal) {
+            return -1;
+        }
+        int idx = 0;
+        int remain = position;
+        for (int step = Integer.highestOneBit(mSize); step > 0; step >>= 1) {
+            int next = idx + step;
+            if (next <= mSize && mTree[next] <= remain) {
+                idx = next;
+                remain -= mTree[next];
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * @return index of card by identity, or -1
+     */
+    public int indexOf(@Nullable L card) {
+        if (card == null) {
+            return -1;
+        }
+        if (!mIndexValid) {
+            mIndex.clear();
+            for (int i = 0; i < mSize; i++) {
+                mIndex.put(mCards[i], i);
+            }
+            mIndexValid = true;
+        }
+        Integer idx = mIndex.get(card);
+        return idx != null ? idx : -1;
+    }
+
+    /**
+     * Change item count of a card, positions of all following cards move with it. O(log n)
+     */
+    public void adjust(int cardIdx, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        mCounts[cardIdx] += delta;
+        mTotal += delta;
+        for (int i = cardIdx + 1; i <= mSize; i += i & -i) {
+            mTree[i] += delta;
+        }
+    }
+
+    /**
+     * Insert cards before cardIdx, itemCounts holds the item count of each inserted card.
+     */
+    public void insert(int cardIdx, @NonNull List<L> cards, @NonNull int[] itemCounts) {
+        final int count = cards.size();
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(mSize + count);
+        System.arraycopy(mCards, cardIdx, mCards, cardIdx + count, mSize - cardIdx);
+        System.arraycopy(mCounts, cardIdx, mCounts, cardIdx + count, mSize - cardIdx);
+        for (int i = 0; i < count; i++) {
+            mCards[cardIdx + i] = cards.get(i);
+            mCounts[cardIdx + i] = itemCounts[i];
+        }
+        mSize += count;
+        rebuildTree();
+    }
+
+    public void remove(int cardIdx) {
+        System.arraycopy(mCards, cardIdx + 1, mCards, cardIdx, mSize - cardIdx - 1);
+        System.arraycopy(mCounts, cardIdx + 1, mCounts, cardIdx, mSize - cardIdx - 1);
+        mSize--;
+        mCards[mSize] = null;
+        rebuildTree();
+    }
+
+    public void replace(int cardIdx, @NonNull L card, int itemCount) {
+        mCards[cardIdx] = card;
+        mIndexValid = false;
+        adjust(cardIdx, itemCount - mCounts[cardIdx]);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mCounts.length < capacity) {
+            int newCapacity = Math.max(capacity, mCounts.length + (mCounts.length >> 1) + 1);
+            mCards = Arrays.copyOf(mCards, newCapacity);
+            mCounts = Arrays.copyOf(mCounts, newCapacity);
+            mTree = new int[newCapacity + 1];
+        }
+    }
+
+    private void rebuildTree() {
+        Arrays.fill(mTree, 0);
+        int total = 0;
+        for (int i = 1; i <= mSize; i++) {
+            int count = mCounts[i - 1];
+            total += count;
+            mTree[i] += count;
+            int parent = i + (i & -i);
+            if (parent <= mSize) {
+                mTree[parent] += mTree[i];
+            }
+        }
+        mTotal = total;
+        mIndexValid = false;
+    }
+}
@@ -27,10 +27,11 @@ package com.tmall.wireless.tangram.core.adapter;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
 import android.support.v7.widget.RecyclerView;
 import android.util.Pair;
 import android.util.SparseArray;
-import android.util.SparseBooleanArray;
 import android.view.View;
 import android.view.ViewGroup;
 
@@ -44,12 +45,16 @@ import com.tmall.wireless.tangram.core.protocol.ControlBinderResolver;
 import com.tmall.wireless.tangram.core.protocol.LayoutBinder;
 import com.tmall.wireless.tangram.core.protocol.LayoutBinderResolver;
 import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
 import com.tmall.wireless.tangram.support.InternalErrorSupport;
 import com.tmall.wireless.tangram.util.Preconditions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -72,7 +77,29 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
     protected ArrayList<Pair<Range<Integer>, L>> mCards = new ArrayList<>();
 
     @NonNull
-    protected List<C> mData = new LinkedList<>();
+    private final IndexedCellList<C> mCellList = new IndexedCellList<>();
+
+    @NonNull
+    protected List<C> mData = mCellList;
+
+    /**
+     * position index over {@link #mCards}, ranges in {@link #mCards} are re-created from it on demand
+     */
+    @NonNull
+    private final CardRangeIndex<L> mCardIndex = new CardRangeIndex<>();
+
+    /**
+     * ranges in {@link #mCards} from this card index on are stale, see {@link #syncCardRanges()}
+     */
+    private int mStaleRangeFrom = Integer.MAX_VALUE;
+
+    private int mCardsVersion = 0;
+
+    /**
+     * the {@link #mCards} instance {@link #mCardIndex} was last synced with, a subclass that assigns or modifies
+     * {@link #mCards} directly must call {@link #resetCardIndex()}
+     */
+    private List<Pair<Range<Integer>, L>> mIndexedCards;
 
     private ControlBinderResolver<? extends ControlBinder<C, ? extends View>> mCompBinderResolver;
 
@@ -82,6 +109,8 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
 
     private InternalErrorSupport errorSupport;
 
+    private ViewPoolPrewarmer mPrewarmer;
+
     public GroupBasicAdapter(@NonNull final Context context, @NonNull final VirtualLayoutManager layoutManager,
                              @NonNull ControlBinderResolver<? extends ControlBinder<C, ? extends View>> cellBinderResolver,
                              @NonNull LayoutBinderResolver<L, ? extends LayoutBinder<L>> cardBinderResolver) {
@@ -102,47 +131,312 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
         this.errorSupport = errorSupport;
     }
 
-    private final SparseBooleanArray pendingDeleteMap = new SparseBooleanArray();
+    public void setViewPoolPrewarmer(@Nullable ViewPoolPrewarmer prewarmer) {
+        this.mPrewarmer = prewarmer;
+    }
+
+    private final Map<L, Boolean> snapshot = new IdentityHashMap<>(64);
     private final SparseArray<L> oldMap = new SparseArray<>(64);
     private final SparseArray<L> newMap = new SparseArray<>(64);
 
+    private boolean mIncrementalUpdateEnabled = true;
+
+    /**
+     * copy of cells taken by {@link #beginBatch()}, null if not batching
+     */
+    private List<C> mBatchOldData;
+
+    private final Map<C, Boolean> mBatchChanged = new IdentityHashMap<>();
+
+    private int mBatchRebindFrom = Integer.MAX_VALUE;
+
+    /**
+     * @param enabled true to notify data changes with item range/move events computed by diffing old and new cells,
+     *                false to always call {@link RecyclerView.Adapter#notifyDataSetChanged()}
+     */
+    public void setIncrementalUpdateEnabled(boolean enabled) {
+        this.mIncrementalUpdateEnabled = enabled;
+    }
+
     private void createSnapshot() {
-        oldMap.clear();
-        List<L> groups = getGroups();
-        for (int i = 0, size = groups.size(); i < size; i++) {
-            L group = groups.get(i);
-            oldMap.put(System.identityHashCode(group), group);
+        snapshot.clear();
+        for (int i = 0, size = mCards.size(); i < size; i++) {
+            snapshot.put(mCards.get(i).second, Boolean.TRUE);
         }
     }
 
 
     private void diffWithSnapshot() {
-        pendingDeleteMap.clear();
+        oldMap.clear();
         newMap.clear();
 
-        List<L> groups = getGroups();
-        for (int i = 0, size = groups.size(); i < size; i++) {
-            L group = groups.get(i);
-            newMap.put(System.identityHashCode(group), group);
-        }
-
-        for (int i = 0, size = newMap.size(); i < size; i++) {
-            int key = newMap.keyAt(i);
-            if (oldMap.get(key) != null) {
-                oldMap.remove(key);
-                pendingDeleteMap.put(key, true);
+        for (int i = 0, size = mCards.size(); i < size; i++) {
+            L group = mCards.get(i).second;
+            Boolean state = snapshot.put(group, Boolean.FALSE);
+            if (state == null) {
+                // not in snapshot, mark it as visited and added
+                newMap.put(newMap.size(), group);
             }
         }
-        for (int i = 0, size = pendingDeleteMap.size(); i < size; i++) {
-            newMap.remove(pendingDeleteMap.keyAt(i));
+        for (Map.Entry<L, Boolean> entry : snapshot.entrySet()) {
+            if (entry.getValue() == Boolean.TRUE) {
+                oldMap.put(oldMap.size(), entry.getKey());
+            }
         }
 
         diffGroup(newMap, oldMap);
 
+        snapshot.clear();
         oldMap.clear();
         newMap.clear();
     }
 
+    /**
+     * Notify RecyclerView with granular item events computed by diffing old and new cells, cells are matched by
+     * identity or {@link #isSameItem}, so a re-parsed page still updates in place.
+     *
+     * @param oldData   cells before the change, null to notify a full data set change
+     * @param rebindAll true to rebind matched cells too, for cells that may have been changed in place
+     */
+    private void notifyDataDiff(@Nullable final List<C> oldData, boolean rebindAll) {
+        final List<C> newData = mData;
+        if (oldData == null || oldData.isEmpty() || newData.isEmpty()) {
+            notifyDataSetChanged();
+            return;
+        }
+        calculateDiff(oldData, newData, rebindAll).dispatchUpdatesTo(this);
+    }
+
+    /**
+     * Start merging component mutations, notifications of {@link #removeComponent(Object)},
+     * {@link #insertComponents(int, List)} and the like are held back until {@link #commitBatch()}.
+     */
+    public void beginBatch() {
+        if (mBatchOldData == null) {
+            mBatchOldData = new ArrayList<>(mData);
+        }
+    }
+
+    public boolean isBatching() {
+        return mBatchOldData != null;
+    }
+
+    /**
+     * Recompute layoutHelpers once and dispatch a single merged set of notifications for the mutations since
+     * {@link #beginBatch()}.
+     */
+    public void commitBatch() {
+        final List<C> oldData = mBatchOldData;
+        if (oldData == null) {
+            return;
+        }
+        mBatchOldData = null;
+
+        syncCardRanges();
+        setLayoutHelpers(createLayoutHelpers(mCards, 0));
+
+        notifyDataDiff(mIncrementalUpdateEnabled ? oldData : null, false);
+
+        final int size = mData.size();
+        if (mBatchRebindFrom < size) {
+            int last = mLayoutManager.findLastVisibleItemPosition();
+            if (last >= mBatchRebindFrom) {
+                notifyItemRangeChanged(mBatchRebindFrom, last - mBatchRebindFrom + 1);
+            }
+        }
+        for (C cell : mBatchChanged.keySet()) {
+            int position = mData.indexOf(cell);
+            if (position >= 0 && position < mBatchRebindFrom) {
+                notifyItemChanged(position);
+            }
+        }
+        mBatchChanged.clear();
+        mBatchRebindFrom = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Rebind a cell whose data changed, deferred to {@link #commitBatch()} while batching.
+     *
+     * @param cell cell object
+     */
+    public void notifyComponentChanged(@NonNull C cell) {
+        if (isBatching()) {
+            mBatchChanged.put(cell, Boolean.TRUE);
+        } else {
+            int position = mData.indexOf(cell);
+            if (position >= 0) {
+                notifyItemChanged(position);
+            }
+        }
+    }
+
+    /**
+     * Re-collect cells of the given cards only, update their layoutHelpers' item count and notify changes within
+     * their ranges. Cards no longer in the adapter are ignored.
+     *
+     * @param cards cards whose cells changed
+     */
+    public void notifyCardsChanged(@NonNull Collection<L> cards) {
+        int count = 0;
+        int[] cardIdxs = new int[cards.size()];
+        for (L card : cards) {
+            int idx = findCardIdxForCard(card);
+            if (idx >= 0) {
+                cardIdxs[count++] = idx;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        Arrays.sort(cardIdxs, 0, count);
+
+        final boolean notify = !isBatching();
+        final int[] starts = new int[count];
+        final List<List<C>> oldItems = new ArrayList<>(count);
+        final List<LayoutHelper> helpers = new ArrayList<>(getLayoutHelpers());
+        boolean helpersMatched = true;
+        for (int i = 0; i < count; i++) {
+            final int idx = cardIdxs[i];
+            if (i > 0 && idx == cardIdxs[i - 1]) {
+                starts[i] = -1;
+                oldItems.add(null);
+                continue;
+            }
+            final L card = getCardAt(idx);
+            final int start = getCardStart(idx);
+            final int oldCount = getCardItemCount(idx);
+            final List<C> items = getItems(card);
+            final int newCount = items == null ? 0 : items.size();
+
+            final IndexedCellList<C> cellList = getCellList();
+            final List<C> removed = new ArrayList<>(cellList.subList(start, start + oldCount));
+            final int version = cellList.getVersion();
+            starts[i] = start;
+            oldItems.add(removed);
+            cellList.removeRange(start, start + oldCount);
+            if (newCount > 0) {
+                mData.addAll(start, items);
+            }
+            onItemsReplaced(version, start, removed, items == null ? Collections.<C>emptyList() : items);
+            resizeCard(idx, newCount - oldCount);
+
+            final String ctype = getCardStringType(card);
+            LayoutHelper helper = mCardBinderResolver.create(ctype).getHelper(ctype, card);
+            if (helper != null && helpers.indexOf(helper) >= 0) {
+                helper.setItemCount(newCount);
+            } else {
+                helpersMatched = false;
+            }
+        }
+
+        if (helpersMatched) {
+            setLayoutHelpers(helpers);
+        } else {
+            // a card changed its layoutHelper instance
+            syncCardRanges();
+            setLayoutHelpers(createLayoutHelpers(mCards, 0));
+        }
+        for (int i = 0; i < count; i++) {
+            if (starts[i] >= 0) {
+                detachItems(oldItems.get(i));
+            }
+        }
+
+        if (!notify) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            final int start = starts[i];
+            if (start < 0) {
+                continue;
+            }
+            final List<C> oldData = oldItems.get(i);
+            final List<C> newData = mData.subList(start, start + getCardItemCount(cardIdxs[i]));
+            if (mIncrementalUpdateEnabled && !oldData.isEmpty() && !newData.isEmpty()) {
+                calculateDiff(oldData, newData, false).dispatchUpdatesTo(new ListUpdateCallback() {
+                    @Override
+                    public void onInserted(int position, int count) {
+                        notifyItemRangeInserted(start + position, count);
+                    }
+
+                    @Override
+                    public void onRemoved(int position, int count) {
+                        notifyItemRangeRemoved(start + position, count);
+                    }
+
+                    @Override
+                    public void onMoved(int fromPosition, int toPosition) {
+                        notifyItemMoved(start + fromPosition, start + toPosition);
+                    }
+
+                    @Override
+                    public void onChanged(int position, int count, Object payload) {
+                        notifyItemRangeChanged(start + position, count, payload);
+                    }
+                });
+            } else {
+                final int oldCount = oldData.size();
+                final int newCount = newData.size();
+                final int common = Math.min(oldCount, newCount);
+                if (common > 0) {
+                    notifyItemRangeChanged(start, common);
+                }
+                if (newCount > oldCount) {
+                    notifyItemRangeInserted(start + common, newCount - common);
+                } else if (oldCount > newCount) {
+                    notifyItemRangeRemoved(start + common, oldCount - common);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visible cells from position on are rebound by {@link #commitBatch()}, used by removals that shift positions.
+     *
+     * @param position adapter position
+     */
+    protected void rebindInBatchFrom(int position) {
+        if (position < mBatchRebindFrom) {
+            mBatchRebindFrom = position;
+        }
+    }
+
+    @NonNull
+    private DiffUtil.DiffResult calculateDiff(@NonNull final List<C> oldData, @NonNull final List<C> newData,
+        final boolean rebindAll) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldData.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newData.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                C oldItem = oldData.get(oldItemPosition);
+                C newItem = newData.get(newItemPosition);
+                return oldItem == newItem || isSameItem(oldItem, newItem);
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return !rebindAll && oldData.get(oldItemPosition) == newData.get(newItemPosition);
+            }
+        }, true);
+    }
+
+    /**
+     * Whether two different cell instances represent the same item, so a change is notified instead of remove and
+     * insert. Compared by identity only by default.
+     */
+    protected boolean isSameItem(@NonNull C oldItem, @NonNull C newItem) {
+        return false;
+    }
+
     /**
      * set data without call {@link RecyclerView.Adapter#notifyDataSetChanged()}
      *
@@ -159,6 +453,8 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
     public void setData(@Nullable List<L> cards, boolean silence) {
         createSnapshot();
 
+        final List<C> oldData = new ArrayList<>(mData);
+
         mCards.clear();
         mData.clear();
 
@@ -169,11 +465,13 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
         } else {
             setLayoutHelpers(Collections.<LayoutHelper>emptyList());
         }
+        resetCardIndex();
 
         diffWithSnapshot();
+        detachItems(oldData);
 
         if (!silence)
-            notifyDataSetChanged();
+            notifyDataDiff(mIncrementalUpdateEnabled ? oldData : null, false);
     }
 
     /**
@@ -187,19 +485,25 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
 
         createSnapshot();
 
+        final int oldItemCount = mData.size();
+
         final List<LayoutHelper> helpers = new LinkedList<>(getLayoutHelpers());
 
+        syncCardRanges();
         mCards.ensureCapacity(mCards.size() + cards.size());
 
         helpers.addAll(transformCards(cards, mData, mCards));
+        resetCardIndex();
 
         setLayoutHelpers(helpers);
 
         diffWithSnapshot();
 
-        // not use {@link notifyItemRangeChanged} because not sure whether animations is required
-        // notifyItemRangeChanged(oldItem, newitems);
-        notifyDataSetChanged();
+        if (mIncrementalUpdateEnabled && oldItemCount > 0) {
+            notifyItemRangeInserted(oldItemCount, mData.size() - oldItemCount);
+        } else {
+            notifyDataSetChanged();
+        }
     }
 
     /**
@@ -240,15 +544,27 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
             return new LinkedList<>();
         }
 
+        int from = rangeCards.size();
+        collectItems(cards, data, rangeCards);
+        return createLayoutHelpers(rangeCards, from);
+    }
 
+    /**
+     * Add cells in cards into data and record each card with its range, no layoutHelper is touched so it is safe to
+     * run off the main thread with fresh lists.
+     *
+     * @param cards cards will be transformed
+     * @param data  list of items that items will be added to
+     * @param rangeCards list of cards with ranges that will be added to
+     */
+    protected void collectItems(@NonNull List<L> cards, final @NonNull List<C> data,
+                                @NonNull List<Pair<Range<Integer>, L>> rangeCards) {
         int lastPos = data.size();
-        List<LayoutHelper> helpers = new ArrayList<>(cards.size());
         for (int i = 0, size = cards.size(); i < size; i++) {
             L card = cards.get(i);
 
             if (card == null) continue;
 
-            final String ctype = getCardStringType(card);
             List<C> items = getItems(card);
             if (items == null) {
                 // skip card null
@@ -262,6 +578,16 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
             lastPos += items.size();
             // include [x, x) for empty range, upper are not included in range
             rangeCards.add(Pair.create(Range.create(offset, lastPos), card));
+        }
+    }
+
+    @NonNull
+    private List<LayoutHelper> createLayoutHelpers(@NonNull List<Pair<Range<Integer>, L>> rangeCards, int from) {
+        List<LayoutHelper> helpers = new ArrayList<>(rangeCards.size() - from);
+        for (int i = from, size = rangeCards.size(); i < size; i++) {
+            Pair<Range<Integer>, L> pair = rangeCards.get(i);
+            L card = pair.second;
+            final String ctype = getCardStringType(card);
 
             // get layoutHelper for this card
             LayoutBinder<L> binder = mCardBinderResolver.create(ctype);
@@ -269,7 +595,7 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
 
 
             if (helper != null) {
-                helper.setItemCount(items.size());
+                helper.setItemCount(pair.first.getUpper() - pair.first.getLower());
                 helpers.add(helper);
             }
         }
@@ -277,6 +603,88 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
         return helpers;
     }
 
+    /**
+     * Flatten cards and diff them against a snapshot of current cells, this does not touch adapter state and is
+     * meant to run on a background thread. Cards must not be modified until the result is applied.
+     *
+     * @param cards   new cards data
+     * @param oldData a copy of current cells taken on the main thread, see {@link #getComponents()}
+     * @return change set to apply with {@link #applyPreparedData(PreparedData)}
+     */
+    @NonNull
+    public PreparedData<L, C> prepareData(@Nullable List<L> cards, @NonNull final List<C> oldData) {
+        final PreparedData<L, C> prepared = new PreparedData<>(oldData);
+        if (cards != null && cards.size() != 0) {
+            collectItems(cards, prepared.data, prepared.rangeCards);
+        }
+        final List<C> newData = prepared.data;
+        if (mIncrementalUpdateEnabled && !oldData.isEmpty() && !newData.isEmpty()) {
+            prepared.diffResult = calculateDiff(oldData, newData, false);
+        }
+        return prepared;
+    }
+
+    /**
+     * Swap in data computed by {@link #prepareData(List, List)}, must be called on the main thread. Falls back to
+     * {@link RecyclerView.Adapter#notifyDataSetChanged()} if cells changed since the snapshot was taken.
+     *
+     * @param prepared pre-computed change set
+     */
+    public void applyPreparedData(@NonNull PreparedData<L, C> prepared) {
+        boolean diffValid = prepared.diffResult != null && isSameData(prepared.oldData);
+
+        createSnapshot();
+
+        final List<C> oldData = new ArrayList<>(mData);
+
+        mCards.clear();
+        mData.clear();
+
+        mCards.addAll(prepared.rangeCards);
+        mData.addAll(prepared.data);
+        resetCardIndex();
+        setLayoutHelpers(createLayoutHelpers(mCards, 0));
+
+        diffWithSnapshot();
+        detachItems(oldData);
+
+        if (diffValid) {
+            prepared.diffResult.dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    private boolean isSameData(@NonNull List<C> data) {
+        if (data.size() != mData.size()) {
+            return false;
+        }
+        for (int i = 0, size = data.size(); i < size; i++) {
+            if (data.get(i) != mData.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cards, cells and diff result computed off the main thread.
+     */
+    public static final class PreparedData<L, C> {
+
+        private final List<C> oldData;
+
+        private final List<C> data = new ArrayList<>();
+
+        private final List<Pair<Range<Integer>, L>> rangeCards = new ArrayList<>();
+
+        private DiffUtil.DiffResult diffResult;
+
+        private PreparedData(@NonNull List<C> oldData) {
+            this.oldData = oldData;
+        }
+    }
+
 
     @Override
     public BinderViewHolder<C, ? extends View> onCreateViewHolder(ViewGroup parent, int viewType) {
@@ -298,6 +706,9 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
         if (mPerformanceMonitor != null) {
             mPerformanceMonitor.recordEnd(PHASE_CREATE, cellType);
         }
+        if (mPrewarmer != null) {
+            mPrewarmer.onViewHolderCreated(binderViewHolder);
+        }
         return binderViewHolder;
     }
 
@@ -317,6 +728,9 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
         if (mPerformanceMonitor != null) {
             mPerformanceMonitor.recordEnd(PHASE_BIND, holder.itemView);
         }
+        if (mPrewarmer != null) {
+            mPrewarmer.onViewHolderBound(holder);
+        }
     }
 
 
@@ -347,22 +761,37 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
      */
     public Pair<Range<Integer>, L> getCardRange(int index) {
         if (index >= 0 && index <= mCards.size() - 1) {
+            syncCardRanges();
             return mCards.get(index);
         } else {
             return null;
         }
     }
 
+    /**
+     * @param index card index
+     * @return card at given index, unlike {@link #getCardRange(int)} no range is materialised
+     */
+    @Nullable
+    public L getCardAt(int index) {
+        if (index >= 0 && index < mCards.size()) {
+            return mCards.get(index).second;
+        } else {
+            return null;
+        }
+    }
+
     /**
      * @param card
      * @return card range of given instance
      */
+    @SuppressWarnings("unchecked")
     public Range<Integer> getCardRange(Card card) {
         if (card == null) return Range.create(0, 1);
 
-        int idx = getGroups().indexOf(card);
+        int idx = findCardIdxForCard((L) card);
         if (idx >= 0) {
-            return mCards.get(idx).first;
+            return getCardRange(idx).first;
         } else {
             return Range.create(0, 1);
         }
@@ -373,12 +802,8 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
      * @return card index of given instance
      */
     public int findCardIdxForCard(L card) {
-        for (int i = 0, size = mCards.size(); i < size; i++) {
-            if (mCards.get(i).second == card) {
-                return i;
-            }
-        }
-        return -1;
+        ensureCardIndex();
+        return mCardIndex.indexOf(card);
     }
 
     /**
@@ -386,23 +811,159 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
      * @return the card index of given cell's position
      */
     public int findCardIdxFor(int position) {
-        int low = 0, mid = mCards.size(), high = mid - 1;
-        while (low <= high) {
-            mid = (low + high) >>> 1;
-            Pair<Range<Integer>, L> pair = mCards.get(mid);
+        ensureCardIndex();
+        return mCardIndex.findCardIdx(position);
+    }
+
+    /**
+     * @param cardIdx card index
+     * @return adapter position of the first cell in card
+     */
+    protected int getCardStart(int cardIdx) {
+        ensureCardIndex();
+        return mCardIndex.getStart(cardIdx);
+    }
 
-            if (pair == null) return -1;
+    /**
+     * @param cardIdx card index
+     * @return cell count of card
+     */
+    protected int getCardItemCount(int cardIdx) {
+        ensureCardIndex();
+        return mCardIndex.getItemCount(cardIdx);
+    }
 
-            if (pair.first.getLower() <= position && pair.first.getUpper() > position) {
-                return mid;
-            } else if (pair.first.getUpper() <= position) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
+    /**
+     * Rebuild the position index after ranges in {@link #mCards} are rebuilt as a whole.
+     */
+    protected void resetCardIndex() {
+        mCardIndex.reset(mCards);
+        mStaleRangeFrom = Integer.MAX_VALUE;
+        mCardsVersion++;
+        markCardsIndexed();
+    }
+
+    /**
+     * @return a number that changes whenever cards are added, removed or replaced, used to invalidate derived indexes
+     */
+    protected int getCardsVersion() {
+        return mCardsVersion;
+    }
+
+    /**
+     * Grow or shrink a card, ranges of the following cards are shifted in O(log n) and materialised lazily.
+     *
+     * @param cardIdx card index
+     * @param delta   change of cell count
+     */
+    protected void resizeCard(int cardIdx, int delta) {
+        ensureCardIndex();
+        mCardIndex.adjust(cardIdx, delta);
+        markRangesStale(cardIdx);
+    }
+
+    /**
+     * Sync the layoutHelper of a card whose cell count was changed by a component mutation. Only that helper is
+     * touched, the layout manager derives ranges of the other helpers from their item counts. Skipped while
+     * batching, {@link #commitBatch()} recreates all helpers once.
+     *
+     * @param card      the changed card
+     * @param itemCount its new cell count, 0 if the card was removed
+     */
+    protected void updateCardLayoutHelper(@NonNull L card, int itemCount) {
+        if (isBatching()) {
+            return;
+        }
+        final List<LayoutHelper> helpers = new ArrayList<>(getLayoutHelpers());
+        final String ctype = getCardStringType(card);
+        final LayoutHelper helper = mCardBinderResolver.create(ctype).getHelper(ctype, card);
+        final int helperIdx = helper != null ? helpers.indexOf(helper) : -1;
+        if (helperIdx < 0) {
+            // a card changed its layoutHelper instance
+            syncCardRanges();
+            setLayoutHelpers(createLayoutHelpers(mCards, 0));
+        } else if (itemCount > 0) {
+            helper.setItemCount(itemCount);
+            setLayoutHelpers(helpers);
+        } else {
+            helpers.remove(helperIdx);
+            setLayoutHelpers(helpers);
+        }
+    }
+
+    /**
+     * @param cardIdx    index cards are inserted before
+     * @param cards      cards to insert
+     * @param itemCounts cell count of each inserted card
+     */
+    protected void insertCards(int cardIdx, @NonNull List<L> cards, @NonNull int[] itemCounts) {
+        ensureCardIndex();
+        final int size = cards.size();
+        final List<Pair<Range<Integer>, L>> pairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pairs.add(Pair.create(Range.create(0, itemCounts[i]), cards.get(i)));
+        }
+        mCardIndex.insert(cardIdx, cards, itemCounts);
+        mCards.addAll(cardIdx, pairs);
+        mCardsVersion++;
+        markCardsIndexed();
+        markRangesStale(cardIdx);
+    }
+
+    protected void removeCard(int cardIdx) {
+        ensureCardIndex();
+        mCardIndex.remove(cardIdx);
+        mCards.remove(cardIdx);
+        mCardsVersion++;
+        markCardsIndexed();
+        markRangesStale(cardIdx);
+    }
+
+    protected void replaceCard(int cardIdx, @NonNull L card, int itemCount) {
+        ensureCardIndex();
+        mCardIndex.replace(cardIdx, card, itemCount);
+        mCards.set(cardIdx, Pair.create(mCards.get(cardIdx).first, card));
+        mCardsVersion++;
+        markCardsIndexed();
+        markRangesStale(cardIdx);
+    }
+
+    /**
+     * Re-create stale ranges in {@link #mCards}, call it before reading ranges from {@link #mCards} directly.
+     */
+    protected void syncCardRanges() {
+        ensureCardIndex();
+        final int size = mCards.size();
+        if (mStaleRangeFrom < size) {
+            int start = mCardIndex.getStart(mStaleRangeFrom);
+            for (int i = mStaleRangeFrom; i < size; i++) {
+                int end = start + mCardIndex.getItemCount(i);
+                Pair<Range<Integer>, L> pair = mCards.get(i);
+                if (pair.first.getLower() != start || pair.first.getUpper() != end) {
+                    mCards.set(i, Pair.create(Range.create(start, end), pair.second));
+                }
+                start = end;
             }
+            markCardsIndexed();
         }
+        mStaleRangeFrom = Integer.MAX_VALUE;
+    }
 
-        return -1;
+    private void markRangesStale(int cardIdx) {
+        if (cardIdx < mStaleRangeFrom) {
+            mStaleRangeFrom = cardIdx;
+        }
+    }
+
+    private void ensureCardIndex() {
+        if (mIndexedCards != mCards || mCardIndex.size() != mCards.size()) {
+            // mCards was replaced or resized directly
+            resetCardIndex();
+        }
+    }
+
+    private void markCardsIndexed() {
+        mIndexedCards = mCards;
     }
 
     /**
@@ -438,6 +999,83 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
      */
     public abstract Card getCardById(String id);
 
+    /**
+     * @param id cell id
+     * @return the first cell with given id
+     */
+    public C findCellById(String id) {
+        if (id == null) {
+            return null;
+        }
+        for (int i = 0, size = mData.size(); i < size; i++) {
+            C cell = mData.get(i);
+            if (cell instanceof BaseCell && id.equals(((BaseCell) cell).id)) {
+                return cell;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pass cells that are no longer in {@link #mData} to {@link #onItemsDetached(List)}, cells still in it at another
+     * position are skipped.
+     *
+     * @param cells cells that were removed or replaced
+     */
+    protected void detachItems(@NonNull List<C> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
+        final IndexedCellList<C> cellList = getCellList();
+        List<C> detached = null;
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            C cell = cells.get(i);
+            if (cell != null && cellList.indexOf(cell) < 0) {
+                if (detached == null) {
+                    detached = new ArrayList<>(size - i);
+                }
+                detached.add(cell);
+            }
+        }
+        if (detached != null) {
+            onItemsDetached(detached);
+        }
+    }
+
+    /**
+     * Called once for cells that left the adapter, whichever way they were removed or replaced, so state kept per
+     * cell can be released.
+     *
+     * @param cells cells no longer in the adapter
+     */
+    protected void onItemsDetached(@NonNull List<C> cells) {
+    }
+
+    /**
+     * @return the indexed store behind {@link #mData}, refilled from {@link #mData} if another list was assigned to it
+     */
+    @NonNull
+    protected IndexedCellList<C> getCellList() {
+        if (mData != mCellList) {
+            mCellList.clear();
+            mCellList.addAll(mData);
+            mData = mCellList;
+        }
+        return mCellList;
+    }
+
+    /**
+     * Called after cells starting at <code>position</code> in {@link #mData} were replaced, so subclasses can patch
+     * indexes derived from it instead of rebuilding them.
+     *
+     * @param versionBefore {@link IndexedCellList#getVersion()} before the change
+     * @param position      position of the first changed cell
+     * @param removed       cells removed at position, may be empty
+     * @param inserted      cells inserted at position, may be empty
+     */
+    protected void onItemsReplaced(int versionBefore, int position, @NonNull List<C> removed, @NonNull List<C> inserted) {
+    }
+
     /**
      * @param type cell's type
      * @return last appearance position
@@ -474,6 +1112,23 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
      */
     public abstract int getItemType(C item);
 
+    /**
+     * @param cellType type of cell
+     * @return itemType that cells of this type get from {@link #getItemType(Object)}, or -1 if the adapter can not
+     * tell it without a cell
+     */
+    public int getItemTypeFromCellType(@NonNull String cellType) {
+        return -1;
+    }
+
+    /**
+     * @param cellType type of cell
+     * @return true if a binder is registered for this type
+     */
+    public boolean hasCellType(@NonNull String cellType) {
+        return mCompBinderResolver.has(cellType);
+    }
+
     @Override
     public int getItemViewType(int position) {
         C data = mData.get(position);
@@ -498,7 +1153,10 @@ public abstract class GroupBasicAdapter<L, C> extends VirtualLayoutAdapter<Binde
 
     public void notifyUpdate(boolean layoutUpdated) {
         if (layoutUpdated) {
-            setData(getGroups());
+            // cells may have been changed in place, so matched cells are rebound as well
+            final List<C> oldData = new ArrayList<>(mData);
+            setData(getGroups(), true);
+            notifyDataDiff(mIncrementalUpdateEnabled ? oldData : null, true);
         } else {
             notifyDataSetChanged();
         }
@@ -0,0 +1,263 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.core.adapter;
+
+import android.support.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Array backed cell store used by {@link GroupBasicAdapter}. Positional reads are O(1), range insert/remove are
+ * a single array copy, and {@link #indexOf(Object)} is answered from an identity index that is only rebuilt from
+ * the first modified position on demand.
+ */
+public class IndexedCellList<C> extends AbstractList<C> implements RandomAccess {
+
+    @NonNull
+    private final ArrayList<C> mElements;
+
+    @NonNull
+    private final IdentityHashMap<Object, Integer> mIndex;
+
+    /**
+     * entries in {@link #mIndex} pointing to positions below this value are valid
+     */
+    private int mIndexedUntil = 0;
+
+    /**
+     * bumped on every change including {@link #set(int, Object)}, unlike {@link #modCount}
+     */
+    private int mVersion = 0;
+
+    public IndexedCellList() {
+        this(16);
+    }
+
+    public IndexedCellList(int initialCapacity) {
+        mElements = new ArrayList<>(initialCapacity);
+        mIndex = new IdentityHashMap<>(initialCapacity);
+    }
+
+    @Override
+    public C get(int location) {
+        return mElements.get(location);
+    }
+
+    @Override
+    public int size() {
+        return mElements.size();
+    }
+
+    @Override
+    public C set(int location, C object) {
+        C old = mElements.set(location, object);
+        if (old != object) {
+            mVersion++;
+            invalidateFrom(location);
+            dropIndex(old);
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int location, C object) {
+        mElements.add(location, object);
+        modCount++;
+        mVersion++;
+        invalidateFrom(location);
+    }
+
+    @Override
+    public boolean add(C object) {
+        mElements.add(object);
+        modCount++;
+        mVersion++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends C> collection) {
+        modCount++;
+        mVersion++;
+        return mElements.addAll(collection);
+    }
+
+    @Override
+    public boolean addAll(int location, Collection<? extends C> collection) {
+        boolean changed = mElements.addAll(location, collection);
+        if (changed) {
+            modCount++;
+            mVersion++;
+            invalidateFrom(location);
+        }
+        return changed;
+    }
+
+    @Override
+    public C remove(int location) {
+        C old = mElements.remove(location);
+        modCount++;
+        mVersion++;
+        invalidateFrom(location);
+        dropIndex(old);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        int index = indexOf(object);
+        if (index >= 0) {
+            remove(index);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes cells in [fromIndex, toIndex) with a single array copy.
+     */
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        invalidateFrom(fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            dropIndex(mElements.get(i));
+        }
+        mElements.subList(fromIndex, toIndex).clear();
+        modCount++;
+        mVersion++;
+    }
+
+    /**
+     * Removes all given cells, compared by identity, in one pass over the store.
+     */
+    @Override
+    public boolean removeAll(@NonNull Collection<?> collection) {
+        if (collection.isEmpty() || mElements.isEmpty()) {
+            return false;
+        }
+        Set<Object> removed = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>(collection.size()));
+        removed.addAll(collection);
+        int write = 0;
+        int firstRemoved = -1;
+        for (int read = 0, size = mElements.size(); read < size; read++) {
+            C cell = mElements.get(read);
+            if (removed.contains(cell)) {
+                if (firstRemoved < 0) {
+                    firstRemoved = read;
+                    invalidateFrom(read);
+                }
+                dropIndex(cell);
+            } else {
+                if (write != read) {
+                    mElements.set(write, cell);
+                }
+                write++;
+            }
+        }
+        if (firstRemoved < 0) {
+            return false;
+        }
+        mElements.subList(write, mElements.size()).clear();
+        modCount++;
+        mVersion++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        mElements.clear();
+        mIndex.clear();
+        mIndexedUntil = 0;
+        modCount++;
+        mVersion++;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    /**
+     * @return a number that changes whenever content of this list changes, used to invalidate derived indexes
+     */
+    public int getVersion() {
+        return mVersion;
+    }
+
+    /**
+     * @param object cell instance
+     * @return position of the cell compared by identity, or -1
+     */
+    @Override
+    public int indexOf(Object object) {
+        Integer index = mIndex.get(object);
+        if (index != null && index < mIndexedUntil) {
+            return index;
+        }
+        if (mIndexedUntil < mElements.size()) {
+            indexToEnd();
+            index = mIndex.get(object);
+        }
+        if (index != null && index < mElements.size() && mElements.get(index) == object) {
+            return index;
+        }
+        return -1;
+    }
+
+    private void indexToEnd() {
+        for (int i = mIndexedUntil, size = mElements.size(); i < size; i++) {
+            C cell = mElements.get(i);
+            Integer prev = mIndex.get(cell);
+            // keep the first appearance if the same instance is added more than once
+            if (prev == null || prev >= i || mElements.get(prev) != cell) {
+                mIndex.put(cell, i);
+            }
+        }
+        mIndexedUntil = mElements.size();
+    }
+
+    private void invalidateFrom(int location) {
+        if (location < mIndexedUntil) {
+            mIndexedUntil = location;
+        }
+    }
+
+    private void dropIndex(Object cell) {
+        Integer index = mIndex.get(cell);
+        // entries in the valid range still belong to another appearance of the same instance
+        if (index != null && index >= mIndexedUntil) {
+            mIndex.remove(cell);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.core.adapter;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Creates view holders for expected cell types while the main thread is idle and puts them into the recycled view
+ * pool of the content view, so the first layout finds them instead of inflating.
+ * <p>
+ * Must be used on the main thread, create it through {@link com.tmall.wireless.tangram.TangramEngine#prewarm(Map)}.
+ */
+public class ViewPoolPrewarmer implements MessageQueue.IdleHandler {
+
+    /**
+     * time spent creating views in one idle callback
+     */
+    private static final long IDLE_BUDGET_NS = 4000000L;
+
+    /**
+     * the pool keeps this many views per type unless told otherwise
+     */
+    private static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+
+    @NonNull
+    private final GroupBasicAdapter<?, ?> mAdapter;
+
+    @NonNull
+    private final RecyclerView mContentView;
+
+    /**
+     * pending work as {viewType, capacity}
+     */
+    private final LinkedList<int[]> mPending = new LinkedList<>();
+
+    private final Map<BinderViewHolder, Boolean> mPrewarmed = new WeakHashMap<>();
+
+    private boolean mScheduled;
+
+    private boolean mCreating;
+
+    private int mCreatedCount;
+
+    private int mHitCount;
+
+    private int mMissCount;
+
+    public ViewPoolPrewarmer(@NonNull GroupBasicAdapter<?, ?> adapter, @NonNull RecyclerView contentView) {
+        this.mAdapter = adapter;
+        this.mContentView = contentView;
+    }
+
+    /**
+     * Queue view creation, types not registered are ignored.
+     *
+     * @param typeCounts number of views wanted in the pool for each cell type
+     */
+    public void prewarm(@NonNull Map<String, Integer> typeCounts) {
+        RecyclerView.RecycledViewPool pool = mContentView.getRecycledViewPool();
+        for (Map.Entry<String, Integer> entry : typeCounts.entrySet()) {
+            String type = entry.getKey();
+            Integer count = entry.getValue();
+            if (type == null || count == null || count <= 0 || !mAdapter.hasCellType(type)) {
+                continue;
+            }
+            int viewType = mAdapter.getItemTypeFromCellType(type);
+            if (viewType < 0) {
+                continue;
+            }
+            if (count > DEFAULT_MAX_RECYCLED_VIEWS) {
+                pool.setMaxRecycledViews(viewType, count);
+            }
+            if (pool.getRecycledViewCount(viewType) < count) {
+                mPending.add(new int[]{viewType, count});
+            }
+        }
+
+        if (!mPending.isEmpty() && !mScheduled) {
+            mScheduled = true;
+            Looper.myQueue().addIdleHandler(this);
+        }
+    }
+
+    /**
+     * Drop pending work, views already in the pool stay there.
+     */
+    public void cancel() {
+        mPending.clear();
+        if (mScheduled) {
+            mScheduled = false;
+            Looper.myQueue().removeIdleHandler(this);
+        }
+    }
+
+    @Override
+    public boolean queueIdle() {
+        if (!mScheduled) {
+            return false;
+        }
+        RecyclerView.RecycledViewPool pool = mContentView.getRecycledViewPool();
+        long start = System.nanoTime();
+        while (!mPending.isEmpty() && System.nanoTime() - start < IDLE_BUDGET_NS) {
+            int[] work = mPending.peek();
+            if (pool.getRecycledViewCount(work[0]) >= work[1]) {
+                mPending.poll();
+                continue;
+            }
+            mCreating = true;
+            try {
+                BinderViewHolder holder = mAdapter.createViewHolder(mContentView, work[0]);
+                mPrewarmed.put(holder, Boolean.TRUE);
+                mCreatedCount++;
+                pool.putRecycledView(holder);
+            } finally {
+                mCreating = false;
+            }
+        }
+        mScheduled = !mPending.isEmpty();
+        return mScheduled;
+    }
+
+    void onViewHolderCreated(@NonNull BinderViewHolder holder) {
+        if (!mCreating) {
+            mMissCount++;
+        }
+    }
+
+    void onViewHolderBound(@NonNull BinderViewHolder holder) {
+        if (!mPrewarmed.isEmpty() && mPrewarmed.remove(holder) != null) {
+            mHitCount++;
+        }
+    }
+
+    /**
+     * @return views created ahead of layout
+     */
+    public int getCreatedCount() {
+        return mCreatedCount;
+    }
+
+    /**
+     * @return pre-warmed views that were bound
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * @return views the adapter had to create on demand
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * @return share of newly needed views served by pre-warmed ones, 0 if none was needed yet
+     */
+    public float getHitRate() {
+        int total = mHitCount + mMissCount;
+        return total == 0 ? 0 : (float) mHitCount / total;
+    }
+
+    public void resetMetrics() {
+        mCreatedCount = 0;
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+}
@@ -35,6 +35,11 @@ public abstract class BaseResolver<T, O> implements Resolver<T, O> {
 
     protected ConcurrentHashMap<String, T> mSparseArray = new ConcurrentHashMap<>(64);
 
+    /**
+     * same content as {@link #mSparseArray}, indexed by {@link TypeRegistry} id
+     */
+    protected final TypeTable<T> mTypeTable = new TypeTable<>();
+
     @Override
     public int size() {
         return mSparseArray.size();
@@ -53,6 +58,7 @@ public abstract class BaseResolver<T, O> implements Resolver<T, O> {
     public void register(String type, T gen) {
         mMap.put(gen, type);
         mSparseArray.put(type, gen);
+        mTypeTable.put(type, gen);
     }
 
     @Override
@@ -60,6 +66,13 @@ public abstract class BaseResolver<T, O> implements Resolver<T, O> {
         return mSparseArray.containsKey(type);
     }
 
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public boolean has(int typeId) {
+        return mTypeTable.get(typeId) != null;
+    }
+
 
     @Override
     public String toString() {
@@ -27,6 +27,7 @@ package com.tmall.wireless.tangram.core.resolver;
 import android.util.Log;
 
 import com.tmall.wireless.tangram.TangramBuilder;
+import com.tmall.wireless.tangram.util.Instantiator;
 
 /**
  * Resolver based on class types, its' methods are not thread-safe.
@@ -37,12 +38,31 @@ public abstract class ClassResolver<T> extends BaseResolver<Class<? extends T>,
 
     private static final String TAG = "ClassResolver";
 
+    private Instantiator mInstantiator;
+
+    /**
+     * @param instantiator used to create instances, so factories registered on it are applied
+     */
+    public void setInstantiator(Instantiator instantiator) {
+        mInstantiator = instantiator;
+    }
+
     @Override
     public T create(String type) {
-        Class<? extends T> clz = mSparseArray.get(type);
+        return newInstance(mSparseArray.get(type), type);
+    }
+
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public T create(int typeId) {
+        return newInstance(mTypeTable.get(typeId), typeId);
+    }
+
+    private T newInstance(Class<? extends T> clz, Object type) {
         if (clz != null) {
             try {
-                return clz.newInstance();
+                return mInstantiator != null ? mInstantiator.create(clz) : Instantiator.newInstance(clz);
             } catch (InstantiationException e) {
                 if (TangramBuilder.isPrintLog())
                     Log.e(TAG, e.getMessage(), e);
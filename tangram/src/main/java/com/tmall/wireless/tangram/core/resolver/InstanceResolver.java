@@ -33,4 +33,11 @@ public abstract class InstanceResolver<T> extends BaseResolver<T, T> {
     public T create(String type) {
         return mSparseArray.get(type);
     }
+
+    /**
+     * @param typeId id from {@link TypeRegistry#idOf(String)}
+     */
+    public T create(int typeId) {
+        return mTypeTable.get(typeId);
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.core.resolver;
+
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns type strings of cards and cells into stable int ids, so lookups after parsing index arrays instead of
+ * hashing strings. Ids are dense and start from 0.
+ */
+public final class TypeRegistry {
+
+    public static final int NO_ID = -1;
+
+    private static final ConcurrentHashMap<String, Integer> sIds = new ConcurrentHashMap<>(64);
+
+    private TypeRegistry() {
+    }
+
+    /**
+     * Lookup only, use it for types read from data so unknown server types are not interned forever.
+     *
+     * @param type type string
+     * @return id of the type, {@link #NO_ID} for null or types never passed to {@link #idOf(String)}
+     */
+    public static int find(@Nullable String type) {
+        if (type == null) {
+            return NO_ID;
+        }
+        Integer id = sIds.get(type);
+        return id != null ? id : NO_ID;
+    }
+
+    /**
+     * @param type type string
+     * @return id of the type, assigned on first sight, {@link #NO_ID} for null
+     */
+    public static int idOf(@Nullable String type) {
+        if (type == null) {
+            return NO_ID;
+        }
+        Integer id = sIds.get(type);
+        if (id == null) {
+            id = intern(type);
+        }
+        return id;
+    }
+
+    private static synchronized int intern(String type) {
+        Integer id = sIds.get(type);
+        if (id == null) {
+            id = sIds.size();
+            sIds.put(type, id);
+        }
+        return id;
+    }
+
+    /**
+     * Read a legacy numeric type without going through exceptions for non-numeric types like "container-oneColumn".
+     *
+     * @param type         a {@link Number} or a type string
+     * @param defaultValue returned if type is not an integer
+     * @return the numeric type
+     */
+    public static int numericTypeOf(@Nullable Object type, int defaultValue) {
+        if (type instanceof Number) {
+            return ((Number) type).intValue();
+        }
+        if (!(type instanceof String)) {
+            return defaultValue;
+        }
+        String str = (String) type;
+        int length = str.length();
+        if (length == 0) {
+            return defaultValue;
+        }
+        boolean negative = str.charAt(0) == '-';
+        int i = negative || str.charAt(0) == '+' ? 1 : 0;
+        if (i == length || length - i > 10) {
+            return defaultValue;
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return defaultValue;
+            }
+            value = value * 10 + (c - '0');
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            return defaultValue;
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.core.resolver;
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Values indexed by {@link TypeRegistry} id. Reads are lock-free, writes copy the table and are meant for
+ * registration only.
+ */
+public final class TypeTable<T> {
+
+    private volatile Object[] mTable = new Object[0];
+
+    public synchronized void put(String type, @Nullable T value) {
+        int id = TypeRegistry.idOf(type);
+        if (id < 0) {
+            return;
+        }
+        Object[] table = mTable;
+        table = Arrays.copyOf(table, Math.max(table.length, id + 1));
+        table[id] = value;
+        mTable = table;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public T get(int typeId) {
+        Object[] table = mTable;
+        if (typeId < 0 || typeId >= table.length) {
+            return null;
+        }
+        return (T) table[typeId];
+    }
+}
@@ -24,6 +24,8 @@
 
 package com.tmall.wireless.tangram.dataparser;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
 
 import android.support.annotation.NonNull;
@@ -31,11 +33,17 @@ import android.support.annotation.Nullable;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.op.ParseComponentsOp;
 import com.tmall.wireless.tangram.op.ParseGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsStreamOp;
 import com.tmall.wireless.tangram.op.ParseSingleComponentOp;
 import com.tmall.wireless.tangram.op.ParseSingleGroupOp;
 import com.tmall.wireless.tangram.op.TangramOp2;
 import com.tmall.wireless.tangram.op.TangramOp3;
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
 import io.reactivex.ObservableTransformer;
+import io.reactivex.functions.Function;
+import org.json.JSONArray;
+import org.json.JSONException;
 
 /**
  * DataParser parse data into structures
@@ -48,6 +56,23 @@ public abstract class DataParser<O, T, C, L> {
     @NonNull
     public abstract List<L> parseComponent(@Nullable T data, ServiceManager serviceManager);
 
+    /**
+     * Parse groups from a stream holding a JSON array, the reader is closed once parsing ends. The default reads the
+     * whole array and parses it with {@link #parseGroup(Object, ServiceManager)}, so T must be {@link JSONArray};
+     * override it to parse without loading the whole document into memory first.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public List<C> parseGroup(@NonNull Reader reader, ServiceManager serviceManager) {
+        try {
+            return parseGroup((T) readArray(reader), serviceManager);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read cards", e);
+        } catch (JSONException e) {
+            throw new RuntimeException("Failed to read cards", e);
+        }
+    }
+
     /**
      *
      * @param data
@@ -88,6 +113,51 @@ public abstract class DataParser<O, T, C, L> {
     @NonNull
     public abstract ObservableTransformer<ParseGroupsOp, List<C>> getGroupTransformer();
 
+    /**
+     * Same as {@link #getGroupTransformer()} but may emit parsed groups in ordered chunks, so the first screen can be
+     * rendered before the whole page is parsed. The default implementation emits a single chunk.
+     * @return
+     */
+    @NonNull
+    public ObservableTransformer<ParseGroupsOp, List<C>> getGroupChunkTransformer() {
+        return getGroupTransformer();
+    }
+
+    /**
+     * Same as {@link #getGroupChunkTransformer()} but reads groups from a stream, see
+     * {@link #parseGroup(Reader, ServiceManager)}. The default reads the whole array and hands it to
+     * {@link #getGroupChunkTransformer()}.
+     * @return
+     */
+    @NonNull
+    public ObservableTransformer<ParseGroupsStreamOp, List<C>> getGroupStreamTransformer() {
+        return new ObservableTransformer<ParseGroupsStreamOp, List<C>>() {
+            @Override
+            public ObservableSource<List<C>> apply(Observable<ParseGroupsStreamOp> upstream) {
+                return upstream.map(new Function<ParseGroupsStreamOp, ParseGroupsOp>() {
+                    @Override
+                    public ParseGroupsOp apply(ParseGroupsStreamOp parseGroupsOp) throws Exception {
+                        return new ParseGroupsOp(readArray(parseGroupsOp.getArg1()), parseGroupsOp.getArg2());
+                    }
+                }).compose(getGroupChunkTransformer());
+            }
+        };
+    }
+
+    private static JSONArray readArray(@NonNull Reader reader) throws IOException, JSONException {
+        try {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[4096];
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, count);
+            }
+            return new JSONArray(builder.toString());
+        } finally {
+            reader.close();
+        }
+    }
+
     /**
      *
      * @return
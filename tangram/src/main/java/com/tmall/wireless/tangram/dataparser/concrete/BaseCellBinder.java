@@ -55,7 +55,7 @@ public class BaseCellBinder<T extends ViewHolderCreator.ViewHolder, V extends Vi
     private String type;
 
     public BaseCellBinder(@NonNull Class<V> viewClz, @NonNull MVHelper mvHelper) {
-        this.mViewCreator = new ViewCreator<>(viewClz);
+        this.mViewCreator = new ViewCreator<>(viewClz, mvHelper.resolver().getInstantiator());
         this.mMvHelper = Preconditions.checkNotNull(mvHelper, "mvHelper should not be null");
     }
 
@@ -28,8 +28,6 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.text.TextUtils;
 import android.util.Log;
-import android.util.SparseArray;
-import android.util.SparseBooleanArray;
 import android.view.View;
 import android.view.ViewPropertyAnimator;
 import android.widget.FrameLayout;
@@ -43,10 +41,12 @@ import com.alibaba.android.vlayout.layout.MarginLayoutHelper;
 import com.tmall.wireless.tangram.Engine;
 import com.tmall.wireless.tangram.MVHelper;
 import com.tmall.wireless.tangram.TangramBuilder;
+import com.tmall.wireless.tangram.core.resolver.TypeRegistry;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.structure.BaseCell;
 import com.tmall.wireless.tangram.structure.card.BannerCard;
 import com.tmall.wireless.tangram.structure.card.LinearScrollCard;
+import com.tmall.wireless.tangram.support.CardRefreshSupport;
 import com.tmall.wireless.tangram.support.CardSupport;
 import com.tmall.wireless.tangram.support.ExposureSupport;
 import com.tmall.wireless.tangram.util.ImageUtils;
@@ -59,9 +59,11 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -110,6 +112,10 @@ public abstract class Card extends ComponentLifecycle {
 
     public String stringType;
 
+    private String mTypeIdSource;
+
+    private int mTypeId = TypeRegistry.NO_ID;
+
     @Nullable
     public String id;
 
@@ -206,10 +212,25 @@ public abstract class Card extends ComponentLifecycle {
 
     public void setStringType(String type) {
         this.stringType = type;
-        try {
-            this.type = Integer.parseInt(type);
-        } catch (NumberFormatException e) {
+        this.type = TypeRegistry.numericTypeOf(type, this.type);
+    }
+
+    /**
+     * {@link TypeRegistry} id of {@link #stringType}, recomputed if stringType was reassigned, {@link
+     * TypeRegistry#NO_ID} while the type is not registered
+     */
+    public int getTypeId() {
+        final String stringType = this.stringType;
+        if (mTypeIdSource != stringType) {
+            int typeId = TypeRegistry.find(stringType);
+            if (typeId == TypeRegistry.NO_ID) {
+                // not cached, the type may be registered later
+                return typeId;
+            }
+            mTypeId = typeId;
+            mTypeIdSource = stringType;
         }
+        return mTypeId;
     }
 
     public void parseWith(@NonNull JSONObject data, @NonNull final MVHelper resolver) {
@@ -224,7 +245,7 @@ public abstract class Card extends ComponentLifecycle {
         }
 
         this.extras = data;
-        this.type = data.optInt(KEY_TYPE, type);
+        this.type = TypeRegistry.numericTypeOf(data.opt(KEY_TYPE), type);
         this.stringType = data.optString(KEY_TYPE);
         id = data.optString(KEY_ID, id == null ? "" : id);
 
@@ -274,9 +295,11 @@ public abstract class Card extends ComponentLifecycle {
         if (cellData != null) {
             BaseCell cell = null;
             String cellType = cellData.optString(Card.KEY_TYPE);
-            if ((resolver.resolver().getViewClass(cellType) != null) || Utils.isCard(cellData)) {
-                if (resolver.resolver().isCompatibleType(cellType)) {
-                    cell = Utils.newInstance(resolver.resolver().getCellClass(cellType));
+            int cellTypeId = TypeRegistry.find(cellType);
+            if ((resolver.resolver().getViewClass(cellTypeId) != null) || Utils.isCard(cellData)) {
+                if (resolver.resolver().isCompatibleType(cellTypeId)) {
+                    cell = Utils.newInstance(resolver.resolver().getCellClass(cellTypeId),
+                        resolver.resolver().getInstantiator());
 
                     //do not display when newInstance failed
                     if (cell == null) {
@@ -346,7 +369,7 @@ public abstract class Card extends ComponentLifecycle {
             } else {
                 //support virtual view at layout
                 BaseCellBinderResolver componentBinderResolver = serviceManager.getService(BaseCellBinderResolver.class);
-                if (componentBinderResolver.has(cellType)) {
+                if (componentBinderResolver.has(cellTypeId)) {
                     cell = new BaseCell(cellType);
                     cell.serviceManager = serviceManager;
                     if (parent != null) {
@@ -558,18 +581,16 @@ public abstract class Card extends ComponentLifecycle {
         return mChildren;
     }
 
-    private final SparseBooleanArray pendingDeleteMap = new SparseBooleanArray();
-    private final SparseArray<BaseCell> oldMap = new SparseArray<>();
-    private final SparseArray<BaseCell> newMap = new SparseArray<>();
+    private final Map<BaseCell, Boolean> oldCells = new IdentityHashMap<>();
+    private final Map<BaseCell, Boolean> newCells = new IdentityHashMap<>();
 
     public void setCells(@Nullable List<BaseCell> cells) {
         if (mPlaceholderCell != null)
             this.mCells.remove(mPlaceholderCell);
 
-        oldMap.clear();
-        pendingDeleteMap.clear();
+        oldCells.clear();
         for (BaseCell cell : this.mCells) {
-            oldMap.put(System.identityHashCode(cell), cell);
+            oldCells.put(cell, Boolean.TRUE);
         }
 
         this.mCells.clear();
@@ -582,29 +603,17 @@ public abstract class Card extends ComponentLifecycle {
 
         adjustPendingCells(true);
 
-        newMap.clear();
-
+        newCells.clear();
         for (BaseCell cell : this.mCells) {
-            newMap.put(System.identityHashCode(cell), cell);
-        }
-
-        for (int i = 0, size = oldMap.size(); i < size; i++) {
-            int key = oldMap.keyAt(i);
-            if (newMap.get(key) != null) {
-                newMap.remove(key);
-                pendingDeleteMap.put(key, true);
+            if (oldCells.remove(cell) == null) {
+                newCells.put(cell, Boolean.TRUE);
             }
         }
 
-        for (int i = 0, size = pendingDeleteMap.size(); i < size; i++) {
-            oldMap.remove(pendingDeleteMap.keyAt(i));
-        }
-
-        diffCells(newMap, oldMap);
+        diffCells(newCells.keySet(), oldCells.keySet());
 
-        newMap.clear();
-        oldMap.clear();
-        pendingDeleteMap.clear();
+        newCells.clear();
+        oldCells.clear();
 
 
         if (requirePlaceholderCell()) {
@@ -841,26 +850,29 @@ public abstract class Card extends ComponentLifecycle {
     }
 
     public final void notifyDataChange() {
+        if (serviceManager != null) {
+            CardRefreshSupport refreshSupport = serviceManager.getService(CardRefreshSupport.class);
+            if (refreshSupport != null) {
+                refreshSupport.refreshCard(this);
+                return;
+            }
+        }
         if (serviceManager instanceof Engine) {
             ((Engine) serviceManager).refresh();
         }
     }
 
-    private void diffCells(@NonNull SparseArray<BaseCell> added, @NonNull SparseArray<BaseCell> removed) {
+    private void diffCells(@NonNull Collection<BaseCell> added, @NonNull Collection<BaseCell> removed) {
         if (!mIsActivated) return;
 
-        for (int i = 0, size = added.size(); i < size; i++) {
-            int key = added.keyAt(i);
-            BaseCell cell = added.get(key);
+        for (BaseCell cell : added) {
             if (cell != null) {
                 cell.added();
             }
         }
 
 
-        for (int i = 0, size = removed.size(); i < size; i++) {
-            int key = removed.keyAt(i);
-            BaseCell cell = removed.get(key);
+        for (BaseCell cell : removed) {
             if (cell != null) {
                 cell.removed();
             }
@@ -28,12 +28,15 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import android.text.TextUtils;
+import android.util.JsonReader;
 import com.tmall.wireless.tangram.TangramBuilder;
+import com.tmall.wireless.tangram.core.resolver.TypeRegistry;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.MVHelper;
 import com.tmall.wireless.tangram.dataparser.DataParser;
 import com.tmall.wireless.tangram.op.ParseComponentsOp;
 import com.tmall.wireless.tangram.op.ParseGroupsOp;
+import com.tmall.wireless.tangram.op.ParseGroupsStreamOp;
 import com.tmall.wireless.tangram.op.ParseSingleGroupOp;
 import com.tmall.wireless.tangram.op.ParseSingleComponentOp;
 import com.tmall.wireless.tangram.structure.BaseCell;
@@ -43,14 +46,29 @@ import com.tmall.wireless.tangram.util.LogUtils;
 import com.tmall.wireless.tangram.util.Preconditions;
 
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
 import io.reactivex.ObservableSource;
 import io.reactivex.ObservableTransformer;
 import io.reactivex.functions.Function;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * DataParser parse JSONArray into Card/Cell
@@ -59,48 +77,255 @@ public final class PojoDataParser extends DataParser<JSONObject, JSONArray, Card
 
     private static final String TAG = "PojoDataParser";
 
+    private static final int DEFAULT_FIRST_CHUNK_SIZE = 6;
+
+    private static final AtomicInteger sThreadCount = new AtomicInteger();
+
+    private int mParallelism = 1;
+
+    private int mFirstChunkSize = DEFAULT_FIRST_CHUNK_SIZE;
+
+    private ThreadPoolExecutor mExecutor;
+
+    /**
+     * Parse top-level cards on a bounded worker pool, card order is always kept. With more than one thread,
+     * {@link Card#parseWith}, {@link BaseCell#parseWith}, {@link BaseCell#parseStyle}, {@link IDelegateCard#getCards}
+     * and registered factories run concurrently for different cards, so custom cards and cells must not share
+     * unsynchronized mutable state while parsing. Leave it at 1 unless they are known to be safe.
+     * @param parallelism Max parse threads, 1 or less means parsing on the calling thread.
+     */
+    public synchronized void setParallelism(int parallelism) {
+        parallelism = Math.max(1, parallelism);
+        if (parallelism == mParallelism) {
+            return;
+        }
+        mParallelism = parallelism;
+        if (mExecutor != null) {
+            mExecutor.shutdown();
+            mExecutor = null;
+        }
+    }
+
+    /**
+     * @param firstChunkSize Number of top-level cards emitted as the first chunk by {@link #getGroupChunkTransformer()}.
+     */
+    public void setFirstChunkSize(int firstChunkSize) {
+        this.mFirstChunkSize = Math.max(1, firstChunkSize);
+    }
+
     /**
      * {@inheritDoc}
      */
     @NonNull
     @Override
     public List<Card> parseGroup(@NonNull JSONArray data, @NonNull final ServiceManager serviceManager) {
+        final List<Card> result = new ArrayList<>(data != null ? data.length() : 0);
+        parseGroup(data, serviceManager, Integer.MAX_VALUE, new ChunkReceiver() {
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void onChunk(List<Card> chunk) {
+                result.addAll(chunk);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parse cards in order and hand them to receiver in chunks, first chunk covers firstChunkSize top-level items,
+     * the second one covers the rest. At least one chunk is delivered unless cancelled.
+     */
+    private void parseGroup(@Nullable final JSONArray data, @NonNull final ServiceManager serviceManager,
+        int firstChunkSize, @NonNull ChunkReceiver receiver) {
         final CardResolver cardResolver = serviceManager.getService(CardResolver.class);
         Preconditions.checkState(cardResolver != null, "Must register CardResolver into ServiceManager first");
         final MVHelper cellResolver = serviceManager.getService(MVHelper.class);
         Preconditions.checkState(cellResolver != null, "Must register CellResolver into ServiceManager first");
-        final int size = data.length();
-        final List<Card> result = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            JSONObject cardData = data.optJSONObject(i);
-            final Card card = parseSingleGroup(cardData, serviceManager);
-            if (card != null) {
-                if (card instanceof IDelegateCard) {
-                    List<Card> cards = ((IDelegateCard) card).getCards(new CardResolver() {
-                        @Override
-                        public Card create(String type) {
-                            Card c = cardResolver.create(type);
-                            c.serviceManager = serviceManager;
-                            c.id = card.id;
-                            c.setStringType(type);
-                            c.rowId = card.rowId;
-                            return c;
-                        }
-                    });
-                    for (Card c : cards) {
-                        if (c.isValid()) {
-                            result.add(c);
-                        }
+        final int size = data == null ? 0 : data.length();
+        final ExecutorService executor = size > 1 ? getExecutor() : null;
+        List<Future<List<Card>>> futures = null;
+        if (executor != null) {
+            futures = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final JSONObject cardData = data.optJSONObject(i);
+                futures.add(executor.submit(new Callable<List<Card>>() {
+                    @Override
+                    public List<Card> call() throws Exception {
+                        return parseAndExpandGroup(cardData, cardResolver, serviceManager);
                     }
-                } else {
-                    result.add(card);
+                }));
+            }
+        }
+        try {
+            boolean emitted = false;
+            List<Card> chunk = new ArrayList<>(Math.min(size, firstChunkSize));
+            for (int i = 0; i < size; i++) {
+                if (receiver.isCancelled()) {
+                    return;
+                }
+                chunk.addAll(futures != null ? futures.get(i).get()
+                    : parseAndExpandGroup(data.optJSONObject(i), cardResolver, serviceManager));
+                if (i + 1 == firstChunkSize && i + 1 < size) {
+                    cellResolver.resolver().setCards(chunk);
+                    receiver.onChunk(chunk);
+                    emitted = true;
+                    chunk = new ArrayList<>(size - i - 1);
+                }
+            }
+            if (!emitted || !chunk.isEmpty()) {
+                cellResolver.resolver().setCards(chunk);
+                receiver.onChunk(chunk);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (!receiver.isCancelled()) {
+                // never hand out a truncated card list as if parsing had finished
+                throw new RuntimeException("Interrupted while parsing cards", e);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            if (futures != null) {
+                for (int i = 0; i < size; i++) {
+                    futures.get(i).cancel(true);
                 }
             }
         }
-        cellResolver.resolver().setCards(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public List<Card> parseGroup(@NonNull Reader reader, @NonNull ServiceManager serviceManager) {
+        final List<Card> result = new ArrayList<>();
+        parseGroup(reader, serviceManager, Integer.MAX_VALUE, new ChunkReceiver() {
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void onChunk(List<Card> chunk) {
+                result.addAll(chunk);
+            }
+        });
         return result;
     }
 
+    /**
+     * Read top-level cards one by one from a JSON array stream and parse each as soon as it is read, chunks are
+     * handed to receiver like {@link #parseGroup(JSONArray, ServiceManager, int, ChunkReceiver)}.
+     */
+    private void parseGroup(@NonNull Reader reader, @NonNull final ServiceManager serviceManager,
+        int firstChunkSize, @NonNull ChunkReceiver receiver) {
+        final CardResolver cardResolver = serviceManager.getService(CardResolver.class);
+        Preconditions.checkState(cardResolver != null, "Must register CardResolver into ServiceManager first");
+        final MVHelper cellResolver = serviceManager.getService(MVHelper.class);
+        Preconditions.checkState(cellResolver != null, "Must register CellResolver into ServiceManager first");
+        final JsonReader jsonReader = new JsonReader(reader);
+        try {
+            boolean emitted = false;
+            int count = 0;
+            List<Card> chunk = new ArrayList<>();
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                if (receiver.isCancelled()) {
+                    return;
+                }
+                Object cardData = StreamJsonReader.readValue(jsonReader);
+                chunk.addAll(parseAndExpandGroup(cardData instanceof JSONObject ? (JSONObject) cardData : null,
+                    cardResolver, serviceManager));
+                if (++count == firstChunkSize) {
+                    cellResolver.resolver().setCards(chunk);
+                    receiver.onChunk(chunk);
+                    emitted = true;
+                    chunk = new ArrayList<>();
+                }
+            }
+            jsonReader.endArray();
+            if (!emitted || !chunk.isEmpty()) {
+                cellResolver.resolver().setCards(chunk);
+                receiver.onChunk(chunk);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read cards", e);
+        } catch (JSONException e) {
+            throw new RuntimeException("Failed to read cards", e);
+        } finally {
+            try {
+                jsonReader.close();
+            } catch (IOException e) {
+                LogUtils.w(TAG, "Failed to close reader: " + e.getMessage());
+            }
+        }
+    }
+
+    @NonNull
+    private List<Card> parseAndExpandGroup(@Nullable JSONObject cardData, @NonNull final CardResolver cardResolver,
+        @NonNull final ServiceManager serviceManager) {
+        final Card card = parseSingleGroup(cardData, serviceManager);
+        if (card == null) {
+            return Collections.emptyList();
+        }
+        if (!(card instanceof IDelegateCard)) {
+            return Collections.singletonList(card);
+        }
+        List<Card> cards = ((IDelegateCard) card).getCards(new CardResolver() {
+            @Override
+            public Card create(String type) {
+                Card c = cardResolver.create(type);
+                c.serviceManager = serviceManager;
+                c.id = card.id;
+                c.setStringType(type);
+                c.rowId = card.rowId;
+                return c;
+            }
+        });
+        List<Card> result = new ArrayList<>(cards.size());
+        for (Card c : cards) {
+            if (c.isValid()) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private synchronized ExecutorService getExecutor() {
+        if (mParallelism <= 1) {
+            return null;
+        }
+        if (mExecutor == null) {
+            mExecutor = new ThreadPoolExecutor(mParallelism, mParallelism, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable r) {
+                    return new Thread(r, "tangram-parse-" + sThreadCount.incrementAndGet());
+                }
+            });
+            mExecutor.allowCoreThreadTimeOut(true);
+        }
+        return mExecutor;
+    }
+
+    private interface ChunkReceiver {
+
+        boolean isCancelled();
+
+        void onChunk(List<Card> chunk);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -155,7 +380,7 @@ public final class PojoDataParser extends DataParser<JSONObject, JSONArray, Card
             if (card != null) {
                 card.serviceManager = serviceManager;
                 card.parseWith(data, cellResolver);
-                card.type = data.optInt(Card.KEY_TYPE, -1);
+                card.type = TypeRegistry.numericTypeOf(data.opt(Card.KEY_TYPE), -1);
                 card.stringType = cardType;
                 if (card.isValid()) {
                     if (card.style.slidable) {
@@ -221,6 +446,78 @@ public final class PojoDataParser extends DataParser<JSONObject, JSONArray, Card
         };
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public ObservableTransformer<ParseGroupsOp, List<Card>> getGroupChunkTransformer() {
+        return new ObservableTransformer<ParseGroupsOp, List<Card>>() {
+            @Override
+            public ObservableSource<List<Card>> apply(Observable<ParseGroupsOp> upstream) {
+                return upstream.concatMap(new Function<ParseGroupsOp, ObservableSource<List<Card>>>() {
+                    @Override
+                    public ObservableSource<List<Card>> apply(final ParseGroupsOp parseGroupsOp) throws Exception {
+                        return Observable.create(new ObservableOnSubscribe<List<Card>>() {
+                            @Override
+                            public void subscribe(final ObservableEmitter<List<Card>> emitter) throws Exception {
+                                parseGroup(parseGroupsOp.getArg1(), parseGroupsOp.getArg2(), mFirstChunkSize,
+                                    new ChunkReceiver() {
+                                        @Override
+                                        public boolean isCancelled() {
+                                            return emitter.isDisposed();
+                                        }
+
+                                        @Override
+                                        public void onChunk(List<Card> chunk) {
+                                            emitter.onNext(chunk);
+                                        }
+                                    });
+                                emitter.onComplete();
+                            }
+                        });
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public ObservableTransformer<ParseGroupsStreamOp, List<Card>> getGroupStreamTransformer() {
+        return new ObservableTransformer<ParseGroupsStreamOp, List<Card>>() {
+            @Override
+            public ObservableSource<List<Card>> apply(Observable<ParseGroupsStreamOp> upstream) {
+                return upstream.concatMap(new Function<ParseGroupsStreamOp, ObservableSource<List<Card>>>() {
+                    @Override
+                    public ObservableSource<List<Card>> apply(final ParseGroupsStreamOp parseGroupsOp) throws Exception {
+                        return Observable.create(new ObservableOnSubscribe<List<Card>>() {
+                            @Override
+                            public void subscribe(final ObservableEmitter<List<Card>> emitter) throws Exception {
+                                parseGroup(parseGroupsOp.getArg1(), parseGroupsOp.getArg2(), mFirstChunkSize,
+                                    new ChunkReceiver() {
+                                        @Override
+                                        public boolean isCancelled() {
+                                            return emitter.isDisposed();
+                                        }
+
+                                        @Override
+                                        public void onChunk(List<Card> chunk) {
+                                            emitter.onNext(chunk);
+                                        }
+                                    });
+                                emitter.onComplete();
+                            }
+                        });
+                    }
+                });
+            }
+        };
+    }
+
     /**
      * {@inheritDoc}
      */
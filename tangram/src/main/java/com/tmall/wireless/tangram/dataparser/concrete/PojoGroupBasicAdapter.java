@@ -29,9 +29,11 @@ import com.alibaba.android.vlayout.Range;
 import com.alibaba.android.vlayout.VirtualLayoutManager;
 
 import android.util.Log;
+import com.tmall.wireless.tangram.BindContext;
 import com.tmall.wireless.tangram.MVHelper;
 import com.tmall.wireless.tangram.core.adapter.BinderViewHolder;
 import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.core.adapter.IndexedCellList;
 import com.tmall.wireless.tangram.core.protocol.ControlBinder;
 import com.tmall.wireless.tangram.structure.BaseCell;
 
@@ -49,10 +51,14 @@ import com.tmall.wireless.tangram.support.PageDetectorSupport;
 import com.tmall.wireless.vaf.framework.ViewManager;
 import java.lang.annotation.Inherited;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -66,7 +72,12 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
 
     private AtomicInteger mTypeId = new AtomicInteger(0);
 
-    private final Map<String, Integer> mStrKeys = new ConcurrentHashMap<>(64);
+    /*
+     * typeKey (or stringType) <=> key id, then key id => template version => itemType
+     */
+    private final Map<String, Integer> mTypeKeyIds = new HashMap<>(64);
+
+    private final SparseArray<SparseIntArray> mItemTypes = new SparseArray<>(64);
 
     private MVHelper mMvHelper;
 
@@ -116,7 +127,7 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
         if (TextUtils.isEmpty(card.load) && card.mCells.isEmpty()) {
             return null;
         }
-        return new LinkedList<>(card.mCells);
+        return new ArrayList<>(card.mCells);
     }
 
     @Override
@@ -132,10 +143,10 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
         int idx = findCardIdxFor(position);
 
         if (idx >= 0) {
-            Pair<Range<Integer>, Card> pair = mCards.get(idx);
-            pair.second.onBindCell(position - pair.first.getLower(), position, mLastBindPosition < 0 || mLastBindPosition < position);
-            PageDetectorSupport pageDetectorSupport = pair.second.serviceManager
-                .getService(PageDetectorSupport.class);
+            Card card = mCards.get(idx).second;
+            card.onBindCell(position - getCardStart(idx), position, mLastBindPosition < 0 || mLastBindPosition < position);
+            PageDetectorSupport pageDetectorSupport = card.serviceManager != null
+                ? BindContext.of(card.serviceManager).getPageDetectorSupport() : null;
             if (pageDetectorSupport != null) {
                 pageDetectorSupport.onBindItem(position, mLastBindPosition < 0 || mLastBindPosition < position, getItemByPosition(position));
             }
@@ -176,32 +187,54 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
      */
     @Override
     public int getItemType(BaseCell item) {
-        // if the item is a keyType, which means item.type is not the key
         int version = mViewManager != null ? mViewManager.getViewVersion(item.stringType) : 0;
-        if (!TextUtils.isEmpty(item.typeKey)) {
-            // we should use getTypeKey()
-            String typeKey = item.typeKey + version;
-            if (!mStrKeys.containsKey(typeKey)) {
-                int newType = mTypeId.getAndIncrement();
-                mStrKeys.put(typeKey, newType);
-                mId2Types.put(newType, item.stringType);
-            }
+        // if the item has a typeKey, which means item.type is not the key
+        String typeKey = !TextUtils.isEmpty(item.typeKey) ? item.typeKey : item.stringType;
+        int itemType = item.getCachedItemType(this, typeKey, version);
+        if (itemType < 0) {
+            itemType = resolveItemType(typeKey, version, item.stringType);
+            item.cacheItemType(this, typeKey, version, itemType);
+        }
+        return itemType;
+    }
 
-            return mStrKeys.get(typeKey).intValue();
-        } else {
-            // otherwise, use item.type as identity key
-            // note, this now only be executed in MainThread, atomic not actually needed
-            String stringType = item.stringType + version;
-            if (!mStrKeys.containsKey(stringType)) {
-                int newType = mTypeId.getAndIncrement();
-                mStrKeys.put(stringType, newType);
-                mId2Types.put(newType, item.stringType);
-            }
-            return mStrKeys.get(stringType).intValue();
+    @Override
+    public int getItemTypeFromCellType(@NonNull String cellType) {
+        int version = mViewManager != null ? mViewManager.getViewVersion(cellType) : 0;
+        return resolveItemType(cellType, version, cellType);
+    }
+
+    private synchronized int resolveItemType(String typeKey, int version, String stringType) {
+        Integer keyId = mTypeKeyIds.get(typeKey);
+        if (keyId == null) {
+            keyId = mTypeKeyIds.size();
+            mTypeKeyIds.put(typeKey, keyId);
+        }
+        SparseIntArray versionTypes = mItemTypes.get(keyId);
+        if (versionTypes == null) {
+            versionTypes = new SparseIntArray(2);
+            mItemTypes.put(keyId, versionTypes);
+        }
+        int itemType = versionTypes.get(version, -1);
+        if (itemType < 0) {
+            itemType = mTypeId.getAndIncrement();
+            versionTypes.put(version, itemType);
+            mId2Types.put(itemType, stringType);
         }
+        return itemType;
     }
 
 
+    /**
+     * Cells with the same non-empty id and type are the same item, which keeps pull-to-refresh results as in-place
+     * changes.
+     */
+    @Override
+    protected boolean isSameItem(@NonNull BaseCell oldItem, @NonNull BaseCell newItem) {
+        return !TextUtils.isEmpty(oldItem.id) && oldItem.id.equals(newItem.id)
+            && TextUtils.equals(oldItem.stringType, newItem.stringType);
+    }
+
     @Override
     public long getItemId(int position) {
         return getItemByPosition(position).objectId;
@@ -257,13 +290,8 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
 
     private final Map<String, Card> mIdCardCache = new ConcurrentHashMap<>(64);
 
-    @NonNull
     @Override
-    protected List<LayoutHelper> transformCards(@Nullable List<Card> cards, @NonNull List<BaseCell> data, @NonNull List<Pair<Range<Integer>, Card>> rangeCards) {
-        if (cards == null) {
-            return super.transformCards(cards, data, rangeCards);
-        }
-
+    protected synchronized void collectItems(@NonNull List<Card> cards, @NonNull List<BaseCell> data, @NonNull List<Pair<Range<Integer>, Card>> rangeCards) {
         /* record card id, used in {@link #getItems} to clean "forLabel" cards */
         for (Card card : cards) {
             if (!TextUtils.isEmpty(card.id)) {
@@ -271,91 +299,315 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
             }
         }
 
-        List<LayoutHelper> layoutHelpers = super.transformCards(cards, data, rangeCards);
+        super.collectItems(cards, data, rangeCards);
 
         // clean cache after used
         mIdCardCache.clear();
+    }
 
-        return layoutHelpers;
+    /**
+     * Cards whose forLabel points at a changed card are re-collected too, forLabel is evaluated against the current
+     * cards.
+     */
+    @Override
+    public synchronized void notifyCardsChanged(@NonNull Collection<Card> cards) {
+        Set<String> changedIds = new HashSet<>();
+        for (Card card : cards) {
+            if (!TextUtils.isEmpty(card.id)) {
+                changedIds.add(card.id);
+            }
+        }
+        List<Card> dirtyCards = new ArrayList<>(cards);
+        for (int i = 0, size = mCards.size(); i < size; i++) {
+            Card card = mCards.get(i).second;
+            if (!TextUtils.isEmpty(card.id)) {
+                mIdCardCache.put(card.id, card);
+            }
+            if (card.style != null && !TextUtils.isEmpty(card.style.forLabel)
+                && changedIds.contains(card.style.forLabel)) {
+                dirtyCards.add(card);
+            }
+        }
+
+        super.notifyCardsChanged(dirtyCards);
+
+        // clean cache after used
+        mIdCardCache.clear();
     }
 
-    @Deprecated
-    public int findFirstPositionOfCell(int type) {
-        List<BaseCell> data = getComponents();
-        int targetPosition = -1;
-        if (data == null || data.isEmpty()) {
-            targetPosition = -1;
-        } else {
-            for (int i = 0, size = data.size(); i < size; i++) {
-                if (String.valueOf(type).equals(data.get(i).stringType)) {
-                    targetPosition = i;
-                    break;
+    /**
+     * lookup indexes derived from {@link #mData}, patched by the mutators of this adapter and rebuilt only after
+     * changes they did not see
+     */
+    private final Map<String, BaseCell> mIdCellIndex = new HashMap<>();
+
+    /**
+     * type to {first position, last position}
+     */
+    private final Map<String, int[]> mTypePositionIndex = new HashMap<>();
+
+    private List<BaseCell> mIndexedData;
+
+    private int mIndexedDataVersion = -1;
+
+    /**
+     * a removed id can not be patched out when another cell shares it
+     */
+    private boolean mHasDuplicateCellIds;
+
+    /**
+     * lookup index derived from {@link #mCards}, patched like the cell indexes
+     */
+    private final Map<String, Card> mIdCardIndex = new HashMap<>();
+
+    private int mIndexedCardsVersion = -1;
+
+    private boolean mHasDuplicateCardIds;
+
+    private void ensureCellIndex() {
+        final IndexedCellList<BaseCell> cellList = getCellList();
+        if (mIndexedData == cellList && mIndexedDataVersion == cellList.getVersion()) {
+            return;
+        }
+        mIdCellIndex.clear();
+        mTypePositionIndex.clear();
+        mHasDuplicateCellIds = false;
+        for (int i = 0, size = mData.size(); i < size; i++) {
+            BaseCell cell = mData.get(i);
+            if (cell == null) {
+                continue;
+            }
+            if (cell.id != null) {
+                if (mIdCellIndex.containsKey(cell.id)) {
+                    mHasDuplicateCellIds = true;
+                } else {
+                    mIdCellIndex.put(cell.id, cell);
+                }
+            }
+            if (cell.stringType != null) {
+                int[] positions = mTypePositionIndex.get(cell.stringType);
+                if (positions == null) {
+                    mTypePositionIndex.put(cell.stringType, new int[]{i, i});
+                } else {
+                    positions[1] = i;
                 }
             }
         }
-        return targetPosition;
+        mIndexedData = cellList;
+        mIndexedDataVersion = cellList.getVersion();
     }
 
     @Override
-    public int findFirstPositionOfCell(String type) {
-        List<BaseCell> data = getComponents();
-        int targetPosition = -1;
-        if (type == null || data == null || data.isEmpty()) {
-            targetPosition = -1;
-        } else {
-            for (int i = 0, size = data.size(); i < size; i++) {
-                if (type.equals(data.get(i).stringType)) {
-                    targetPosition = i;
-                    break;
+    protected void onItemsReplaced(int versionBefore, int position, @NonNull List<BaseCell> removed, @NonNull List<BaseCell> inserted) {
+        if (mIndexedData != getCellList() || mIndexedDataVersion != versionBefore) {
+            return;
+        }
+        for (int i = 0, size = removed.size(); i < size; i++) {
+            BaseCell cell = removed.get(i);
+            if (cell != null && cell.id != null && mIdCellIndex.get(cell.id) == cell) {
+                if (mHasDuplicateCellIds) {
+                    return;
                 }
+                mIdCellIndex.remove(cell.id);
+            }
+        }
+        for (int i = 0, size = inserted.size(); i < size; i++) {
+            BaseCell cell = inserted.get(i);
+            if (cell != null && cell.id != null) {
+                if (mIdCellIndex.containsKey(cell.id)) {
+                    // the first cell with this id may have moved, rebuild on next lookup
+                    mHasDuplicateCellIds = true;
+                    return;
+                }
+                mIdCellIndex.put(cell.id, cell);
             }
         }
-        return targetPosition;
-    }
 
-    @Deprecated
-    public int findLastPositionOfCell(int type) {
-        List<BaseCell> data = getComponents();
-        int targetPosition = -1;
-        if (data == null || data.isEmpty()) {
-            targetPosition = -1;
-        } else {
-            for (int i = data.size() - 1; i >= 0; i--) {
-                if (String.valueOf(type).equals(data.get(i).stringType)) {
-                    targetPosition = i;
-                    break;
+        final int removedEnd = position + removed.size();
+        final int insertedEnd = position + inserted.size();
+        final int delta = inserted.size() - removed.size();
+        Iterator<int[]> iterator = mTypePositionIndex.values().iterator();
+        while (iterator.hasNext()) {
+            int[] positions = iterator.next();
+            int first = positions[0];
+            int last = positions[1];
+            if (last < position) {
+                continue;
+            }
+            if (first >= removedEnd) {
+                positions[0] = first + delta;
+                positions[1] = last + delta;
+            } else if (first < position) {
+                // first is kept, look for a new last before the change if it was removed
+                if (last >= removedEnd) {
+                    positions[1] = last + delta;
+                } else {
+                    positions[1] = findPositionOfType(position - 1, first, -1, mData.get(first).stringType);
                 }
+            } else if (last >= removedEnd) {
+                positions[0] = findPositionOfType(insertedEnd, last + delta, 1, mData.get(last + delta).stringType);
+                positions[1] = last + delta;
+            } else {
+                iterator.remove();
             }
         }
-        return targetPosition;
+        for (int i = 0, size = inserted.size(); i < size; i++) {
+            BaseCell cell = inserted.get(i);
+            if (cell == null || cell.stringType == null) {
+                continue;
+            }
+            int[] positions = mTypePositionIndex.get(cell.stringType);
+            if (positions == null) {
+                mTypePositionIndex.put(cell.stringType, new int[]{position + i, position + i});
+            } else {
+                positions[0] = Math.min(positions[0], position + i);
+                positions[1] = Math.max(positions[1], position + i);
+            }
+        }
+        mIndexedDataVersion = getCellList().getVersion();
     }
 
+    /**
+     * Release the view mappings {@link MVHelper} keeps for cells that left the adapter.
+     */
     @Override
-    public int findLastPositionOfCell(String type) {
-        List<BaseCell> data = getComponents();
-        int targetPosition = -1;
-        if (type == null || data == null || data.isEmpty()) {
-            targetPosition = -1;
-        } else {
-            for (int i = data.size() - 1; i >= 0; i--) {
-                if (type.equals(data.get(i).stringType)) {
-                    targetPosition = i;
-                    break;
+    protected void onItemsDetached(@NonNull List<BaseCell> cells) {
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            mMvHelper.release(cells.get(i));
+        }
+    }
+
+    private int findPositionOfType(int from, int to, int step, String type) {
+        for (int i = from; i != to; i += step) {
+            BaseCell cell = mData.get(i);
+            if (cell != null && type.equals(cell.stringType)) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private void ensureCardIdIndex() {
+        if (mIndexedCardsVersion == getCardsVersion()) {
+            return;
+        }
+        mIdCardIndex.clear();
+        mHasDuplicateCardIds = false;
+        for (int i = 0, size = mCards.size(); i < size; i++) {
+            Card card = mCards.get(i).second;
+            if (card != null && card.id != null) {
+                if (mIdCardIndex.containsKey(card.id)) {
+                    mHasDuplicateCardIds = true;
+                } else {
+                    mIdCardIndex.put(card.id, card);
                 }
             }
         }
-        return targetPosition;
+        mIndexedCardsVersion = getCardsVersion();
     }
 
     @Override
-    public Card getCardById(String id) {
-        List<Card> cards = getGroups();
+    protected void insertCards(int cardIdx, @NonNull List<Card> cards, @NonNull int[] itemCounts) {
+        final int version = getCardsVersion();
+        super.insertCards(cardIdx, cards, itemCounts);
+        if (mIndexedCardsVersion != version || getCardsVersion() != version + 1) {
+            return;
+        }
         for (int i = 0, size = cards.size(); i < size; i++) {
-            if (cards.get(i).id.equals(id)) {
-                return cards.get(i);
+            Card card = cards.get(i);
+            if (card != null && card.id != null) {
+                if (mIdCardIndex.containsKey(card.id)) {
+                    mHasDuplicateCardIds = true;
+                    return;
+                }
+                mIdCardIndex.put(card.id, card);
+            }
+        }
+        mIndexedCardsVersion = getCardsVersion();
+    }
+
+    @Override
+    protected void removeCard(int cardIdx) {
+        final int version = getCardsVersion();
+        final Card card = getCardAt(cardIdx);
+        super.removeCard(cardIdx);
+        patchCardIdIndex(version, card, null);
+    }
+
+    @Override
+    protected void replaceCard(int cardIdx, @NonNull Card card, int itemCount) {
+        final int version = getCardsVersion();
+        final Card oldCard = getCardAt(cardIdx);
+        super.replaceCard(cardIdx, card, itemCount);
+        patchCardIdIndex(version, oldCard, card);
+    }
+
+    private void patchCardIdIndex(int versionBefore, Card removed, Card inserted) {
+        if (mIndexedCardsVersion != versionBefore || getCardsVersion() != versionBefore + 1) {
+            return;
+        }
+        if (removed != null && removed.id != null && mIdCardIndex.get(removed.id) == removed) {
+            if (mHasDuplicateCardIds) {
+                return;
+            }
+            mIdCardIndex.remove(removed.id);
+        }
+        if (inserted != null && inserted.id != null) {
+            if (mIdCardIndex.containsKey(inserted.id)) {
+                mHasDuplicateCardIds = true;
+                return;
             }
+            mIdCardIndex.put(inserted.id, inserted);
+        }
+        mIndexedCardsVersion = getCardsVersion();
+    }
+
+    @Deprecated
+    public int findFirstPositionOfCell(int type) {
+        return findFirstPositionOfCell(String.valueOf(type));
+    }
+
+    @Override
+    public int findFirstPositionOfCell(String type) {
+        if (type == null) {
+            return -1;
+        }
+        ensureCellIndex();
+        int[] positions = mTypePositionIndex.get(type);
+        return positions != null ? positions[0] : -1;
+    }
+
+    @Deprecated
+    public int findLastPositionOfCell(int type) {
+        return findLastPositionOfCell(String.valueOf(type));
+    }
+
+    @Override
+    public int findLastPositionOfCell(String type) {
+        if (type == null) {
+            return -1;
+        }
+        ensureCellIndex();
+        int[] positions = mTypePositionIndex.get(type);
+        return positions != null ? positions[1] : -1;
+    }
+
+    @Override
+    public BaseCell findCellById(String id) {
+        if (id == null) {
+            return null;
+        }
+        ensureCellIndex();
+        return mIdCellIndex.get(id);
+    }
+
+    @Override
+    public Card getCardById(String id) {
+        if (id == null) {
+            return null;
         }
-        return null;
+        ensureCardIdIndex();
+        return mIdCardIndex.get(id);
     }
 
     @Override
@@ -364,12 +616,9 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
             return Range.create(0, 0);
         }
 
-        List<Card> cards = getGroups();
-        for (int i = 0, size = cards.size(); i < size; i++) {
-            Card c = cards.get(i);
-            if (id.equals(c.id)) {
-                return getCardRange(c);
-            }
+        Card c = getCardById(id);
+        if (c != null) {
+            return getCardRange(c);
         }
         return Range.create(0, 0);
     }
@@ -396,64 +645,50 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
     public void removeComponent(BaseCell component) {
         int removePosition = getPositionByItem(component);
         if (mData != null && component != null && removePosition >= 0) {
-            if (mCards != null) {
-                List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
-                for (int i = 0, size = mCards.size(); i < size; i++) {
-                    Pair<Range<Integer>, Card> pair = mCards.get(i);
-                    int start = pair.first.getLower();
-                    int end = pair.first.getUpper();
-                    if (end < removePosition) {
-                        //do nothing
-                        newCards.add(pair);
-                    } else if (start <= removePosition && removePosition < end) {
-                        int itemCount = end - start - 1;
-                        if (itemCount > 0) {
-                            Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start, end - 1), pair.second);
-                            newCards.add(newPair);
-                        }
-
-                    } else if (removePosition <= start) {
-                        Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start - 1, end - 1), pair.second);
-                        newCards.add(newPair);
-                    }
+            int cardIdx = findCardIdxFor(removePosition);
+            if (cardIdx >= 0) {
+                Card card = getCardAt(cardIdx);
+                int itemCount = getCardItemCount(cardIdx) - 1;
+                if (itemCount > 0) {
+                    resizeCard(cardIdx, -1);
+                } else {
+                    removeCard(cardIdx);
                 }
-                component.removed();
-                mCards.clear();
-                mCards.addAll(newCards);
-                mData.remove(component);
-                notifyItemRemoved(removePosition);
-                int last = mLayoutManager.findLastVisibleItemPosition();
-                notifyItemRangeChanged(removePosition, last - removePosition);
+                updateCardLayoutHelper(card, itemCount);
+            }
+            component.removed();
+            final int version = getCellList().getVersion();
+            mData.remove(removePosition);
+            onItemsReplaced(version, removePosition, Collections.singletonList(component), Collections.<BaseCell>emptyList());
+            detachItems(Collections.singletonList(component));
+            if (isBatching()) {
+                rebindInBatchFrom(removePosition);
+                return;
             }
+            notifyItemRemoved(removePosition);
+            int last = mLayoutManager.findLastVisibleItemPosition();
+            notifyItemRangeChanged(removePosition, last - removePosition);
         }
     }
 
     @Override
     public void removeComponents(Card group) {
-        if (group != null && mCards != null) {
-            List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
-            int cardIdx = findCardIdxForCard(group);
-            int removeItemCount = 0;
-            int removePosition = 0;
-            for (int i = 0, size = mCards.size(); i < size; i++) {
-                Pair<Range<Integer>, Card> pair = mCards.get(i);
-                int start = pair.first.getLower();
-                int end = pair.first.getUpper();
-                if (i < cardIdx) {
-                    //do nothing
-                    newCards.add(pair);
-                } else if (i == cardIdx) {
-                    removePosition = start;
-                    removeItemCount = end - start;
-                } else {
-                    Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start - removeItemCount, end - removeItemCount), pair.second);
-                    newCards.add(newPair);
-                }
-            }
+        int cardIdx = findCardIdxForCard(group);
+        if (group != null && cardIdx >= 0) {
+            int removePosition = getCardStart(cardIdx);
+            int removeItemCount = getCardItemCount(cardIdx);
+            removeCard(cardIdx);
+            updateCardLayoutHelper(group, 0);
             group.removed();
-            mCards.clear();
-            mCards.addAll(newCards);
-            mData.removeAll(group.getCells());
+            final List<BaseCell> removed = new ArrayList<>(mData.subList(removePosition, removePosition + removeItemCount));
+            final int version = getCellList().getVersion();
+            getCellList().removeRange(removePosition, removePosition + removeItemCount);
+            onItemsReplaced(version, removePosition, removed, Collections.<BaseCell>emptyList());
+            detachItems(removed);
+            if (isBatching()) {
+                rebindInBatchFrom(removePosition);
+                return;
+            }
             notifyItemRangeRemoved(removePosition, removeItemCount);
             int last = mLayoutManager.findLastVisibleItemPosition();
             notifyItemRangeChanged(removePosition, last - removePosition);
@@ -464,25 +699,10 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
     public void insertComponents(int pos, List<BaseCell> components) {
         if (mData != null && mData.size() > 0 && components != null && !components.isEmpty() && pos >= 0) {
             int newItemSize = components.size();
-            if (mCards != null) {
-                List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
-                for (int i = 0, size = mCards.size(); i < size; i++) {
-                    Pair<Range<Integer>, Card> pair = mCards.get(i);
-                    int start = pair.first.getLower();
-                    int end = pair.first.getUpper();
-                    if (end < pos) {
-                        //do nothing
-                        newCards.add(pair);
-                    } else if (start <= pos && pos < end) {
-                        Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start, end + newItemSize), pair.second);
-                        newCards.add(newPair);
-                    } else if (pos <= start) {
-                        Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start + newItemSize, end + newItemSize), pair.second);
-                        newCards.add(newPair);
-                    }
-                }
-                mCards.clear();
-                mCards.addAll(newCards);
+            int cardIdx = pos < mData.size() ? findCardIdxFor(pos) : mCards.size() - 1;
+            if (cardIdx >= 0) {
+                resizeCard(cardIdx, newItemSize);
+                updateCardLayoutHelper(getCardAt(cardIdx), getCardItemCount(cardIdx));
             }
             for (int i = 0, size = components.size(); i < size; i++) {
                 BaseCell cell = components.get(i);
@@ -490,80 +710,48 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
                     cell.added();
                 }
             }
-            for (int i = 0; i < newItemSize; i++) {
-                if ((pos + i) < mData.size()) {
-                    mData.add(pos + i, components.get(i));
-                } else {
-                    mData.add(components.get(i));
-                }
+            final int version = getCellList().getVersion();
+            final int insertPosition = Math.min(pos, mData.size());
+            if (pos < mData.size()) {
+                mData.addAll(pos, components);
+            } else {
+                mData.addAll(components);
+            }
+            onItemsReplaced(version, insertPosition, Collections.<BaseCell>emptyList(), components);
+            if (!isBatching()) {
+                notifyItemRangeInserted(pos, newItemSize);
             }
-            notifyItemRangeInserted(pos, newItemSize);
         }
     }
 
     @Override
     public void insertBatchComponents(int idx, List<Card> group) {
-        if (mCards != null && group != null) {
-
-            List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
+        if (group != null && group.size() > 0) {
+            int cardCount = mCards.size();
+            if (idx < 0 || idx >= cardCount) {
+                idx = cardCount;
+            }
+            int insertPosition = idx < cardCount ? getCardStart(idx) : mData.size();
             List<BaseCell> newData = new ArrayList<>();
-            int newItemSize = 0;
-            int lastEnd = 0;
-            int insertPosition = 0;
-
-            if (idx >= 0 && idx < mCards.size()) {
-                for (int i = 0, size = mCards.size(); i < size; i++) {
-                    Pair<Range<Integer>, Card> pair = mCards.get(i);
-                    int start = pair.first.getLower();
-                    int end = pair.first.getUpper();
-                    if (i < idx) {
-                        //do nothing
-                        newCards.add(pair);
-                        lastEnd = end;
-                    } else if (i == idx) {
-                        insertPosition = start;
-                        for (int j = 0, gs = group.size(); j < gs; j++) {
-                            Card newGroup = group.get(j);
-                            int childrenSize = newGroup.getCells().size();
-                            newItemSize += childrenSize;
-                            Pair<Range<Integer>, Card> insertPair = new Pair<>(Range.create(lastEnd, lastEnd + childrenSize), newGroup);
-                            newCards.add(insertPair);
-                            newData.addAll(newGroup.getCells());
-                            lastEnd = lastEnd + childrenSize;
-                        }
-                        Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start + newItemSize, end + newItemSize), pair.second);
-                        newCards.add(newPair);
-                        lastEnd = end + newItemSize;
-                    } else {
-                        Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start + newItemSize, end + newItemSize), pair.second);
-                        newCards.add(newPair);
-                        lastEnd = end;
-                    }
-                }
-            } else {
-                newCards.addAll(mCards);
-                lastEnd = mCards.size() > 0 ? mCards.get(mCards.size() - 1).first.getUpper() : 0;
-                insertPosition = lastEnd;
-                for (int j = 0, gs = group.size(); j < gs; j++) {
-                    Card newGroup = group.get(j);
-                    int childrenSize = newGroup.getCells().size();
-                    newItemSize += childrenSize;
-                    Pair<Range<Integer>, Card> insertPair = new Pair<>(Range.create(lastEnd, lastEnd + childrenSize), newGroup);
-                    newCards.add(insertPair);
-                    newData.addAll(newGroup.getCells());
-                    lastEnd = lastEnd + childrenSize;
-                }
+            int[] itemCounts = new int[group.size()];
+            for (int i = 0, size = group.size(); i < size; i++) {
+                List<BaseCell> cells = group.get(i).getCells();
+                itemCounts[i] = cells.size();
+                newData.addAll(cells);
             }
+            insertCards(idx, group, itemCounts);
             for (int i = 0, size = group.size(); i < size; i++) {
                 Card card = group.get(i);
                 if (card != null) {
                     card.added();
                 }
             }
-            mCards.clear();
-            mCards.addAll(newCards);
+            final int version = getCellList().getVersion();
             mData.addAll(insertPosition, newData);
-            notifyItemRangeInserted(insertPosition, newItemSize);
+            onItemsReplaced(version, insertPosition, Collections.<BaseCell>emptyList(), newData);
+            if (!isBatching()) {
+                notifyItemRangeInserted(insertPosition, newData.size());
+            }
         }
     }
 
@@ -572,27 +760,11 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
         if (mData != null && oldComponent != null && newComponent != null && oldComponent.size() > 0 && newComponent.size() > 0) {
             int index = mData.indexOf(oldComponent.get(0));
             if (index >= 0) {
-                if (mCards != null) {
-                    List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
-                    int diff = 0;
-                    for (int i = 0, size = mCards.size(); i < size; i++) {
-                        Pair<Range<Integer>, Card> pair = mCards.get(i);
-                        int start = pair.first.getLower();
-                        int end = pair.first.getUpper();
-                        if (end < index) {
-                            //do nothing
-                            newCards.add(pair);
-                        } else if (start <= index && index < end) {
-                            diff = newComponent.size() - oldComponent.size();
-                            Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start, end + diff), pair.second);
-                            newCards.add(newPair);
-                        } else if (index <= start) {
-                            Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start + diff, end + diff), pair.second);
-                            newCards.add(newPair);
-                        }
-                    }
-                    mCards.clear();
-                    mCards.addAll(newCards);
+                int cardIdx = findCardIdxFor(index);
+                int delta = newComponent.size() - oldComponent.size();
+                if (cardIdx >= 0 && delta != 0) {
+                    resizeCard(cardIdx, delta);
+                    updateCardLayoutHelper(getCardAt(cardIdx), getCardItemCount(cardIdx));
                 }
                 for (int i = 0, size = oldComponent.size(); i < size; i++) {
                     BaseCell cell = oldComponent.get(i);
@@ -606,11 +778,19 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
                         cell.added();
                     }
                 }
+                final boolean contiguous = isRangeOf(index, oldComponent);
+                final int version = getCellList().getVersion();
                 mData.removeAll(oldComponent);
                 mData.addAll(index, newComponent);
-                int oldSize = oldComponent.size();
-                int newSize = newComponent.size();
-                notifyItemRangeChanged(index, Math.max(oldSize, newSize));
+                if (contiguous) {
+                    onItemsReplaced(version, index, oldComponent, newComponent);
+                }
+                detachItems(oldComponent);
+                if (!isBatching()) {
+                    int oldSize = oldComponent.size();
+                    int newSize = newComponent.size();
+                    notifyItemRangeChanged(index, Math.max(oldSize, newSize));
+                }
             }
         }
     }
@@ -622,37 +802,39 @@ public class PojoGroupBasicAdapter extends GroupBasicAdapter<Card, BaseCell> {
             List<BaseCell> newComponent = newGroup.getCells();
             int index = mData.indexOf(oldComponent.get(0));
             if (index >= 0) {
-                if (mCards != null) {
-                    List<Pair<Range<Integer>, Card>> newCards = new ArrayList<>();
-                    int diff = 0;
-                    for (int i = 0, size = mCards.size(); i < size; i++) {
-                        Pair<Range<Integer>, Card> pair = mCards.get(i);
-                        int start = pair.first.getLower();
-                        int end = pair.first.getUpper();
-                        if (end < index) {
-                            //do nothing
-                            newCards.add(pair);
-                        } else if (start <= index && index < end) {
-                            diff = newComponent.size() - oldComponent.size();
-                            Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start, end + diff), newGroup);
-                            newCards.add(newPair);
-                        } else if (index <= start) {
-                            Pair<Range<Integer>, Card> newPair = new Pair<>(Range.create(start + diff, end + diff), pair.second);
-                            newCards.add(newPair);
-                        }
-                    }
-                    mCards.clear();
-                    mCards.addAll(newCards);
+                int cardIdx = findCardIdxFor(index);
+                if (cardIdx >= 0) {
+                    replaceCard(cardIdx, newGroup, getCardItemCount(cardIdx) + newComponent.size() - oldComponent.size());
                 }
                 oldGroup.removed();
                 newGroup.added();
+                final boolean contiguous = isRangeOf(index, oldComponent);
+                final int version = getCellList().getVersion();
                 mData.removeAll(oldComponent);
                 mData.addAll(index, newComponent);
-                int oldSize = oldComponent.size();
-                int newSize = newComponent.size();
-                notifyItemRangeChanged(index, Math.max(oldSize, newSize));
+                if (contiguous) {
+                    onItemsReplaced(version, index, oldComponent, newComponent);
+                }
+                detachItems(oldComponent);
+                if (!isBatching()) {
+                    int oldSize = oldComponent.size();
+                    int newSize = newComponent.size();
+                    notifyItemRangeChanged(index, Math.max(oldSize, newSize));
+                }
+            }
+        }
+    }
+
+    private boolean isRangeOf(int position, List<BaseCell> cells) {
+        if (position + cells.size() > mData.size()) {
+            return false;
+        }
+        for (int i = 0, size = cells.size(); i < size; i++) {
+            if (mData.get(position + i) != cells.get(i)) {
+                return false;
             }
         }
+        return true;
     }
 
     @Override
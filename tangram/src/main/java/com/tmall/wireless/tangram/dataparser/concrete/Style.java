@@ -45,6 +45,16 @@ public class Style {
 
     private static final LruCache<String, Integer> colorCache = new LruCache<>(100);
 
+    /*
+     * resolved values of size strings like '10', '20rp' and margin/padding strings like '[10,10,10,10]',
+     * depend on screen metrics so they are dropped once metrics changed
+     */
+    private static final LruCache<String, Integer> sizeCache = new LruCache<>(256);
+
+    private static final LruCache<String, int[]> boxCache = new LruCache<>(64);
+
+    private static volatile int cachedMetricsVersion = -1;
+
     /**
      * Use {@link #KEY_BACKGROUND_COLOR} instead
      */
@@ -177,23 +187,7 @@ public class Style {
      */
     public void setMargin(@Nullable String marginString) {
         if (!TextUtils.isEmpty(marginString)) {
-            // remove leading and ending '[' ']'
-            try {
-                marginString = marginString.trim().substring(1, marginString.length() - 1);
-                String marginStringArray[] = marginString.split(",");
-                int size = marginStringArray.length > 4 ? 4 : marginStringArray.length;
-                for (int i = 0; i < size; i++) {
-                    String marginStr = marginStringArray[i];
-                    if (!TextUtils.isEmpty(marginStr)) {
-                        margin[i] = parseSize(marginStr.trim().replace("\"", ""), 0);
-                    } else {
-                        margin[i] = 0;
-                    }
-                }
-                Arrays.fill(margin, size, margin.length, margin[size - 1]);
-            } catch (Exception e) {
-                Arrays.fill(margin, 0);
-            }
+            System.arraycopy(parseBox(marginString), 0, margin, 0, margin.length);
         }
     }
 
@@ -203,28 +197,40 @@ public class Style {
      */
     public void setPadding(@Nullable String paddingString) {
         if (!TextUtils.isEmpty(paddingString)) {
-            // remove leading and ending '[' ']'
-            try {
-                paddingString = paddingString.trim().substring(1, paddingString.length() - 1);
-                String paddingStringArray[] = paddingString.split(",");
-                int size = paddingStringArray.length > 4 ? 4 : paddingStringArray.length;
-                for (int i = 0; i < size; i++) {
-                    String paddingStr = paddingStringArray[i];
-                    try {
-                        if (!TextUtils.isEmpty(paddingStr)) {
-                            padding[i] = parseSize(paddingStr.trim().replace("\"", ""), 0);
-                        } else {
-                            padding[i] = 0;
-                        }
-                    } catch (NumberFormatException ignored) {
-                        padding[i] = 0;
-                    }
+            System.arraycopy(parseBox(paddingString), 0, padding, 0, padding.length);
+        }
+    }
+
+    /**
+     * @return shared values in order of top, right, bottom, left, do not modify it
+     */
+    @NonNull
+    private static int[] parseBox(@NonNull String boxString) {
+        checkMetricsVersion();
+        int[] box = boxCache.get(boxString);
+        if (box != null) {
+            return box;
+        }
+        box = new int[4];
+        // remove leading and ending '[' ']'
+        try {
+            String content = boxString.trim().substring(1, boxString.length() - 1);
+            String boxStringArray[] = content.split(",");
+            int size = boxStringArray.length > 4 ? 4 : boxStringArray.length;
+            for (int i = 0; i < size; i++) {
+                String boxStr = boxStringArray[i];
+                if (!TextUtils.isEmpty(boxStr)) {
+                    box[i] = parseSize(boxStr.trim().replace("\"", ""), 0);
+                } else {
+                    box[i] = 0;
                 }
-                Arrays.fill(padding, size, padding.length, padding[size - 1]);
-            } catch (Exception e) {
-                Arrays.fill(padding, 0);
             }
+            Arrays.fill(box, size, box.length, box[size - 1]);
+        } catch (Exception e) {
+            Arrays.fill(box, 0);
         }
+        boxCache.put(boxString, box);
+        return box;
     }
 
 
@@ -309,31 +315,63 @@ public class Style {
     }
 
     public static int parseSize(String sourceValue, int defaultValue) {
+        if (sourceValue == null || sourceValue.length() == 0) {
+            return defaultValue;
+        }
+        checkMetricsVersion();
+        Integer cached = sizeCache.get(sourceValue);
+        if (cached != null) {
+            return cached.intValue();
+        }
         int result;
-        if (sourceValue != null && sourceValue.length() > 0) {
-            sourceValue = sourceValue.trim();
-            if (sourceValue.endsWith(RP)) {
-                sourceValue = sourceValue.substring(0, sourceValue.length() - 2).trim();
-                try {
-                    double number = Double.parseDouble(sourceValue);
-                    result = rp2px(number);
-                } catch (NumberFormatException e) {
-                    result = defaultValue;
-                }
+        String value = sourceValue.trim();
+        try {
+            if (value.endsWith(RP)) {
+                double number = Double.parseDouble(value.substring(0, value.length() - 2).trim());
+                result = rp2px(number);
             } else {
-                try {
-                    double number = Double.parseDouble(sourceValue);
-                    result = dp2px(number);
-                } catch (NumberFormatException e) {
-                    result = defaultValue;
-                }
+                double number = Double.parseDouble(value);
+                result = dp2px(number);
             }
-        } else {
-            result = defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
         }
+        sizeCache.put(sourceValue, result);
         return result;
     }
 
+    private static void checkMetricsVersion() {
+        int version = TangramViewMetrics.version();
+        if (cachedMetricsVersion != version) {
+            sizeCache.evictAll();
+            boxCache.evictAll();
+            cachedMetricsVersion = version;
+        }
+    }
+
+    /**
+     * @return hit count of cached style values, including colors, sizes, margins and paddings
+     */
+    public static int getCacheHitCount() {
+        return colorCache.hitCount() + sizeCache.hitCount() + boxCache.hitCount();
+    }
+
+    /**
+     * @return miss count of cached style values, including colors, sizes, margins and paddings
+     */
+    public static int getCacheMissCount() {
+        return colorCache.missCount() + sizeCache.missCount() + boxCache.missCount();
+    }
+
+    /**
+     * @return hit rate of cached style values in [0, 1], 0 if nothing is looked up yet
+     */
+    public static float getCacheHitRate() {
+        int hit = getCacheHitCount();
+        int total = hit + getCacheMissCount();
+        return total == 0 ? 0 : (float) hit / total;
+    }
+
     public static int parseColor(String colorString) {
         return parseColor(colorString, Color.WHITE);
     }
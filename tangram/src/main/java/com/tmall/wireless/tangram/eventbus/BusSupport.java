@@ -31,7 +31,10 @@ import android.support.v4.util.ArrayMap;
 import android.text.TextUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -47,7 +50,11 @@ public class BusSupport implements IDispatcherDelegate {
 
     private IDispatcher mDispatcher;
 
-    private ConcurrentHashMap<String, List<EventHandlerWrapper>> subscribers = new ConcurrentHashMap<>();
+    /**
+     * Event type => copy-on-write subscriber table, tables are immutable and replaced on register/unregister so
+     * dispatching needs no lock.
+     */
+    private ConcurrentHashMap<String, HandlerTable> subscribers = new ConcurrentHashMap<>();
 
     public BusSupport() {
         mDispatcher = new Dispatcher(this);
@@ -59,12 +66,11 @@ public class BusSupport implements IDispatcherDelegate {
      */
     public synchronized void register(@NonNull EventHandlerWrapper eventHandler) {
         String type = eventHandler.type;
-        List<EventHandlerWrapper> handlers = subscribers.get(eventHandler.type);
-        if (handlers == null) {
-            handlers = new ArrayList<>();
-            subscribers.put(type, handlers);
-        }
-        handlers.add(eventHandler);
+        HandlerTable table = subscribers.get(type);
+        EventHandlerWrapper[] handlers = table != null ? table.handlers : HandlerTable.EMPTY;
+        EventHandlerWrapper[] newHandlers = Arrays.copyOf(handlers, handlers.length + 1);
+        newHandlers[handlers.length] = eventHandler;
+        subscribers.put(type, new HandlerTable(newHandlers));
     }
 
     /**
@@ -73,9 +79,18 @@ public class BusSupport implements IDispatcherDelegate {
      */
     public synchronized void unregister(@NonNull EventHandlerWrapper eventHandler) {
         String type = eventHandler.type;
-        List<EventHandlerWrapper> handlers = subscribers.get(type);
-        if (handlers != null) {
-            handlers.remove(eventHandler);
+        HandlerTable table = subscribers.get(type);
+        if (table != null) {
+            EventHandlerWrapper[] handlers = table.handlers;
+            for (int i = 0; i < handlers.length; i++) {
+                if (handlers[i].equals(eventHandler)) {
+                    EventHandlerWrapper[] newHandlers = new EventHandlerWrapper[handlers.length - 1];
+                    System.arraycopy(handlers, 0, newHandlers, 0, i);
+                    System.arraycopy(handlers, i + 1, newHandlers, i, handlers.length - i - 1);
+                    subscribers.put(type, new HandlerTable(newHandlers));
+                    break;
+                }
+            }
         }
     }
 
@@ -112,19 +127,74 @@ public class BusSupport implements IDispatcherDelegate {
      * @param event TangramOp1 object
      */
     @Override
-    public synchronized void dispatch(@NonNull Event event) {
-        String type = event.type;
-        List<EventHandlerWrapper> eventHandlers = subscribers.get(type);
-        if (eventHandlers != null) {
-            EventHandlerWrapper handler = null;
-            for (int i = 0, size = eventHandlers.size(); i < size; i++) {
-                handler = eventHandlers.get(i);
-                if (!TextUtils.isEmpty(handler.producer) && handler.producer.equals(event.sourceId)) {
-                    handler.handleEvent(event);
-                } else if (TextUtils.isEmpty(handler.producer)) {
-                    handler.handleEvent(event);
+    public void dispatch(@NonNull Event event) {
+        HandlerTable table = subscribers.get(event.type);
+        if (table != null) {
+            EventHandlerWrapper[] eventHandlers = table.handlersFor(event.sourceId);
+            for (int i = 0, size = eventHandlers.length; i < size; i++) {
+                eventHandlers[i].handleEvent(event);
+            }
+        }
+    }
+
+    /**
+     * Subscribers of one event type, with handlers that match each producer pre-computed in registration order.
+     */
+    private static final class HandlerTable {
+
+        private static final EventHandlerWrapper[] EMPTY = new EventHandlerWrapper[0];
+
+        /**
+         * All handlers in registration order
+         */
+        final EventHandlerWrapper[] handlers;
+
+        /**
+         * Handlers without producer, they accept events from any source
+         */
+        final EventHandlerWrapper[] anySourceHandlers;
+
+        /**
+         * Producer => handlers for that producer and handlers without producer
+         */
+        final Map<String, EventHandlerWrapper[]> producerHandlers;
+
+        HandlerTable(@NonNull EventHandlerWrapper[] handlers) {
+            this.handlers = handlers;
+            List<EventHandlerWrapper> anySource = new ArrayList<>(handlers.length);
+            Map<String, List<EventHandlerWrapper>> byProducer = new HashMap<>();
+            for (EventHandlerWrapper handler : handlers) {
+                if (TextUtils.isEmpty(handler.producer)) {
+                    anySource.add(handler);
+                    for (List<EventHandlerWrapper> list : byProducer.values()) {
+                        list.add(handler);
+                    }
+                } else {
+                    List<EventHandlerWrapper> list = byProducer.get(handler.producer);
+                    if (list == null) {
+                        list = new ArrayList<>(anySource);
+                        byProducer.put(handler.producer, list);
+                    }
+                    list.add(handler);
+                }
+            }
+            this.anySourceHandlers = anySource.toArray(new EventHandlerWrapper[anySource.size()]);
+            this.producerHandlers = new HashMap<>(byProducer.size());
+            for (Map.Entry<String, List<EventHandlerWrapper>> entry : byProducer.entrySet()) {
+                List<EventHandlerWrapper> list = entry.getValue();
+                producerHandlers.put(entry.getKey(), list.toArray(new EventHandlerWrapper[list.size()]));
+            }
+        }
+
+        @NonNull
+        EventHandlerWrapper[] handlersFor(String sourceId) {
+            if (!TextUtils.isEmpty(sourceId)) {
+                EventHandlerWrapper[] matched = producerHandlers.get(sourceId);
+                if (matched != null) {
+                    return matched;
                 }
             }
+            return anySourceHandlers;
         }
     }
 
@@ -170,6 +240,18 @@ public class BusSupport implements IDispatcherDelegate {
         return new EventHandlerWrapper(type, producer, subscriber, action);
     }
 
+    /**
+     * See {@link EventHandlerWrapper}, the handler is called directly without reflection.
+     * @param type The event type subcriber is interested.
+     * @param producer The event source id subscriber is interested.
+     * @param handler Typed subscriber.
+     * @return An EventHandlerWrapper wrapping a subscriber and used to registered into event bus.
+     */
+    public static EventHandlerWrapper wrapEventHandler(@NonNull String type, String producer,
+            @NonNull IEventHandler handler) {
+        return new EventHandlerWrapper(type, producer, handler, null);
+    }
+
     /**
      * This performs the same feature as {@link #wrapEventHandler(String, String, Object, String)}, just parse the params from jsonObject.
      * @param subscriber Original subscriber object
@@ -30,6 +30,8 @@ import android.os.Message;
 import android.support.annotation.NonNull;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Created by longerian on 16/4/27.
@@ -39,6 +41,13 @@ public class Dispatcher extends Handler implements IDispatcher {
 
     private IDispatcherDelegate mDispatcherDelegate;
 
+    /**
+     * Events are queued here and drained by a single message, instead of sending one message per event.
+     */
+    private final ConcurrentLinkedQueue<Event> mEventQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger mPendingCount = new AtomicInteger();
+
     public Dispatcher(IDispatcherDelegate dispatcherDelegate) {
         super(Looper.getMainLooper());
         this.mDispatcherDelegate = dispatcherDelegate;
@@ -47,10 +56,20 @@ public class Dispatcher extends Handler implements IDispatcher {
     @Override
     public void handleMessage(Message msg) {
         super.handleMessage(msg);
-        if (mDispatcherDelegate != null) {
-            mDispatcherDelegate.dispatch((Event) msg.obj);
+        // only drain events queued before this pass, events posted by subscribers go to the next message
+        final int count = mPendingCount.get();
+        int drained = 0;
+        Event event;
+        while (drained < count && (event = mEventQueue.poll()) != null) {
+            drained++;
+            if (mDispatcherDelegate != null) {
+                mDispatcherDelegate.dispatch(event);
+            }
+            EventPool.sharedInstance().release(event);
+        }
+        if (mPendingCount.addAndGet(-drained) > 0) {
+            sendEmptyMessage(0);
         }
-        EventPool.sharedInstance().release((Event) msg.obj);
     }
 
     @Override
@@ -60,17 +79,24 @@ public class Dispatcher extends Handler implements IDispatcher {
 
     @Override
     public boolean enqueue(@NonNull Event event) {
-        Message msg = obtainMessage();
-        msg.obj = event;
-        return sendMessage(msg);
+        mEventQueue.offer(event);
+        if (mPendingCount.getAndIncrement() == 0) {
+            return sendEmptyMessage(0);
+        }
+        return true;
     }
 
     @Override
     public boolean enqueue(@NonNull List<Event> eventList) {
-        for (int i = 0, size = eventList.size(); i < size; i++) {
-            Message msg = obtainMessage();
-            msg.obj = eventList.get(i);
-            sendMessage(msg);
+        final int size = eventList.size();
+        if (size == 0) {
+            return true;
+        }
+        for (int i = 0; i < size; i++) {
+            mEventQueue.offer(eventList.get(i));
+        }
+        if (mPendingCount.getAndAdd(size) == 0) {
+            return sendEmptyMessage(0);
         }
         return true;
     }
@@ -78,5 +104,8 @@ public class Dispatcher extends Handler implements IDispatcher {
     @Override
     public void stopSelf() {
         removeCallbacksAndMessages(null);
+        while (mEventQueue.poll() != null) {
+            mPendingCount.decrementAndGet();
+        }
     }
 }
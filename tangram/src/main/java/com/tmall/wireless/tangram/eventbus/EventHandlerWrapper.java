@@ -25,6 +25,7 @@
 package com.tmall.wireless.tangram.eventbus;
 
 import android.support.annotation.NonNull;
+import android.text.TextUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -36,6 +37,8 @@ import java.lang.reflect.Method;
  */
 public class EventHandlerWrapper {
 
+    private static final String DEFAULT_ACTION = "execute";
+
     /**
      * Interested event type
      */
@@ -59,21 +62,34 @@ public class EventHandlerWrapper {
     protected final String action;
 
     /**
-     * Cached callback method object.
+     * Cached callback method object, null if subscriber is called through {@link #typedHandler}.
      */
     protected final Method handlerMethod;
 
+    /**
+     * Subscriber called without reflection.
+     */
+    protected final IEventHandler typedHandler;
+
     EventHandlerWrapper(@NonNull String type, String producer, @NonNull Object subscriber,
             String action) {
         this.type = type;
         this.producer = producer;
         this.subscriber = subscriber;
         this.action = action;
-        this.handlerMethod = ReflectedActionFinder.findMethodByName(action, subscriber);
+        if (subscriber instanceof IEventHandler && (TextUtils.isEmpty(action) || DEFAULT_ACTION.equals(action))) {
+            this.typedHandler = (IEventHandler) subscriber;
+            this.handlerMethod = null;
+        } else {
+            this.typedHandler = null;
+            this.handlerMethod = ReflectedActionFinder.findMethodByName(action, subscriber);
+        }
     }
 
     final protected void handleEvent(@NonNull Event event) {
-        if (handlerMethod != null) {
+        if (typedHandler != null) {
+            typedHandler.execute(event);
+        } else if (handlerMethod != null) {
             try {
                 handlerMethod.invoke(subscriber, event);
             } catch (IllegalAccessException e) {
@@ -24,17 +24,22 @@
 
 package com.tmall.wireless.tangram.structure;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.util.ArrayMap;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.widget.ImageView;
+import com.tmall.wireless.tangram.BindContext;
 import com.tmall.wireless.tangram.Engine;
 import com.tmall.wireless.tangram.MVHelper;
+import com.tmall.wireless.tangram.core.resolver.TypeRegistry;
 import com.tmall.wireless.tangram.core.service.ServiceManager;
 import com.tmall.wireless.tangram.dataparser.concrete.Card;
 import com.tmall.wireless.tangram.dataparser.concrete.ComponentLifecycle;
@@ -72,6 +77,10 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
      */
     public String stringType;
 
+    private String mTypeIdSource;
+
+    private int mTypeId = TypeRegistry.NO_ID;
+
     /**
      * parent's id
      */
@@ -123,9 +132,21 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
      */
     public JSONObject extras = new JSONObject();
 
-    private ConcurrentHashMap<String, Object> bizParaMap = new ConcurrentHashMap<>(32);
+    /**
+     * created on first {@link #addBizParam(String, Object)}, or on first access of a parsed cell's params
+     */
+    private ArrayMap<String, Object> bizParaMap;
 
-    private ConcurrentHashMap<Integer, Integer> innerClickMap = new ConcurrentHashMap<>();
+    /**
+     * params of a parsed cell are copied from {@link #extras} and its style on first access, not at parse time.
+     * Cleared under the cell's lock once {@link #bizParaMap} is filled, so any thread that reads it false sees the map.
+     */
+    private volatile boolean mBizParamsPending;
+
+    /**
+     * event type by view hash code, created on first {@link #setOnClickListener(View, int)}
+     */
+    private SparseIntArray innerClickMap;
 
     @Nullable
     public ServiceManager serviceManager;
@@ -134,6 +155,14 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
 
     private SparseArray<Object> mTag;
 
+    private Object mItemTypeOwner;
+
+    private String mItemTypeKey;
+
+    private int mItemTypeVersion;
+
+    private int mItemType = -1;
+
     public BaseCell() {
         objectId = sIsGenIds ? sIdGen.getAndIncrement() : 0;
     }
@@ -156,28 +185,126 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
 
     public void setStringType(String type) {
         stringType = type;
-        try {
-            this.type = Integer.parseInt(type);
-        } catch (NumberFormatException e) {
+        this.type = TypeRegistry.numericTypeOf(type, this.type);
+    }
+
+    /**
+     * {@link TypeRegistry} id of {@link #stringType}, recomputed if stringType was reassigned, {@link
+     * TypeRegistry#NO_ID} while the type is not registered
+     */
+    public int getTypeId() {
+        final String stringType = this.stringType;
+        if (mTypeIdSource != stringType) {
+            int typeId = TypeRegistry.find(stringType);
+            if (typeId == TypeRegistry.NO_ID) {
+                // not cached, the type may be registered later
+                return typeId;
+            }
+            mTypeId = typeId;
+            mTypeIdSource = stringType;
+        }
+        return mTypeId;
+    }
+
+    /**
+     * Drop the view mapping of this cell kept by {@link MVHelper}. The adapter does this when the cell leaves it,
+     * containers that mount cells outside the adapter call it when they drop a mounted cell.
+     */
+    public void releaseMountState() {
+        if (serviceManager != null) {
+            MVHelper mvHelper = serviceManager.getService(MVHelper.class);
+            if (mvHelper != null) {
+                mvHelper.release(this);
+            }
         }
     }
 
-    public void addBizParam(String key, Object value) {
+    /**
+     * inner use, item type resolved by the adapter for this typeKey and template version.
+     * @return cached item type, or -1 if not resolved by owner yet
+     */
+    public int getCachedItemType(Object owner, String typeKey, int version) {
+        if (mItemTypeOwner == owner && mItemTypeKey == typeKey && mItemTypeVersion == version) {
+            return mItemType;
+        }
+        return -1;
+    }
+
+    /**
+     * inner use, see {@link #getCachedItemType(Object, String, int)}
+     */
+    public void cacheItemType(Object owner, String typeKey, int version, int itemType) {
+        mItemTypeOwner = owner;
+        mItemTypeKey = typeKey;
+        mItemTypeVersion = version;
+        mItemType = itemType;
+    }
+
+    public synchronized void addBizParam(String key, Object value) {
+        ensureBizParams();
+        if (bizParaMap == null) {
+            bizParaMap = new ArrayMap<>();
+        }
         bizParaMap.put(key, value);
     }
 
     public Map<String, Object> getAllBizParams() {
+        ensureBizParams();
+        if (bizParaMap == null) {
+            return Collections.emptyMap();
+        }
         return bizParaMap;
     }
 
+    /**
+     * inner use, called by the parser after parsing, keys of {@link #extras} and its style become biz params when
+     * they are first read or added to
+     */
+    public void setBizParamsFromExtras() {
+        mBizParamsPending = true;
+    }
+
+    private void ensureBizParams() {
+        if (!mBizParamsPending) {
+            return;
+        }
+        synchronized (this) {
+            if (!mBizParamsPending) {
+                return;
+            }
+            // same precedence as copying at parse time: style keys, then params added while parsing, then other keys
+            copyBizParams(extras, false);
+            if (extras != null) {
+                copyBizParams(extras.optJSONObject(Card.KEY_STYLE), true);
+            }
+            mBizParamsPending = false;
+        }
+    }
+
+    private void copyBizParams(@Nullable JSONObject json, boolean override) {
+        if (json == null || json.length() == 0) {
+            return;
+        }
+        if (bizParaMap == null) {
+            bizParaMap = new ArrayMap<>(json.length());
+        }
+        Iterator<String> iterator = json.keys();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            if (override || !bizParaMap.containsKey(key)) {
+                bizParaMap.put(key, json.opt(key));
+            }
+        }
+    }
+
     @Override
     public void onClick(View v) {
         if (serviceManager != null) {
             SimpleClickSupport service = serviceManager.getService(SimpleClickSupport.class);
             if (service != null) {
                 int eventType = this.pos;
-                if (innerClickMap.containsKey(v.hashCode())) {
-                    eventType = innerClickMap.get(v.hashCode()).intValue();
+                if (innerClickMap != null) {
+                    eventType = innerClickMap.get(v.hashCode(), eventType);
                 }
                 service.onClick(v, this, eventType);
             }
@@ -186,12 +313,17 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
 
     public void setOnClickListener(View view, int eventType) {
         view.setOnClickListener(this);
-        innerClickMap.put(view.hashCode(), Integer.valueOf(eventType));
+        if (innerClickMap == null) {
+            innerClickMap = new SparseIntArray(2);
+        }
+        innerClickMap.put(view.hashCode(), eventType);
     }
 
     public void clearClickListener(View view, int eventType) {
         view.setOnClickListener(null);
-        innerClickMap.remove(view.hashCode());
+        if (innerClickMap != null) {
+            innerClickMap.delete(view.hashCode());
+        }
     }
 
     /**
@@ -206,8 +338,9 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
 
 
     public final void doLoadImageUrl(ImageView view, String imgUrl) {
-        if (serviceManager != null && serviceManager.getService(IInnerImageSetter.class) != null) {
-            serviceManager.getService(IInnerImageSetter.class).doLoadImageUrl(view, imgUrl);
+        IInnerImageSetter imageSetter = serviceManager != null ? BindContext.of(serviceManager).getImageSetter() : null;
+        if (imageSetter != null) {
+            imageSetter.doLoadImageUrl(view, imgUrl);
         } else {
             ImageUtils.doLoadImageUrl(view, imgUrl);
         }
@@ -366,9 +499,29 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
         return null;
     }
 
-    private ConcurrentHashMap<View, ClickExposureCellOp> mRxExposureEvents = new ConcurrentHashMap<>();
+    /**
+     * Rx click and exposure state, only cells that use {@link #click(View)} or {@link #exposure(View)} have one.
+     */
+    private static final class RxState {
+
+        final ArrayMap<View, ClickExposureCellOp> exposureEvents = new ArrayMap<>();
+
+        final ArrayMap<View, CellExposureObservable> exposureObservables = new ArrayMap<>();
+
+        final ArrayMap<View, ClickExposureCellOp> clickEvents = new ArrayMap<>();
+
+        final ArrayMap<View, CellClickObservable> clickObservables = new ArrayMap<>();
+    }
+
+    private RxState mRxState;
 
-    private ConcurrentHashMap<View, CellExposureObservable> mViewExposureObservables = new ConcurrentHashMap<>();
+    @NonNull
+    private RxState rxState() {
+        if (mRxState == null) {
+            mRxState = new RxState();
+        }
+        return mRxState;
+    }
 
     /**
      * @param targetView
@@ -376,10 +529,11 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
      * @since 3.0.0
      */
     public CellExposureObservable exposure(View targetView, ClickExposureCellOp rxClickExposureEvent) {
-        CellExposureObservable cellExposureObservable = mViewExposureObservables.get(targetView);
+        ArrayMap<View, CellExposureObservable> observables = rxState().exposureObservables;
+        CellExposureObservable cellExposureObservable = observables.get(targetView);
         if (cellExposureObservable == null) {
             cellExposureObservable = new CellExposureObservable(rxClickExposureEvent);
-            mViewExposureObservables.put(targetView, cellExposureObservable);
+            observables.put(targetView, cellExposureObservable);
         } else {
             cellExposureObservable.setRxClickExposureEvent(rxClickExposureEvent);
         }
@@ -391,10 +545,11 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
      * @since 3.0.0
      */
     public CellExposureObservable exposure(View targetView) {
-        ClickExposureCellOp rxExposureEvent = mRxExposureEvents.get(targetView);
+        ArrayMap<View, ClickExposureCellOp> events = rxState().exposureEvents;
+        ClickExposureCellOp rxExposureEvent = events.get(targetView);
         if (rxExposureEvent == null) {
             rxExposureEvent = new ClickExposureCellOp(targetView, this, this.pos);
-            mRxExposureEvents.put(targetView, rxExposureEvent);
+            events.put(targetView, rxExposureEvent);
         } else {
             rxExposureEvent.setArg1(targetView);
             rxExposureEvent.setArg2(this);
@@ -403,20 +558,17 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
         return exposure(targetView, rxExposureEvent);
     }
 
-    private ConcurrentHashMap<View, ClickExposureCellOp> mRxClickEvents = new ConcurrentHashMap<>();
-
-    private ConcurrentHashMap<View, CellClickObservable> mViewClickObservables = new ConcurrentHashMap<>();
-
     /**
      * @param view
      * @param rxClickExposureEvent
      * @since 3.0.0
      */
     public CellClickObservable click(View view, ClickExposureCellOp rxClickExposureEvent) {
-        CellClickObservable cellClickObservable = mViewClickObservables.get(view);
+        ArrayMap<View, CellClickObservable> observables = rxState().clickObservables;
+        CellClickObservable cellClickObservable = observables.get(view);
         if (cellClickObservable == null) {
             cellClickObservable = new CellClickObservable(rxClickExposureEvent);
-            mViewClickObservables.put(view, cellClickObservable);
+            observables.put(view, cellClickObservable);
         } else {
             cellClickObservable.setRxClickExposureEvent(rxClickExposureEvent);
         }
@@ -428,10 +580,11 @@ public class BaseCell<V extends View> extends ComponentLifecycle implements View
      * @since 3.0.0
      */
     public CellClickObservable click(View view) {
-        ClickExposureCellOp rxClickEvent = mRxClickEvents.get(view);
+        ArrayMap<View, ClickExposureCellOp> events = rxState().clickEvents;
+        ClickExposureCellOp rxClickEvent = events.get(view);
         if (rxClickEvent == null) {
             rxClickEvent = new ClickExposureCellOp(view, this, this.pos);
-            mRxClickEvents.put(view, rxClickEvent);
+            events.put(view, rxClickEvent);
         } else {
             rxClickEvent.setArg1(view);
             rxClickEvent.setArg2(this);
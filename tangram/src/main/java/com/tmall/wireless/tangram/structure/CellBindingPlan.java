@@ -0,0 +1,285 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.structure;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.view.View;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Reflective {@link CellViewBinder} compiled once per view class, used for views that have neither a registered nor
+ * a generated binder. It holds a flat array of {@link CellRender} setters, one typed setter per parameter kind, so
+ * binding a cell only reads the cell's params and invokes the setters, without scanning methods or caching values
+ * per cell.
+ */
+public final class CellBindingPlan implements CellViewBinder<View> {
+
+    @NonNull
+    private final Setter[] mSetters;
+
+    @Nullable
+    private final Method mCellInited;
+
+    @Nullable
+    private final Method mPostBindView;
+
+    @Nullable
+    private final Method mPostUnBindView;
+
+    private CellBindingPlan(@NonNull Setter[] setters, @Nullable Method cellInited, @Nullable Method postBindView,
+        @Nullable Method postUnBindView) {
+        mSetters = setters;
+        mCellInited = cellInited;
+        mPostBindView = postBindView;
+        mPostUnBindView = postUnBindView;
+    }
+
+    /**
+     * Scan the {@link CellRender} methods of a view class.
+     *
+     * @param viewClz the view class
+     * @return binding plan of the view class
+     */
+    @NonNull
+    public static CellBindingPlan compile(@NonNull Class<?> viewClz) {
+        List<Setter> setters = new ArrayList<>();
+        Method cellInited = null;
+        Method postBindView = null;
+        Method postUnBindView = null;
+        for (Method method : viewClz.getDeclaredMethods()) {
+            CellRender cellRender = method.getAnnotation(CellRender.class);
+            Class<?>[] paramClazz = method.getParameterTypes();
+            if (cellRender == null || paramClazz == null || paramClazz.length != 1) {
+                continue;
+            }
+            String name = method.getName();
+            if (name.equals("postBindView")) {
+                postBindView = method;
+            } else if (name.equals("postUnBindView")) {
+                postUnBindView = method;
+            } else if (name.equals("cellInited")) {
+                cellInited = method;
+            } else {
+                setters.add(createSetter(method, cellRender.key(), paramClazz[0]));
+            }
+        }
+        return new CellBindingPlan(setters.toArray(new Setter[setters.size()]), cellInited, postBindView,
+            postUnBindView);
+    }
+
+    @NonNull
+    private static Setter createSetter(@NonNull Method method, String key, @NonNull Class<?> clz) {
+        if (clz.equals(Integer.class) || clz.equals(int.class)) {
+            return new IntSetter(method, key);
+        } else if (clz.equals(String.class)) {
+            return new StringSetter(method, key);
+        } else if (clz.equals(Boolean.class) || clz.equals(boolean.class)) {
+            return new BooleanSetter(method, key);
+        } else if (clz.equals(Double.class) || clz.equals(double.class)) {
+            return new DoubleSetter(method, key);
+        } else if (clz.equals(JSONArray.class)) {
+            return new JSONArraySetter(method, key);
+        } else if (clz.equals(Long.class) || clz.equals(long.class)) {
+            return new LongSetter(method, key);
+        } else if (clz.equals(JSONObject.class)) {
+            return new JSONObjectSetter(method, key);
+        }
+        return new Setter(method, key);
+    }
+
+    @Override
+    public void cellInited(@NonNull BaseCell cell, @NonNull View view) {
+        invokeLifeCycle(mCellInited, cell, view);
+    }
+
+    @Override
+    public void bindView(@NonNull BaseCell cell, @NonNull View view) {
+        for (Setter setter : mSetters) {
+            try {
+                setter.bind(cell, view);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public void postBindView(@NonNull BaseCell cell, @NonNull View view) {
+        invokeLifeCycle(mPostBindView, cell, view);
+    }
+
+    @Override
+    public void postUnBindView(@NonNull BaseCell cell, @NonNull View view) {
+        invokeLifeCycle(mPostUnBindView, cell, view);
+    }
+
+    private static void invokeLifeCycle(@Nullable Method method, BaseCell cell, View view) {
+        if (method != null) {
+            try {
+                method.invoke(view, cell);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Binds a param of any type with {@link BaseCell#optParam(String)}, subclasses read the param as the type the
+     * setter declares.
+     */
+    private static class Setter {
+
+        final Method method;
+
+        final String key;
+
+        /**
+         * the param read when the cell has no param named {@link #key}
+         */
+        final String fallbackKey;
+
+        Setter(Method method, String key) {
+            this.method = method;
+            this.key = TextUtils.isEmpty(key) ? null : key;
+            this.fallbackKey = method.getName();
+        }
+
+        final void bind(BaseCell cell, View view) throws Exception {
+            String param = null;
+            if (key != null && cell.hasParam(key)) {
+                param = key;
+            } else if (cell.hasParam(fallbackKey)) {
+                param = fallbackKey;
+            }
+            if (param != null && "null".equals(cell.optParam(param))) {
+                method.invoke(view, (Object) null);
+            } else {
+                bind(cell, param, view);
+            }
+        }
+
+        /**
+         * @param param name of the param to read, or null to pass the default value
+         */
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            method.invoke(view, param != null ? cell.optParam(param) : "");
+        }
+    }
+
+    private static final class IntSetter extends Setter {
+
+        IntSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            int value = param != null ? cell.optIntParam(param) : 0;
+            method.invoke(view, value);
+        }
+    }
+
+    private static final class LongSetter extends Setter {
+
+        LongSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            long value = param != null ? cell.optLongParam(param) : 0L;
+            method.invoke(view, value);
+        }
+    }
+
+    private static final class DoubleSetter extends Setter {
+
+        DoubleSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            double value = param != null ? cell.optDoubleParam(param) : 0d;
+            method.invoke(view, value);
+        }
+    }
+
+    private static final class BooleanSetter extends Setter {
+
+        BooleanSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            boolean value = param != null && cell.optBoolParam(param);
+            method.invoke(view, value);
+        }
+    }
+
+    private static final class StringSetter extends Setter {
+
+        StringSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            method.invoke(view, param != null ? cell.optStringParam(param) : "");
+        }
+    }
+
+    private static final class JSONArraySetter extends Setter {
+
+        JSONArraySetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            method.invoke(view, param != null ? cell.optJsonArrayParam(param) : null);
+        }
+    }
+
+    private static final class JSONObjectSetter extends Setter {
+
+        JSONObjectSetter(Method method, String key) {
+            super(method, key);
+        }
+
+        @Override
+        void bind(BaseCell cell, @Nullable String param, View view) throws Exception {
+            method.invoke(view, param != null ? cell.optJsonObjectParam(param) : null);
+        }
+    }
+}
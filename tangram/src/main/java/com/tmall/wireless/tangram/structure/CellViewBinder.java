@@ -0,0 +1,46 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.structure;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Binds a cell's data to a certain view class with direct calls. Register an implementation through
+ * {@link com.tmall.wireless.tangram.TangramBuilder.InnerBuilder#registerViewBinder(Class, CellViewBinder)} to skip
+ * the reflective {@link CellRender} lookup for that view class. A public class named <code>ViewClass_CellViewBinder</code>
+ * with a no-arg constructor, e.g. generated at build time, is picked up without registration. Other views are bound
+ * by a {@link CellBindingPlan} compiled from their {@link CellRender} methods.
+ */
+public interface CellViewBinder<V extends View> {
+
+    void cellInited(@NonNull BaseCell cell, @NonNull V view);
+
+    void bindView(@NonNull BaseCell cell, @NonNull V view);
+
+    void postBindView(@NonNull BaseCell cell, @NonNull V view);
+
+    void postUnBindView(@NonNull BaseCell cell, @NonNull V view);
+}
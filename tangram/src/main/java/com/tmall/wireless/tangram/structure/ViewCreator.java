@@ -26,13 +26,14 @@ package com.tmall.wireless.tangram.structure;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 
 import com.tmall.wireless.tangram.TangramBuilder;
+import com.tmall.wireless.tangram.util.Instantiator;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 /**
@@ -46,14 +47,23 @@ public class ViewCreator<V extends View> {
 
     private V view;
 
+    private Instantiator mInstantiator;
+
     public ViewCreator(@NonNull final Class<V> clz) {
         this.mClz = clz;
     }
 
+    /**
+     * @param instantiator used to create views, so factories registered on it are applied
+     */
+    public ViewCreator(@NonNull final Class<V> clz, @Nullable Instantiator instantiator) {
+        this.mClz = clz;
+        this.mInstantiator = instantiator;
+    }
+
     public V create(@NonNull Context context, ViewGroup parent) {
         try {
-            Constructor<V> constructor = mClz.getConstructor(Context.class);
-            view = constructor.newInstance(context);
+            view = mInstantiator != null ? mInstantiator.create(mClz, context) : Instantiator.newInstance(mClz, context);
             return view;
         } catch (InstantiationException e) {
             handleException(e);
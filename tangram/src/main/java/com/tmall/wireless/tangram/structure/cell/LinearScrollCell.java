@@ -25,6 +25,7 @@
 package com.tmall.wireless.tangram.structure.cell;
 
 import android.graphics.Color;
+import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
@@ -33,6 +34,7 @@ import com.tmall.wireless.tangram.core.adapter.BinderViewHolder;
 import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
 import com.tmall.wireless.tangram.dataparser.concrete.Style;
 import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.TangramViewMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -118,6 +120,24 @@ public class LinearScrollCell extends BaseCell {
 
     public boolean retainScrollState = true;
 
+    private static final int[] NO_MARGINS = {0, 0, 0, 0};
+
+    private static final int WIDTH_UNSET = Integer.MIN_VALUE;
+
+    /**
+     * geometry of cells, computed by {@link #ensureGeometry()} and reused across binds
+     */
+    private boolean mGeometryValid;
+    private int[] mItemWidths;
+    private Integer[] mPositionTags;
+    private float[] mColumnStarts;
+    private float mContentWidth;
+
+    private double mGeometryPageWidth;
+    private int mGeometryMaxRows;
+    private double mGeometryHGap;
+    private int mGeometryMetricsVersion;
+
     @Override
     public void onAdded() {
         super.onAdded();
@@ -129,9 +149,95 @@ public class LinearScrollCell extends BaseCell {
         if (cells != null && cells.size() > 0) {
             this.cells.addAll(cells);
         }
+        invalidateGeometry();
         adapter.notifyDataSetChanged();
     }
 
+    /**
+     * Drop precomputed geometry, call it after changing cells or their pageWidth directly.
+     */
+    public void invalidateGeometry() {
+        mGeometryValid = false;
+    }
+
+    /**
+     * @return left of each column including margins and gaps, indexed by column
+     */
+    public float[] getColumnStarts() {
+        ensureGeometry();
+        return mColumnStarts;
+    }
+
+    /**
+     * @return sum of widths of all columns including margins and gaps
+     */
+    public float getContentWidth() {
+        ensureGeometry();
+        return mContentWidth;
+    }
+
+    private void ensureGeometry() {
+        final int metricsVersion = TangramViewMetrics.version();
+        // cells is public and may be changed without invalidateGeometry(), a size change is caught here
+        if (mGeometryValid && mItemWidths.length == cells.size()
+            && Double.compare(mGeometryPageWidth, pageWidth) == 0 && mGeometryMaxRows == maxRows
+            && Double.compare(mGeometryHGap, hGap) == 0 && mGeometryMetricsVersion == metricsVersion) {
+            return;
+        }
+        final int size = cells.size();
+        int[] widths = new int[size];
+        Integer[] tags = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            BaseCell cell = cells.get(i);
+            int width = WIDTH_UNSET;
+            if (!Double.isNaN(pageWidth)) {
+                width = (int) (pageWidth + 0.5);
+            }
+            //chils cell's pageWidth override pageWidth in style
+            if (cell.extras.has(KEY_PAGE_WIDTH)) {
+                width = Style.parseSize(cell.extras.optString(KEY_PAGE_WIDTH), 0);
+            }
+            widths[i] = width;
+            tags[i] = i;
+        }
+
+        float[] starts = null;
+        float contentWidth = 0;
+        if (size > 0) {
+            int maxRowCount = size;
+            if (maxRows > 1) {
+                maxRowCount = (int) (maxRowCount * 1.0f / maxRows + 0.5f);
+            }
+            starts = new float[maxRowCount];
+            for (int i = 0; i < maxRowCount; i++) {
+                int mapperIndex = getMapperPosition(maxRows * i);
+
+                starts[i] = contentWidth;
+
+                BaseCell bc = cells.get(mapperIndex);
+                if (bc.style != null && bc.style.margin.length > 0) {
+                    contentWidth = contentWidth + bc.style.margin[1] + bc.style.margin[3];
+                }
+                if (!Double.isNaN(pageWidth)) {
+                    contentWidth += widths[mapperIndex] != WIDTH_UNSET ? widths[mapperIndex] : pageWidth;
+                }
+                if (i > 0 && hGap > 0) {
+                    contentWidth += hGap;
+                }
+            }
+        }
+
+        mItemWidths = widths;
+        mPositionTags = tags;
+        mColumnStarts = starts;
+        mContentWidth = contentWidth;
+        mGeometryPageWidth = pageWidth;
+        mGeometryMaxRows = maxRows;
+        mGeometryHGap = hGap;
+        mGeometryMetricsVersion = metricsVersion;
+        mGeometryValid = true;
+    }
+
     public GroupBasicAdapter getAdapter() {
         if (serviceManager != null) {
             return serviceManager.getService(GroupBasicAdapter.class);
@@ -174,27 +280,35 @@ public class LinearScrollCell extends BaseCell {
 
         @Override
         public void onBindViewHolder(BinderViewHolder binderViewHolder, int position) {
+            ensureGeometry();
             int mapperPosition = getMapperPosition(position);
-            binderViewHolder.bind(cells.get(mapperPosition));
             BaseCell cell = cells.get(mapperPosition);
-            RecyclerView.LayoutParams lp = new RecyclerView.LayoutParams(binderViewHolder.itemView.getLayoutParams());
-            if (!Double.isNaN(pageWidth)) {
-                lp.width = (int) (pageWidth + 0.5);
+            binderViewHolder.bind(cell);
+            ViewGroup.LayoutParams current = binderViewHolder.itemView.getLayoutParams();
+            GridLayoutManager.LayoutParams lp;
+            if (current instanceof GridLayoutManager.LayoutParams) {
+                // created by a previous bind, reuse it
+                lp = (GridLayoutManager.LayoutParams) current;
+            } else if (current != null) {
+                lp = new GridLayoutManager.LayoutParams(current);
+            } else {
+                lp = new GridLayoutManager.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+                    ViewGroup.LayoutParams.WRAP_CONTENT);
             }
             if (!Double.isNaN(pageHeight)) {
                 lp.height = (int) (pageHeight + 0.5);
             }
-            int[] margins = {0, 0, 0, 0};
+            int[] margins = NO_MARGINS;
             if (cell.style != null) {
                 margins = cell.style.margin;
             }
             lp.setMargins(margins[3], margins[0], margins[1], margins[2]);
-            //chils cell's pageWidth override pageWidth in style
-            if (cell.extras.has("pageWidth")) {
-                lp.width = Style.parseSize(cell.extras.optString("pageWidth"), 0);
+            int width = mItemWidths[mapperPosition];
+            if (width != WIDTH_UNSET) {
+                lp.width = width;
             }
             binderViewHolder.itemView.setLayoutParams(lp);
-            binderViewHolder.itemView.setTag(R.id.TANGRAM_LINEAR_SCROLL_POS, mapperPosition);
+            binderViewHolder.itemView.setTag(R.id.TANGRAM_LINEAR_SCROLL_POS, mPositionTags[mapperPosition]);
         }
 
         @Override
@@ -25,6 +25,7 @@
 package com.tmall.wireless.tangram.structure.view;
 
 import android.content.Context;
+import android.support.annotation.NonNull;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.View;
@@ -33,6 +34,7 @@ import android.widget.FrameLayout;
 import com.tmall.wireless.tangram.dataparser.concrete.Style;
 import com.tmall.wireless.tangram.structure.BaseCell;
 import com.tmall.wireless.tangram.structure.CellRender;
+import com.tmall.wireless.tangram.structure.CellViewBinder;
 import com.tmall.wireless.tangram.structure.card.FusionCard;
 
 import org.json.JSONException;
@@ -58,4 +60,27 @@ public class SimpleEmptyView extends FrameLayout {
     public void cellInited(BaseCell cell) {
 
     }
+
+    /**
+     * Binds {@link SimpleEmptyView} with direct calls instead of reflection.
+     */
+    public static final class ViewBinder implements CellViewBinder<SimpleEmptyView> {
+
+        @Override
+        public void cellInited(@NonNull BaseCell cell, @NonNull SimpleEmptyView view) {
+            view.cellInited(cell);
+        }
+
+        @Override
+        public void bindView(@NonNull BaseCell cell, @NonNull SimpleEmptyView view) {
+        }
+
+        @Override
+        public void postBindView(@NonNull BaseCell cell, @NonNull SimpleEmptyView view) {
+        }
+
+        @Override
+        public void postUnBindView(@NonNull BaseCell cell, @NonNull SimpleEmptyView view) {
+        }
+    }
 }
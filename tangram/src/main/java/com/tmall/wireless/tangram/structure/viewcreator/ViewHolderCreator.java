@@ -34,10 +34,9 @@ import android.view.ViewGroup;
 
 import com.tmall.wireless.tangram.core.R;
 import com.tmall.wireless.tangram.TangramBuilder;
+import com.tmall.wireless.tangram.util.Instantiator;
 import com.tmall.wireless.tangram.util.LogUtils;
 
-import java.lang.reflect.Constructor;
-
 /**
  * Created by mikeafc on 16/5/26.
  */
@@ -60,8 +59,7 @@ public class ViewHolderCreator<T extends ViewHolderCreator.ViewHolder, V extends
 
         try {
             V view = viewClz.cast(rootView);
-            Constructor<T> constructor = mClz.getConstructor(Context.class);
-            T holder = constructor.newInstance(context);
+            T holder = Instantiator.newInstance(mClz, context);
             holder.onRootViewCreated(view);
             view.setTag(R.id.TANGRAM_VIEW_HOLDER_TAG, holder);
             return view;
@@ -84,6 +84,23 @@ public abstract class ExposureSupport {
 
     private boolean optimizedMode;
 
+    private volatile boolean mMethodsFound;
+
+    private static final ExposureHandler<View> NO_HANDLER = new ExposureHandler<View>() {
+        @Override
+        public void onExposure(@NonNull View targetView, @NonNull BaseCell cell, int type) {
+        }
+    };
+
+    private final Map<Class<?>, ExposureHandler<?>> mExposureHandlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ExposureHandler<?>> mTraceHandlers = new ConcurrentHashMap<>();
+
+    /**
+     * resolved handler of each concrete view class, {@link #NO_HANDLER} if it has none
+     */
+    private final Map<Class<?>, ExposureHandler<?>> mExposureTable = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ExposureHandler<?>> mTraceTable = new ConcurrentHashMap<>();
+
     public ExposureSupport() {
     }
 
@@ -149,6 +166,28 @@ public abstract class ExposureSupport {
      */
     public void setOptimizedMode(boolean optimizedMode) {
         this.optimizedMode = optimizedMode;
+        mExposureTable.clear();
+        mTraceTable.clear();
+    }
+
+    /**
+     * Register a typed exposure handler, it takes precedence over reflected onXXExposure methods and works in both
+     * modes.
+     *
+     * @param viewClass view class the handler is for, subclasses are handled too unless they have their own
+     * @param handler   exposure handler
+     */
+    public <V extends View> void register(@NonNull Class<V> viewClass, @NonNull ExposureHandler<V> handler) {
+        mExposureHandlers.put(viewClass, handler);
+        mExposureTable.clear();
+    }
+
+    /**
+     * Register a typed trace handler, see {@link #register(Class, ExposureHandler)}.
+     */
+    public <V extends View> void registerTrace(@NonNull Class<V> viewClass, @NonNull ExposureHandler<V> handler) {
+        mTraceHandlers.put(viewClass, handler);
+        mTraceTable.clear();
     }
 
     /**
@@ -159,32 +198,11 @@ public abstract class ExposureSupport {
      * @param type       exposure event type, defined by developer.
      */
     public void onTrace(@NonNull View targetView, @NonNull BaseCell cell, int type) {
-        if (optimizedMode) {
-            defaultTrace(targetView, cell, type);
+        ExposureHandler<View> handler = resolveHandler(targetView.getClass(), mTraceHandlers, mOnTraceMethods,
+            mTraceTable);
+        if (handler != null) {
+            handler.onExposure(targetView, cell, type);
         } else {
-            if (mOnExposureMethods.isEmpty() || mOnTraceMethods.isEmpty()) {
-                Method[] methods = this.getClass().getMethods();
-                findTraceMethods(methods);
-                findExposureMethods(methods);
-            }
-            List<Class<?>> classes = lookupCellTypes(targetView.getClass());
-            for (Class clz : classes) {
-                if (clz.equals(View.class)){
-                    continue;
-                }
-                if (mOnTraceMethods.containsKey(clz)) {
-                    OnTraceMethod onTraceMethod = mOnTraceMethods.get(clz);
-                    try {
-                        if (onTraceMethod.paramLength == 3) {
-                            onTraceMethod.method.invoke(this, targetView, cell, type);
-                            return;
-                        }
-                    } catch (Exception e) {
-                        LogUtils.e(TAG, "Invoke Trace method error: " + Log.getStackTraceString(e),
-                                e);
-                    }
-                }
-            }
             defaultTrace(targetView, cell, type);
         }
     }
@@ -194,54 +212,111 @@ public abstract class ExposureSupport {
     }
 
     public void onExposure(@NonNull View targetView, @NonNull BaseCell cell, int type) {
-        if (optimizedMode) {
-            defaultExposureCell(targetView, cell, type);
+        ExposureHandler<View> handler = resolveHandler(targetView.getClass(), mExposureHandlers, mOnExposureMethods,
+            mExposureTable);
+        if (handler != null) {
+            handler.onExposure(targetView, cell, type);
         } else {
-            if (mOnExposureMethods.isEmpty() || mOnTraceMethods.isEmpty()) {
-                Method[] methods = this.getClass().getMethods();
-                findTraceMethods(methods);
-                findExposureMethods(methods);
+            defaultExposureCell(targetView, cell, type);
+        }
+    }
+
+    public void defaultExposureCell(@NonNull View targetView, @NonNull BaseCell cell, int type) {
+
+    }
+
+    /**
+     * Find the handler of a view class once and cache it, registered handlers first, then reflected methods when not
+     * in optimized mode.
+     *
+     * @return handler or null to use the default one
+     */
+    @SuppressWarnings("unchecked")
+    private ExposureHandler<View> resolveHandler(Class<?> viewClass, Map<Class<?>, ExposureHandler<?>> handlers,
+                                                 Map<Class<?>, OnTraceMethod> methods,
+                                                 Map<Class<?>, ExposureHandler<?>> table) {
+        ExposureHandler<?> handler = table.get(viewClass);
+        if (handler == null) {
+            handler = NO_HANDLER;
+            if (!optimizedMode) {
+                findMethodsOnce();
             }
-            List<Class<?>> classes = lookupCellTypes(targetView.getClass());
-            for (Class clz : classes) {
-                if (clz.equals(View.class)){
-                    continue;
+            List<Class<?>> classes = lookupViewTypes(viewClass);
+            for (int i = 0, size = classes.size(); i < size; i++) {
+                Class<?> clz = classes.get(i);
+                ExposureHandler<?> registered = handlers.get(clz);
+                if (registered != null) {
+                    handler = registered;
+                    break;
                 }
-                if (mOnExposureMethods.containsKey(clz)) {
-                    OnTraceMethod onTraceMethod = mOnExposureMethods.get(clz);
-                    try {
-                        if (onTraceMethod.paramLength == 3) {
-                            onTraceMethod.method.invoke(this, targetView, cell, type);
-                            return;
-                        }
-                    } catch (Exception e) {
-                        LogUtils.e(TAG, "Invoke onExposure method error: " + Log.getStackTraceString(e),
-                                e);
-                    }
+                OnTraceMethod method = optimizedMode ? null : methods.get(clz);
+                if (method != null && method.paramLength == 3) {
+                    handler = new MethodExposureHandler(method.method, methods == mOnTraceMethods);
+                    break;
                 }
             }
-            defaultExposureCell(targetView, cell, type);
+            table.put(viewClass, handler);
         }
+        return handler == NO_HANDLER ? null : (ExposureHandler<View>) handler;
     }
 
-    public void defaultExposureCell(@NonNull View targetView, @NonNull BaseCell cell, int type) {
-
+    private void findMethodsOnce() {
+        if (!mMethodsFound) {
+            synchronized (this) {
+                if (!mMethodsFound) {
+                    Method[] methods = this.getClass().getMethods();
+                    findTraceMethods(methods);
+                    findExposureMethods(methods);
+                    mMethodsFound = true;
+                }
+            }
+        }
     }
 
-    private static final Map<Class<?>, List<Class<?>>> cellTypesCache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, List<Class<?>>> viewTypesCache = new ConcurrentHashMap<>();
 
-    private List<Class<?>> lookupCellTypes(Class<?> cellClass) {
-        List<Class<?>> eventTypes = cellTypesCache.get(cellClass);
-        if (eventTypes == null) {
-            eventTypes = new ArrayList<>();
-            Class<?> clazz = cellClass;
-            while (clazz != null && !clazz.equals(BaseCell.class)) {
-                eventTypes.add(clazz);
+    private List<Class<?>> lookupViewTypes(Class<?> viewClass) {
+        List<Class<?>> viewTypes = viewTypesCache.get(viewClass);
+        if (viewTypes == null) {
+            viewTypes = new ArrayList<>();
+            Class<?> clazz = viewClass;
+            while (clazz != null && !clazz.equals(View.class)) {
+                viewTypes.add(clazz);
                 clazz = clazz.getSuperclass();
             }
-            cellTypesCache.put(cellClass, eventTypes);
+            viewTypesCache.put(viewClass, viewTypes);
+        }
+        return viewTypes;
+    }
+
+    /**
+     * Compatibility handler calling a reflected onXXExposure or onXXTrace method
+     */
+    private final class MethodExposureHandler implements ExposureHandler<View> {
+
+        private final Method method;
+
+        private final boolean trace;
+
+        MethodExposureHandler(Method method, boolean trace) {
+            this.method = method;
+            this.trace = trace;
+        }
+
+        @Override
+        public void onExposure(@NonNull View targetView, @NonNull BaseCell cell, int type) {
+            try {
+                method.invoke(ExposureSupport.this, targetView, cell, type);
+            } catch (Exception e) {
+                LogUtils.e(TAG, "Invoke " + (trace ? "Trace" : "onExposure") + " method error: "
+                    + Log.getStackTraceString(e), e);
+                if (trace) {
+                    defaultTrace(targetView, cell, type);
+                } else {
+                    defaultExposureCell(targetView, cell, type);
+                }
+            }
         }
-        return eventTypes;
     }
 
     static class OnTraceMethod {
@@ -0,0 +1,366 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.support;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.support.v7.widget.RecyclerView;
+import android.text.TextUtils;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import com.tmall.wireless.tangram.core.adapter.GroupBasicAdapter;
+import com.tmall.wireless.tangram.dataparser.concrete.Card;
+import com.tmall.wireless.tangram.structure.BaseCell;
+import com.tmall.wireless.tangram.util.LogUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposure based on what is actually on screen rather than on bind. After scroll or layout, visible children are
+ * checked in one pass on the next main loop; a cell is exposed once it has kept at least {@link
+ * #setMinVisibleRatio(float)} of its area visible for {@link #setMinDwellTime(long)}. Each cell id is exposed once
+ * per session, exposures found in one pass are delivered together on a background thread.
+ * <p>
+ * Usage:
+ * <pre>
+ *     engine.addExposureTracker(new ExposureTracker(listener));
+ * </pre>
+ * Once registered, cells of the tracked RecyclerView are no longer exposed through {@link
+ * ExposureSupport#onExposure(View, BaseCell, int)} on bind. Cells nested in scroll or banner cells are not items of
+ * that RecyclerView, they keep being exposed on bind.
+ */
+public class ExposureTracker {
+
+    private static final String TAG = "ExposureTracker";
+
+    public interface OnExposureListener {
+
+        /**
+         * @param exposures cells exposed in one pass, in adapter order
+         */
+        @WorkerThread
+        void onExposure(@NonNull List<Exposure> exposures);
+    }
+
+    public static final class Exposure {
+
+        @NonNull
+        public final BaseCell cell;
+
+        @Nullable
+        public final String id;
+
+        @Nullable
+        public final String type;
+
+        public final int position;
+
+        public final float visibleRatio;
+
+        public final long dwellTime;
+
+        Exposure(@NonNull BaseCell cell, int position, float visibleRatio, long dwellTime) {
+            this.cell = cell;
+            this.id = cell.id;
+            this.type = cell.stringType;
+            this.position = position;
+            this.visibleRatio = visibleRatio;
+            this.dwellTime = dwellTime;
+        }
+    }
+
+    @NonNull
+    private final OnExposureListener mListener;
+
+    private float mMinVisibleRatio = 0.5f;
+
+    private long mMinDwellTime = 1000;
+
+    private RecyclerView mRecyclerView;
+
+    private GroupBasicAdapter<Card, BaseCell> mAdapter;
+
+    private boolean mScheduled;
+
+    /**
+     * cells above the visible threshold and the uptime they became so
+     */
+    private final Map<BaseCell, Long> mVisibleSince = new IdentityHashMap<>();
+
+    private final Map<BaseCell, Boolean> mVisibleInPass = new IdentityHashMap<>();
+
+    private final Set<String> mExposedIds = new HashSet<>();
+
+    /**
+     * exposed cells without id, weakly held so released cells do not leak
+     */
+    private final Set<BaseCell> mExposedCells = Collections.newSetFromMap(new WeakHashMap<BaseCell, Boolean>());
+
+    private ThreadPoolExecutor mExecutor;
+
+    private final Runnable mCheckRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mScheduled = false;
+            check();
+        }
+    };
+
+    private final RecyclerView.OnScrollListener mOnScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            invalidate();
+        }
+    };
+
+    private final ViewTreeObserver.OnGlobalLayoutListener mOnGlobalLayoutListener =
+        new ViewTreeObserver.OnGlobalLayoutListener() {
+            @Override
+            public void onGlobalLayout() {
+                invalidate();
+            }
+        };
+
+    public ExposureTracker(@NonNull OnExposureListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @param ratio visible part of a cell's area needed to count it as seen, in (0, 1]
+     */
+    public void setMinVisibleRatio(float ratio) {
+        mMinVisibleRatio = Math.max(Float.MIN_VALUE, Math.min(1f, ratio));
+    }
+
+    /**
+     * @param dwellTime milliseconds a cell must stay seen before it is exposed
+     */
+    public void setMinDwellTime(long dwellTime) {
+        mMinDwellTime = Math.max(0, dwellTime);
+    }
+
+    /**
+     * Start a new session, cells already exposed can be exposed again.
+     */
+    public void resetSession() {
+        mExposedIds.clear();
+        mExposedCells.clear();
+        mVisibleSince.clear();
+        invalidate();
+    }
+
+    public void attach(@NonNull RecyclerView recyclerView, @NonNull GroupBasicAdapter<Card, BaseCell> adapter) {
+        if (mRecyclerView == recyclerView && mAdapter == adapter) {
+            return;
+        }
+        detach();
+        mRecyclerView = recyclerView;
+        mAdapter = adapter;
+        recyclerView.addOnScrollListener(mOnScrollListener);
+        recyclerView.getViewTreeObserver().addOnGlobalLayoutListener(mOnGlobalLayoutListener);
+        invalidate();
+    }
+
+    @SuppressWarnings("deprecation")
+    public void detach() {
+        if (mRecyclerView != null) {
+            mRecyclerView.removeOnScrollListener(mOnScrollListener);
+            mRecyclerView.getViewTreeObserver().removeGlobalOnLayoutListener(mOnGlobalLayoutListener);
+            mRecyclerView.removeCallbacks(mCheckRunnable);
+            mRecyclerView = null;
+        }
+        mAdapter = null;
+        mScheduled = false;
+        mVisibleSince.clear();
+    }
+
+    public void destroy() {
+        detach();
+        synchronized (this) {
+            if (mExecutor != null) {
+                mExecutor.shutdown();
+                mExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * @param cell a cell being bound
+     * @return true if the cell is an item of the tracked RecyclerView and will be exposed by this tracker
+     */
+    public boolean isTracking(@NonNull BaseCell cell) {
+        return mAdapter != null && mAdapter.getPositionByItem(cell) >= 0;
+    }
+
+    /**
+     * Schedule a visibility check, calls before it runs are merged.
+     */
+    public void invalidate() {
+        if (mRecyclerView == null) {
+            return;
+        }
+        if (mScheduled) {
+            // a pending dwell check may be far away, check as soon as possible instead
+            mRecyclerView.removeCallbacks(mCheckRunnable);
+        }
+        mScheduled = true;
+        mRecyclerView.post(mCheckRunnable);
+    }
+
+    private void check() {
+        final RecyclerView recyclerView = mRecyclerView;
+        final GroupBasicAdapter<Card, BaseCell> adapter = mAdapter;
+        if (recyclerView == null || adapter == null) {
+            return;
+        }
+        final long now = SystemClock.uptimeMillis();
+        final int width = recyclerView.getWidth();
+        final int height = recyclerView.getHeight();
+        final int itemCount = adapter.getItemCount();
+        long nextCheck = Long.MAX_VALUE;
+        List<Exposure> exposures = null;
+
+        mVisibleInPass.clear();
+        for (int i = 0, count = recyclerView.getChildCount(); i < count; i++) {
+            View child = recyclerView.getChildAt(i);
+            int position = recyclerView.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION || position >= itemCount) {
+                continue;
+            }
+            BaseCell cell = adapter.getItemByPosition(position);
+            if (cell == null || isExposed(cell)) {
+                continue;
+            }
+            float ratio = visibleRatio(child, width, height);
+            if (ratio < mMinVisibleRatio) {
+                continue;
+            }
+            mVisibleInPass.put(cell, Boolean.TRUE);
+            Long since = mVisibleSince.get(cell);
+            if (since == null) {
+                since = now;
+                mVisibleSince.put(cell, since);
+            }
+            long dwell = now - since;
+            if (dwell >= mMinDwellTime) {
+                markExposed(cell);
+                mVisibleSince.remove(cell);
+                if (exposures == null) {
+                    exposures = new ArrayList<>();
+                }
+                exposures.add(new Exposure(cell, position, ratio, dwell));
+            } else {
+                nextCheck = Math.min(nextCheck, mMinDwellTime - dwell);
+            }
+        }
+
+        Iterator<BaseCell> it = mVisibleSince.keySet().iterator();
+        while (it.hasNext()) {
+            if (!mVisibleInPass.containsKey(it.next())) {
+                it.remove();
+            }
+        }
+        mVisibleInPass.clear();
+
+        if (exposures != null) {
+            deliver(exposures);
+        }
+        if (nextCheck != Long.MAX_VALUE) {
+            mScheduled = true;
+            recyclerView.postDelayed(mCheckRunnable, nextCheck);
+        }
+    }
+
+    private static float visibleRatio(View child, int parentWidth, int parentHeight) {
+        int width = child.getWidth();
+        int height = child.getHeight();
+        if (width <= 0 || height <= 0) {
+            return 0;
+        }
+        float left = child.getLeft() + child.getTranslationX();
+        float top = child.getTop() + child.getTranslationY();
+        float visibleWidth = Math.min(left + width, parentWidth) - Math.max(left, 0);
+        float visibleHeight = Math.min(top + height, parentHeight) - Math.max(top, 0);
+        if (visibleWidth <= 0 || visibleHeight <= 0 || child.getVisibility() != View.VISIBLE) {
+            return 0;
+        }
+        return visibleWidth * visibleHeight / ((float) width * height);
+    }
+
+    private boolean isExposed(@NonNull BaseCell cell) {
+        return TextUtils.isEmpty(cell.id) ? mExposedCells.contains(cell) : mExposedIds.contains(cell.id);
+    }
+
+    private void markExposed(@NonNull BaseCell cell) {
+        if (TextUtils.isEmpty(cell.id)) {
+            mExposedCells.add(cell);
+        } else {
+            mExposedIds.add(cell.id);
+        }
+    }
+
+    private void deliver(@NonNull final List<Exposure> exposures) {
+        final List<Exposure> batch = Collections.unmodifiableList(exposures);
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    mListener.onExposure(batch);
+                } catch (Exception e) {
+                    LogUtils.e(TAG, "Deliver exposure error: " + Log.getStackTraceString(e), e);
+                }
+            }
+        });
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (mExecutor == null) {
+            mExecutor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(@NonNull Runnable r) {
+                        return new Thread(r, "tangram-exposure");
+                    }
+                });
+            mExecutor.allowCoreThreadTimeOut(true);
+        }
+        return mExecutor;
+    }
+}
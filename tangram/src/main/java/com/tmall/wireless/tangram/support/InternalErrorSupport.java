@@ -5,6 +5,8 @@ import java.util.Map;
 public class InternalErrorSupport {
     public static final int ERROR_CREATE_VIEWHOLDER_NOT_FOUND_TYPE = 0;
 
+    public static final int ERROR_PARSE_CARDS_ERROR = 1;
+
     public void onError(int code, String msg, Map<String, Object> relativeInfoMap) {
 
     }
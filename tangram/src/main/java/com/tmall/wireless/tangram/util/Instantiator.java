@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 Alibaba Group
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.tmall.wireless.tangram.util;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates cards, cells, views and view holders from their classes. Constructors are looked up once per class and
+ * shared, factories are registered on an instance owned by one {@link com.tmall.wireless.tangram.DefaultResolverRegistry}
+ * so they only apply to the engine built from it.
+ */
+public final class Instantiator {
+
+    /**
+     * Factory for classes with a no-arg constructor, such as cards and cells.
+     */
+    public interface Factory<T> {
+        @NonNull
+        T newInstance();
+    }
+
+    /**
+     * Factory for classes constructed with a {@link Context}, such as views and view holders.
+     */
+    public interface ContextFactory<T> {
+        @NonNull
+        T newInstance(@NonNull Context context);
+    }
+
+    private static final Map<Class<?>, Constructor<?>> sConstructors = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Constructor<?>> sContextConstructors = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Factory<?>> mFactories = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, ContextFactory<?>> mContextFactories = new ConcurrentHashMap<>();
+
+    public <T> void registerFactory(@NonNull Class<T> clz, @NonNull Factory<? extends T> factory) {
+        mFactories.put(clz, factory);
+    }
+
+    public <T> void registerContextFactory(@NonNull Class<T> clz, @NonNull ContextFactory<? extends T> factory) {
+        mContextFactories.put(clz, factory);
+    }
+
+    /**
+     * Create an instance with the factory registered here, or else like {@link #newInstance(Class)}.
+     */
+    @NonNull
+    public <T> T create(@NonNull Class<T> clz) throws InstantiationException, IllegalAccessException {
+        Factory<?> factory = mFactories.get(clz);
+        if (factory != null) {
+            return clz.cast(factory.newInstance());
+        }
+        return newInstance(clz);
+    }
+
+    /**
+     * Create an instance with the context factory registered here, or else like {@link #newInstance(Class, Context)}.
+     */
+    @NonNull
+    public <T> T create(@NonNull Class<T> clz, @NonNull Context context)
+        throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        ContextFactory<?> factory = mContextFactories.get(clz);
+        if (factory != null) {
+            return clz.cast(factory.newInstance(context));
+        }
+        return newInstance(clz, context);
+    }
+
+    /**
+     * Create an instance with the cached no-arg constructor, fails like {@link Class#newInstance()}.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public static <T> T newInstance(@NonNull Class<T> clz) throws InstantiationException, IllegalAccessException {
+        Constructor<T> constructor = (Constructor<T>) sConstructors.get(clz);
+        if (constructor == null) {
+            try {
+                constructor = clz.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new InstantiationException(clz.getName());
+            }
+            sConstructors.put(clz, constructor);
+        }
+        try {
+            return constructor.newInstance();
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * Create an instance with the cached public constructor taking a {@link Context}.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public static <T> T newInstance(@NonNull Class<T> clz, @NonNull Context context)
+        throws InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        Constructor<T> constructor = (Constructor<T>) sContextConstructors.get(clz);
+        if (constructor == null) {
+            constructor = clz.getConstructor(Context.class);
+            sContextConstructors.put(clz, constructor);
+        }
+        return constructor.newInstance(context);
+    }
+}
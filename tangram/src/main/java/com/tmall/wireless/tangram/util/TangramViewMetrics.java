@@ -43,6 +43,8 @@ public final class TangramViewMetrics {
 
     private static int mUedScreen = 750;
 
+    private static volatile int mVersion;
+
     public static void initWith(@NonNull final Context context) {
 
         final Resources resources = context.getResources();
@@ -52,6 +54,7 @@ public final class TangramViewMetrics {
         final Configuration configuration = resources.getConfiguration();
         mScreenWidth = configuration.orientation == Configuration.ORIENTATION_PORTRAIT ? dm.widthPixels : dm.heightPixels;
         mScreenHeight = configuration.orientation == Configuration.ORIENTATION_PORTRAIT ? dm.heightPixels : dm.widthPixels;
+        mVersion++;
     }
 
     @Deprecated
@@ -77,6 +80,14 @@ public final class TangramViewMetrics {
 
     public static void setUedScreenWidth(int uedScreenWidth) {
         mUedScreen = uedScreenWidth;
+        mVersion++;
+    }
+
+    /**
+     * @return a number changed whenever metrics are updated, used to drop values computed with old metrics
+     */
+    public static int version() {
+        return mVersion;
     }
 }
 
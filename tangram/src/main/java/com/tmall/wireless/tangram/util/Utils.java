@@ -24,6 +24,8 @@
 
 package com.tmall.wireless.tangram.util;
 
+import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
 import android.text.TextUtils;
 import android.util.Log;
 import android.util.Pair;
@@ -34,8 +36,6 @@ import org.json.JSONObject;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Created by Kellen on 8/3/15.
@@ -43,9 +43,6 @@ import java.util.regex.Pattern;
 public class Utils {
 
 
-    private static final Pattern REGEX_1 = Pattern.compile("(\\d+)x(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
-    private static final Pattern REGEX_2 = Pattern.compile("(\\d+)-(\\d+)(_?q\\d+)?(\\.[jpg|png|gif])");
-
     public static <K, V> Map<K, V> newMap(K k1, V v1, K k2, V v2) {
         ConcurrentHashMap<K, V> map = new ConcurrentHashMap<>();
         map.put(k1, v1);
@@ -66,57 +63,34 @@ public class Utils {
     }
 
     public static float getImageRatio(String imageUrl) {
-        if (TextUtils.isEmpty(imageUrl))
+        Pair<Integer, Integer> size = getImageSize(imageUrl);
+        if (size == null) {
             return Float.NaN;
-
-        try {
-            Matcher matcher = REGEX_1.matcher(imageUrl);
-            String widthStr;
-            String heightStr;
-            if (matcher.find()) {
-                if (matcher.groupCount() >= 2) {
-                    widthStr = matcher.group(1);
-                    heightStr = matcher.group(2);
-                    if (widthStr.length() < 5 && heightStr.length() < 5) {
-                        int urlWidth = Integer.parseInt(widthStr);
-                        int urlHeight = Integer.parseInt(heightStr);
-
-                        if (urlWidth == 0 || urlHeight == 0) {
-                            return 1;
-                        }
-                        return (float) urlWidth / urlHeight;
-                    }
-                }
-            } else {
-                matcher = REGEX_2.matcher(imageUrl);
-                if (matcher.find()) {
-                    if (matcher.groupCount() >= 2) {
-                        widthStr = matcher.group(1);
-                        heightStr = matcher.group(2);
-                        if (widthStr.length() < 5 && heightStr.length() < 5) {
-                            int urlWidth = Integer.parseInt(widthStr);
-                            int urlHeight = Integer.parseInt(heightStr);
-
-                            if (urlWidth == 0 || urlHeight == 0) {
-                                return 1;
-                            }
-                            return (float) urlWidth / urlHeight;
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-
-        return Float.NaN;
+        int urlWidth = size.first;
+        int urlHeight = size.second;
+        if (urlWidth == 0 || urlHeight == 0) {
+            return 1;
+        }
+        return (float) urlWidth / urlHeight;
     }
 
-    private static ConcurrentHashMap<String, Pair<Integer, Integer>> imageSizeMap = new ConcurrentHashMap<>();
+    private static final int DEFAULT_IMAGE_SIZE_CACHE_SIZE = 512;
+
+    private static final Pair<Integer, Integer> NO_IMAGE_SIZE = new Pair<>(-1, -1);
+
+    private static final LruCache<String, Pair<Integer, Integer>> imageSizeCache = new LruCache<>(DEFAULT_IMAGE_SIZE_CACHE_SIZE);
+
+    /**
+     * @param maxSize max number of image urls whose parsed size are kept, default is 512
+     */
+    public static void setImageSizeCacheSize(int maxSize) {
+        imageSizeCache.resize(maxSize);
+    }
 
     /**
      * <pre>
-     * parse image ratio from imageurl with regex as follows:
+     * parse image ratio from imageurl, matches the same urls as regex as follows:
      * (\d+)-(\d+)(_?q\d+)?(\.[jpg|png|gif])
      * (\d+)x(\d+)(_?q\d+)?(\.[jpg|png|gif])
      *
@@ -137,53 +111,89 @@ public class Utils {
             return null;
         }
 
-        if (imageSizeMap.get(imageUrl) != null) {
-            return imageSizeMap.get(imageUrl);
+        Pair<Integer, Integer> result = imageSizeCache.get(imageUrl);
+        if (result == null) {
+            long size = scanImageSize(imageUrl, 'x');
+            if (size == SIZE_NOT_FOUND) {
+                size = scanImageSize(imageUrl, '-');
+            }
+            result = size >= 0 ? new Pair<>((int) (size >>> 32), (int) size) : NO_IMAGE_SIZE;
+            imageSizeCache.put(imageUrl, result);
         }
+        return result != NO_IMAGE_SIZE ? result : null;
+    }
+
+    private static final long SIZE_NOT_FOUND = -1;
+
+    private static final long SIZE_INVALID = -2;
+
+    private static final int MAX_SIZE_DIGITS = 4;
 
-        try {
-            Matcher matcher = REGEX_1.matcher(imageUrl);
-            String widthStr;
-            String heightStr;
-            if (matcher.find()) {
-                if (matcher.groupCount() >= 2) {
-                    widthStr = matcher.group(1);
-                    heightStr = matcher.group(2);
-                    if (widthStr.length() < 5 && heightStr.length() < 5) {
-                        int urlWidth = Integer.parseInt(widthStr);
-                        int urlHeight = Integer.parseInt(heightStr);
-                        Pair<Integer, Integer> result = new Pair<>(urlWidth, urlHeight);
-                        imageSizeMap.put(imageUrl, result);
-                        return result;
-                    }
+    /**
+     * Find the first '(\d+)sep(\d+)(_?q\d+)?(\.[jpg|png|gif])' in url without regex.
+     *
+     * @return width and height packed as width &lt;&lt; 32 | height, {@link #SIZE_INVALID} if matched with too many
+     * digits, {@link #SIZE_NOT_FOUND} if not matched
+     */
+    private static long scanImageSize(String url, char sep) {
+        final int length = url.length();
+        for (int i = url.indexOf(sep); i >= 0; i = url.indexOf(sep, i + 1)) {
+            int widthStart = i;
+            while (widthStart > 0 && isDigit(url.charAt(widthStart - 1))) {
+                widthStart--;
+            }
+            int heightEnd = i + 1;
+            while (heightEnd < length && isDigit(url.charAt(heightEnd))) {
+                heightEnd++;
+            }
+            if (widthStart == i || heightEnd == i + 1) {
+                continue;
+            }
+            // optional quality suffix like '_q90' or 'q90'
+            int end = heightEnd;
+            int quality = end < length && url.charAt(end) == '_' ? end + 1 : end;
+            if (quality < length && url.charAt(quality) == 'q') {
+                int qualityEnd = quality + 1;
+                while (qualityEnd < length && isDigit(url.charAt(qualityEnd))) {
+                    qualityEnd++;
+                }
+                if (qualityEnd > quality + 1) {
+                    end = qualityEnd;
                 }
-            } else {
-                matcher = REGEX_2.matcher(imageUrl);
-                if (matcher.find()) {
-                    if (matcher.groupCount() >= 2) {
-                        widthStr = matcher.group(1);
-                        heightStr = matcher.group(2);
-                        if (widthStr.length() < 5 && heightStr.length() < 5) {
-                            int urlWidth = Integer.parseInt(widthStr);
-                            int urlHeight = Integer.parseInt(heightStr);
-                            Pair<Integer, Integer> result = new Pair<>(urlWidth, urlHeight);
-                            imageSizeMap.put(imageUrl, result);
-                            return result;
-                        }
-                    }
+            }
+            if (end + 1 < length && url.charAt(end) == '.' && "jpg|nif".indexOf(url.charAt(end + 1)) >= 0) {
+                if (i - widthStart > MAX_SIZE_DIGITS || heightEnd - i - 1 > MAX_SIZE_DIGITS) {
+                    return SIZE_INVALID;
                 }
+                return ((long) parseDigits(url, widthStart, i) << 32) | parseDigits(url, i + 1, heightEnd);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+        return SIZE_NOT_FOUND;
+    }
 
-        return null;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int parseDigits(String s, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
     }
 
     public static <T> T newInstance(Class<T> clz) {
+        return newInstance(clz, null);
+    }
+
+    /**
+     * @param instantiator instantiator with registered factories, null to only use the constructor
+     */
+    public static <T> T newInstance(Class<T> clz, @Nullable Instantiator instantiator) {
         if (clz != null) {
             try {
-                return clz.newInstance();
+                return instantiator != null ? instantiator.create(clz) : Instantiator.newInstance(clz);
             } catch (InstantiationException e) {
                 if (TangramBuilder.isPrintLog())
                     Log.e("ClassResolver", e.getMessage(), e);
@@ -70,7 +70,48 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
 
     private List<BinderViewHolder> mViewHolders = new ArrayList<BinderViewHolder>();
 
-    private RecyclerView.ItemDecoration itemDecoration;
+    private final RecyclerView.ItemDecoration itemDecoration = new RecyclerView.ItemDecoration() {
+        @Override
+        public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
+            outRect.set(0, 0, 0, 0);
+            if (lSCell == null) {
+                return;
+            }
+
+            int cellCount = lSCell.cells.size();
+            int viewIndex = (int) view.getTag(R.id.TANGRAM_LINEAR_SCROLL_POS);
+            int rowCount = (int) (lSCell.cells.size() * 1.0f / lSCell.maxRows + 0.5f);
+
+            boolean isLastCellInRow = false;
+            if ((viewIndex + 1) % rowCount == 0) {
+                // the last cell in every row
+                isLastCellInRow = true;
+            }
+
+            if (viewIndex == (cellCount - 1)) {
+                // the last cell in cells
+                isLastCellInRow = true;
+            }
+
+            if (viewIndex % rowCount == 0) {
+                // first view only set right
+                outRect.right = (int) (lSCell.hGap / 2);
+            } else if (isLastCellInRow) {
+                // last view only set left
+                outRect.left = (int) (lSCell.hGap / 2);
+
+                if (lSCell.maxRows > 1 && (cellCount % lSCell.maxRows == 1) && (viewIndex == cellCount - 1)) {
+                    // the last cell in penultimate row
+                    outRect.right = (int) (lSCell.hGap / 2);
+                }
+            } else {
+                outRect.left = (int) (lSCell.hGap / 2);
+                outRect.right = (int) (lSCell.hGap / 2);
+            }
+        }
+    };
+
+    private boolean itemDecorationAdded;
 
     private RecyclerView.OnScrollListener onScrollListener = new RecyclerView.OnScrollListener() {
         @Override
@@ -82,14 +123,18 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
 
             lSCell.currentDistance += dx;
 
-            if (lSCell.hasIndicator && totalDistance > 0) {
-                float distance = Math.max(0, Math.min((int) (lSCell.currentDistance * totalDistanceOfIndicator
-                        / totalDistance + 0.5), totalDistanceOfIndicator));
-                indicator.setTranslationX(distance);
-            }
+            updateIndicator();
         }
     };
 
+    private void updateIndicator() {
+        if (lSCell.hasIndicator && totalDistance > 0) {
+            float distance = Math.max(0, Math.min((int) (lSCell.currentDistance * totalDistanceOfIndicator
+                    / totalDistance + 0.5), totalDistanceOfIndicator));
+            indicator.setTranslationX(distance);
+        }
+    }
+
     public LinearScrollView(Context context) {
         this(context, null);
     }
@@ -112,6 +157,7 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
 
         layoutManager = new GridLayoutManager(getContext(), 1, LinearLayoutManager.HORIZONTAL, false);
         recyclerView.setLayoutManager(layoutManager);
+        recyclerView.addOnScrollListener(onScrollListener);
 
         indicator = findViewById(R.id.tangram_linearscrollview_indicator);
         indicatorContainer = findViewById(R.id.tangram_linearscrollview_indicator_container);
@@ -128,6 +174,7 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
             } else {
                 layoutManager.setSpanCount(1);
             }
+            layoutManager.setInitialPrefetchItemCount(computeInitialPrefetchItemCount());
             totalDistanceOfIndicator = (float) (this.lSCell.defaultIndicatorWidth - this.lSCell.indicatorWidth);
         }
     }
@@ -137,80 +184,22 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
         if (lSCell == null) {
             return;
         }
-        recyclerView.setRecycledViewPool(lSCell.getRecycledViewPool());
-
-        recyclerView.removeItemDecoration(itemDecoration);
-        if (lSCell.hGap > 0) {
-            itemDecoration = new RecyclerView.ItemDecoration() {
-                @Override
-                public void getItemOffsets(Rect outRect, View view, RecyclerView parent, RecyclerView.State state) {
-                    outRect.set(0, 0, 0, 0);
-
-                    int cellCount = lSCell.cells.size();
-                    int viewIndex = (int) view.getTag(R.id.TANGRAM_LINEAR_SCROLL_POS);
-                    int rowCount = (int) (lSCell.cells.size() * 1.0f / lSCell.maxRows + 0.5f);
-
-                    boolean isLastCellInRow = false;
-                    if ((viewIndex + 1) % rowCount == 0) {
-                        // the last cell in every row
-                        isLastCellInRow = true;
-                    }
-
-                    if (viewIndex == (cellCount - 1)) {
-                        // the last cell in cells
-                        isLastCellInRow = true;
-                    }
-
-                    if (viewIndex % rowCount == 0) {
-                        // first view only set right
-                        outRect.right = (int) (lSCell.hGap / 2);
-                    } else if (isLastCellInRow) {
-                        // last view only set left
-                        outRect.left = (int) (lSCell.hGap / 2);
-
-                        if (lSCell.maxRows > 1 && (cellCount % lSCell.maxRows == 1) && (viewIndex == cellCount - 1)) {
-                            // the last cell in penultimate row
-                            outRect.right = (int) (lSCell.hGap / 2);
-                        }
-                    } else {
-                        outRect.left = (int) (lSCell.hGap / 2);
-                        outRect.right = (int) (lSCell.hGap / 2);
-                    }
-                }
-            };
-            recyclerView.addItemDecoration(itemDecoration);
+        if (recyclerView.getRecycledViewPool() != lSCell.getRecycledViewPool()) {
+            recyclerView.setRecycledViewPool(lSCell.getRecycledViewPool());
         }
 
-        float[] starts = null;
-        if (lSCell.cells != null && lSCell.cells.size() > 0) {
-            int maxRowCount = lSCell.cells.size();
-            if (lSCell.maxRows > 1) {
-                maxRowCount = (int) (maxRowCount * 1.0f / lSCell.maxRows + 0.5f);
-            }
-
-            starts = new float[maxRowCount];
-            for (int i = 0; i < maxRowCount; i++) {
-                int rowIndex = lSCell.maxRows * i;
-                int mapperIndex = lSCell.getMapperPosition(rowIndex);
-
-                starts[i] = totalDistance;
-
-                BaseCell bc = lSCell.cells.get(mapperIndex);
-                if (bc.style != null && bc.style.margin.length > 0) {
-                    totalDistance = totalDistance + bc.style.margin[1] + bc.style.margin[3];
-                }
-                if (!Double.isNaN(lSCell.pageWidth)) {
-                    if (bc.extras.has("pageWidth")) {
-                        totalDistance += Style.parseSize(bc.extras.optString("pageWidth"), 0);
-                    } else {
-                        totalDistance += lSCell.pageWidth;
-                    }
-                }
-                if (i > 0 && lSCell.hGap > 0) {
-                    totalDistance += lSCell.hGap;
-                }
+        if (lSCell.hGap > 0) {
+            if (!itemDecorationAdded) {
+                recyclerView.addItemDecoration(itemDecoration);
+                itemDecorationAdded = true;
             }
+        } else if (itemDecorationAdded) {
+            recyclerView.removeItemDecoration(itemDecoration);
+            itemDecorationAdded = false;
         }
+
+        float[] starts = lSCell.getColumnStarts();
+        totalDistance = lSCell.getContentWidth();
         totalDistance -= getScreenWidth();
 
         // calculate height of recycler view.
@@ -227,7 +216,11 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
         }
         recyclerView.setLayoutParams(lp);
 
-        recyclerView.setAdapter(lSCell.adapter);
+        // swapping keeps the shared pool intact
+        boolean adapterChanged = recyclerView.getAdapter() != lSCell.adapter;
+        if (adapterChanged) {
+            recyclerView.swapAdapter(lSCell.adapter, false);
+        }
 
         if (lSCell.hasIndicator && totalDistance > 0) {
             setViewColor(indicator, lSCell.indicatorColor);
@@ -241,14 +234,14 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
             indicatorContainer.setVisibility(GONE);
         }
 
-        recyclerView.addOnScrollListener(onScrollListener);
-
         setBackgroundColor(lSCell.bgColor);
 
-        if (lSCell.retainScrollState && starts != null) {
+        if (adapterChanged && lSCell.retainScrollState && starts != null) {
             GridLayoutManager lm = (GridLayoutManager) recyclerView.getLayoutManager();
             int position = computeFirstCompletelyVisibleItemPositionForScrolledX(starts);
             lm.scrollToPositionWithOffset(position * lSCell.maxRows, (int) (starts[position] - lSCell.currentDistance));
+        } else {
+            updateIndicator();
         }
         if (lSCell.scrollMarginLeft > 0 || lSCell.scrollMarginRight > 0) {
             setPadding(lSCell.scrollMarginLeft, 0, lSCell.scrollMarginRight, 0);
@@ -291,6 +284,18 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
         }
     }
 
+    /**
+     * @return count of nested items laid out ahead when the scroller is prefetched by the outer list
+     */
+    private int computeInitialPrefetchItemCount() {
+        int rows = Math.max(1, lSCell.maxRows);
+        if (!Double.isNaN(lSCell.pageWidth) && lSCell.pageWidth > 0) {
+            int columns = (int) Math.ceil(getScreenWidth() / lSCell.pageWidth) + 1;
+            return columns * rows;
+        }
+        return 2 * rows;
+    }
+
     /**
      * Find the first completely visible position.
      *
@@ -301,12 +306,18 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
         if (lSCell == null || starts == null || starts.length <= 0) {
             return 0;
         }
-        for (int i = 0; i < starts.length; i++) {
-            if (starts[i] >= lSCell.currentDistance) {
-                return i;
+        // starts is ascending, find the first one not less than current distance
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] >= lSCell.currentDistance) {
+                high = mid;
+            } else {
+                low = mid + 1;
             }
         }
-        return starts.length - 1;
+        return low;
     }
 
     @Override
@@ -321,10 +332,10 @@ public class LinearScrollView extends LinearLayout implements ITangramViewLifeCy
             indicator.setTranslationX(0);
         }
 
-        recyclerView.removeOnScrollListener(onScrollListener);
-        recyclerView.setAdapter(null);
-
         lSCell = null;
+        // detach the cell's adapter so this view does not keep it alive, recycling the nested children into the
+        // shared pool instead of clearing it
+        recyclerView.swapAdapter(null, true);
         recycleView(cell);
     }
 
@@ -58,6 +58,7 @@ import com.tmall.wireless.tangram3.util.ImageUtils;
 import com.tmall.wireless.tangram3.util.Preconditions;
 import com.tmall.wireless.tangram3.util.Predicate;
 
+import java.io.Reader;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -455,6 +456,22 @@ public class BaseTangramEngine<O, T> implements ServiceManager {
         return cardList;
     }
 
+    /**
+     * Same as {@link #parseData(Object)}, but cards are read one by one from a stream holding the JSON array. The
+     * reader is closed once parsing ends.
+     *
+     * @param reader Stream of original data.
+     * @return Parsed data list.
+     */
+    public List<Card> parseData(@NonNull Reader reader) {
+        List<Card> cardList = mDataParser.parseGroup(reader, this);
+        MVHelper mvHelper = (MVHelper) mServices.get(MVHelper.class);
+        if (mvHelper != null) {
+            mvHelper.renderManager().onDownloadTemplate();
+        }
+        return cardList;
+    }
+
     /**
      * Parse original data with type {@link T} into model data list with type {@link BaseCell}
      *
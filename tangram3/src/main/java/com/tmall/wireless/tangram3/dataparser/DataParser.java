@@ -27,12 +27,15 @@ package com.tmall.wireless.tangram3.dataparser;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONReader;
 import com.tmall.wireless.tangram3.core.service.ServiceManager;
 import com.tmall.wireless.tangram3.dataparser.concrete.Card;
 import com.tmall.wireless.tangram3.dataparser.concrete.ComponentInfo;
 import com.tmall.wireless.tangram3.dataparser.concrete.Style;
 import com.tmall.wireless.tangram3.structure.BaseCell;
 
+import java.io.Reader;
 import java.util.List;
 import java.util.Map;
 
@@ -44,6 +47,22 @@ public abstract class DataParser<O, T> {
     @NonNull
     public abstract List<Card> parseGroup(@Nullable T data, ServiceManager serviceManager);
 
+    /**
+     * Parse groups from a stream holding a JSON array, the reader is closed once parsing ends. The default reads the
+     * whole array and parses it with {@link #parseGroup(Object, ServiceManager)}, so T must be {@link JSONArray};
+     * override it to parse without loading the whole document into memory first.
+     */
+    @SuppressWarnings("unchecked")
+    @NonNull
+    public List<Card> parseGroup(@NonNull Reader reader, ServiceManager serviceManager) {
+        JSONReader jsonReader = new JSONReader(reader);
+        try {
+            return parseGroup((T) jsonReader.readObject(JSONArray.class), serviceManager);
+        } finally {
+            jsonReader.close();
+        }
+    }
+
     @NonNull
     public abstract List<BaseCell> parseComponent(@Nullable T data, Card parent, ServiceManager serviceManager, Map<String, ComponentInfo> componentInfoMap);
 
@@ -33,6 +33,7 @@ import android.util.Log;
 import com.alibaba.android.vlayout.VirtualLayoutManager;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.JSONReader;
 import com.tmall.wireless.tangram3.MVHelper;
 import com.tmall.wireless.tangram3.TangramBuilder;
 import com.tmall.wireless.tangram3.core.service.ServiceManager;
@@ -57,6 +58,7 @@ import com.tmall.wireless.tangram3.util.LogUtils;
 import com.tmall.wireless.tangram3.util.Preconditions;
 import com.tmall.wireless.tangram3.util.Utils;
 
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -230,45 +232,79 @@ public class PojoDataParser extends DataParser<JSONObject, JSONArray> {
             final int size = data.size();
             final List<Card> result = new ArrayList<>(size);
             for (int i = 0; i < size; i++) {
-                JSONObject cardData = data.getJSONObject(i);
-                final Card card = parseSingleGroup(cardData, serviceManager);
-                if (card instanceof IDelegateCard) {
-                    List<Card> cards = ((IDelegateCard) card).getCards(new CardResolver() {
-                        @Override
-                        public Card create(String type) {
-                            Card c = cardResolver.create(type);
-                            c.serviceManager = serviceManager;
-                            c.id = card.id;
-                            c.setStringType(type);
-                            c.rowId = card.rowId;
-                            return c;
-                        }
-                    });
-                    for (Card c : cards) {
-                        if (c.isValid()) {
-                            result.add(c);
-                        }
-                    }
-                } else {
-                    result.add(card);
-                }
+                addGroup(data.getJSONObject(i), serviceManager, result);
             }
 
             mvHelper.resolver().setCards(result);
             return result;
         } catch (Exception e) {
-            if (errorSupport == null) {
-                errorSupport = serviceManager.getService(InternalErrorSupport.class);
+            onParseGroupError(e, serviceManager);
+        }
+        return null;
+    }
+
+    /**
+     * Read cards one by one from a stream holding a JSON array, so the whole page is never loaded into memory as a
+     * single document. The reader is closed once parsing ends.
+     */
+    @NonNull
+    @Override
+    public List<Card> parseGroup(@NonNull Reader reader, @NonNull final ServiceManager serviceManager) {
+        JSONReader jsonReader = new JSONReader(reader);
+        try {
+            checkCardResolverAndMVHelper(serviceManager);
+            final List<Card> result = new ArrayList<>();
+            jsonReader.startArray();
+            while (jsonReader.hasNext()) {
+                addGroup(jsonReader.readObject(JSONObject.class), serviceManager, result);
             }
-            HashMap<String, Object> params = new HashMap<>();
-            params.put("exception", Log.getStackTraceString(e));
-            errorSupport.onError(InternalErrorSupport.ERROR_PARSE_CARDS_ERROR,
-                    "Parse group error.", params);
-            e.printStackTrace();
+            jsonReader.endArray();
+
+            mvHelper.resolver().setCards(result);
+            return result;
+        } catch (Exception e) {
+            onParseGroupError(e, serviceManager);
+        } finally {
+            jsonReader.close();
         }
         return null;
     }
 
+    private void addGroup(JSONObject cardData, @NonNull final ServiceManager serviceManager, List<Card> result) {
+        final Card card = parseSingleGroup(cardData, serviceManager);
+        if (card instanceof IDelegateCard) {
+            List<Card> cards = ((IDelegateCard) card).getCards(new CardResolver() {
+                @Override
+                public Card create(String type) {
+                    Card c = cardResolver.create(type);
+                    c.serviceManager = serviceManager;
+                    c.id = card.id;
+                    c.setStringType(type);
+                    c.rowId = card.rowId;
+                    return c;
+                }
+            });
+            for (Card c : cards) {
+                if (c.isValid()) {
+                    result.add(c);
+                }
+            }
+        } else {
+            result.add(card);
+        }
+    }
+
+    private void onParseGroupError(Exception e, ServiceManager serviceManager) {
+        if (errorSupport == null) {
+            errorSupport = serviceManager.getService(InternalErrorSupport.class);
+        }
+        HashMap<String, Object> params = new HashMap<>();
+        params.put("exception", Log.getStackTraceString(e));
+        errorSupport.onError(InternalErrorSupport.ERROR_PARSE_CARDS_ERROR,
+                "Parse group error.", params);
+        e.printStackTrace();
+    }
+
     @NonNull
     @Override
     public List<BaseCell> parseComponent(@Nullable JSONArray data, Card parent, ServiceManager serviceManager, Map<String, ComponentInfo> componentInfoMap) {